@@ -0,0 +1,47 @@
+package com.asosa.marsrover.adapters.cli;
+
+import com.asosa.marsrover.adapters.cli.dto.CreateMissionControlRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the {@code create-mission-control} arguments for growing rover lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CreateMissionControlCommandBenchmark {
+
+    private static final String[] DIRECTIONS = {"N", "E", "S", "W"};
+
+    @Param({"10", "1000", "100000"})
+    private int rovers;
+
+    private final CreateMissionControlCommand command = new CreateMissionControlCommand();
+    private String[] args;
+
+    @Setup
+    public void setUp() {
+        StringBuilder roverList = new StringBuilder();
+        for (int i = 0; i < rovers; i++) {
+            if (i > 0) {
+                roverList.append(';');
+            }
+            roverList.append(i % 1000).append(',').append(i / 1000).append(',').append(DIRECTIONS[i % 4]);
+        }
+        args = new String[]{"-u", "user1", "-w", "1000", "-h", "1000", "-r", "\"" + roverList + "\"", "--wrap"};
+    }
+
+    @Benchmark
+    public CreateMissionControlRequest parseArguments() {
+        return command.parseArguments(args);
+    }
+}
@@ -0,0 +1,143 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of memory-mapped mission files, in MB/s, for parsing alone, for a
+ * sequential run and for a parallel run of independent rovers, both writing the results. Every rover stays in its own row, turning around or zig-zagging in
+ * place, so the generated missions never deploy a rover onto an occupied cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MissionFileBenchmark {
+
+    private static final String[] TOKENS = {"M", "M", "M", "MM", "LR", "RL", "LL", "RR"};
+    private static final int WIDTH = 10_000;
+    private static final int HEIGHT = 1_000_000;
+
+    @Param({"64", "512"})
+    private int megabytes;
+
+    private Path file;
+    private double size;
+
+    /**
+     * Counts the megabytes processed, so JMH reports them as a rate next to the operations.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public double megabytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mission", ".txt");
+        SplittableRandom random = new SplittableRandom(42);
+        long target = (long) megabytes << 20;
+        long written = 0;
+        StringBuilder line = new StringBuilder();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write((WIDTH - 1) + " " + (HEIGHT - 1) + "\n");
+            for (int row = 0; row < HEIGHT && written < target; row++) {
+                line.setLength(0);
+                line.append(random.nextInt(WIDTH)).append(' ').append(row).append(' ')
+                        .append(random.nextBoolean() ? Direction.EAST : Direction.WEST).append('\n');
+                while (line.length() < 120) {
+                    line.append(TOKENS[random.nextInt(TOKENS.length)]);
+                }
+                line.append('\n');
+                writer.append(line);
+                written += line.length();
+            }
+        }
+        size = Files.size(file) / 1e6;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int parse(Throughput throughput) throws IOException {
+        MissionFileParser.parse(file, new NullHandler());
+        throughput.megabytes += size;
+        return 0;
+    }
+
+    @Benchmark
+    public long run(Throughput throughput) throws IOException {
+        MissionResultWriter writer = new MissionResultWriter(new NullChannel());
+        MissionFileParser.parse(file, new MissionFileRunner(false, writer));
+        writer.flush();
+        throughput.megabytes += size;
+        return writer.getCount();
+    }
+
+    @Benchmark
+    public long runParallel(Throughput throughput) throws IOException {
+        long rovers = new ParallelMissionRunner(ForkJoinPool.commonPool(), false).run(file, new NullChannel());
+        throughput.megabytes += size;
+        return rovers;
+    }
+
+    private static final class NullHandler implements MissionFileHandler {
+        @Override
+        public void plateau(int maxX, int maxY) {
+        }
+
+        @Override
+        public void rover(int index, int x, int y, Direction direction) {
+        }
+
+        @Override
+        public void commands(int index, byte[] commands, int offset, int length) {
+        }
+
+        @Override
+        public void roverEnd(int index) {
+        }
+    }
+
+    private static final class NullChannel implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
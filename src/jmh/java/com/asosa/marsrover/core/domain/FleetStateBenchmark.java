@@ -0,0 +1,102 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one fleet tick on {@link FleetState}, sequential, simultaneous and parallel, against the
+ * same tick on the {@link Rover} object model managed by {@link MissionControl}, both rover by rover
+ * and through {@link MissionControl#tick(Map)}, which includes loading and writing back the rovers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FleetStateBenchmark {
+
+    private static final byte[] CODES = {'M', 'M', 'M', 'L', 'R'};
+
+    @Param({"10000", "100000", "1000000"})
+    private int rovers;
+
+    private FleetState fleet;
+    private MissionControl missionControl;
+    private List<Rover> objectModel;
+    private Map<Rover, Command> tickCommands;
+    private byte[] codes;
+    private Command[] commands;
+
+    @Setup
+    public void setUp() {
+        int side = (int) Math.ceil(Math.sqrt(rovers * 4.0));
+        SplittableRandom random = new SplittableRandom(42);
+
+        Platform fleetPlatform = new Platform(side, side, List.of(), true);
+        missionControl = new MissionControl(new Platform(side, side, List.of(), true));
+        fleet = new FleetState(fleetPlatform, rovers);
+        codes = new byte[rovers];
+        commands = new Command[rovers];
+
+        // Spread the rovers over every other cell of every other row
+        for (int i = 0; i < rovers; i++) {
+            int x = (i * 2) % side;
+            int y = ((i * 2) / side) * 2;
+            Direction direction = Direction.values()[random.nextInt(4)];
+            fleet.add(x, y, direction);
+            missionControl.addRover(new Rover(x, y, direction, missionControl.getPlatform()));
+            codes[i] = CODES[random.nextInt(CODES.length)];
+            commands[i] = Command.fromCode((char) codes[i]);
+        }
+        objectModel = missionControl.getRovers();
+        tickCommands = new HashMap<>();
+        for (int i = 0; i < rovers; i++) {
+            tickCommands.put(objectModel.get(i), commands[i]);
+        }
+    }
+
+    @Benchmark
+    public FleetState fleetStateTick() {
+        fleet.tick(codes);
+        return fleet;
+    }
+
+    @Benchmark
+    public FleetState fleetStateSimultaneousTick() {
+        fleet.tickSimultaneous(codes);
+        return fleet;
+    }
+
+    @Benchmark
+    public FleetState fleetStateParallelTick() {
+        fleet.tickParallel(codes, ForkJoinPool.commonPool());
+        return fleet;
+    }
+
+    @Benchmark
+    public MissionControl missionControlTick() {
+        missionControl.tick(tickCommands);
+        return missionControl;
+    }
+
+    @Benchmark
+    public List<Rover> objectModelTick() {
+        for (int i = 0; i < commands.length; i++) {
+            objectModel.get(i).executeCommand(commands[i]);
+        }
+        return objectModel;
+    }
+}
@@ -0,0 +1,41 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deploying a whole fleet through {@link MissionControl#addRover(Rover)}, one rover per
+ * cell of a square platform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MissionControlBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rovers;
+
+    @Benchmark
+    public MissionControl addRovers() {
+        int side = (int) Math.ceil(Math.sqrt(rovers));
+        Platform platform = new Platform(side, side, List.of(), false);
+        MissionControl missionControl = new MissionControl(platform);
+        for (int i = 0; i < rovers; i++) {
+            missionControl.addRover(new Rover(i % side, i / side, Direction.NORTH, platform));
+        }
+        return missionControl;
+    }
+}
@@ -0,0 +1,87 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Platform#isValidPosition(int, int)} backed by the obstacle grid against the
+ * former linear scan over the obstacle list, at several obstacle densities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlatformObstacleBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000"})
+    private int size;
+
+    @Param({"0.0001", "0.001", "0.01", "0.1"})
+    private double density;
+
+    private Platform platform;
+    private List<Position> obstacles;
+    private int[] probeX;
+    private int[] probeY;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int count = (int) (size * (long) size * density);
+        obstacles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            obstacles.add(new Position(random.nextInt(size), random.nextInt(size)));
+        }
+        platform = new Platform(size, size, obstacles, false);
+
+        probeX = new int[PROBES];
+        probeY = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeX[i] = random.nextInt(size);
+            probeY[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public void obstacleGrid(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(platform.isValidPosition(probeX[i], probeY[i]));
+        }
+    }
+
+    @Benchmark
+    public void listScan(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            blackhole.consume(isValidByScan(probeX[i], probeY[i]));
+        }
+    }
+
+    /**
+     * The lookup as it was implemented before the obstacle grid was introduced.
+     */
+    private boolean isValidByScan(int x, int y) {
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            return false;
+        }
+        for (Position obstacle : obstacles) {
+            if (obstacle.getX() == x && obstacle.getY() == y) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
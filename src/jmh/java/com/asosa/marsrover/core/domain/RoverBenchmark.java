@@ -0,0 +1,83 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the single-rover operations: one move, one command, a long straight run and a whole
+ * program, on a wrap-around platform so the rover never stops at an edge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoverBenchmark {
+
+    private static final String PROGRAM = "MMRMMLMMMMMMMMLMMRMMMMMMMMMMMMMMMMRRMLMMMMMM";
+
+    @Param({"0.0", "0.01"})
+    private double density;
+
+    private Rover rover;
+    private CommandProgram program;
+
+    @Setup
+    public void setUp() {
+        int size = 1000;
+        SplittableRandom random = new SplittableRandom(42);
+        List<Position> obstacles = new ArrayList<>();
+        for (int i = 0, count = (int) (size * size * density); i < count; i++) {
+            obstacles.add(new Position(random.nextInt(size), random.nextInt(size)));
+        }
+        Platform platform = new Platform(size, size, obstacles, true);
+        MissionControl missionControl = new MissionControl(platform);
+        rover = new RoverFactory().newRoverControl(size / 2, size / 2, Direction.NORTH, platform, List.of());
+        missionControl.addRover(rover);
+        program = CommandProgram.of(PROGRAM);
+    }
+
+    @Benchmark
+    public Rover move() {
+        rover.move();
+        return rover;
+    }
+
+    @Benchmark
+    public Rover executeCommand() {
+        rover.executeCommand(Command.MOVE);
+        rover.executeCommand(Command.RIGHT);
+        return rover;
+    }
+
+    @Benchmark
+    public Rover moveForward() {
+        rover.moveForward(1000);
+        rover.turnRight();
+        return rover;
+    }
+
+    @Benchmark
+    public Rover executeProgram() {
+        rover.execute(PROGRAM);
+        return rover;
+    }
+
+    @Benchmark
+    public Rover executeCompiledProgram() {
+        rover.execute(program);
+        return rover;
+    }
+}
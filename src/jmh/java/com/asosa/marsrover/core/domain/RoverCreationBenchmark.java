@@ -0,0 +1,53 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.SequentialIdGenerator;
+import com.asosa.marsrover.common.TimeOrderedUUIDGenerator;
+import com.asosa.marsrover.common.UUIDGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rover creation from eight threads at once with each UUID generator: the shared
+ * {@code SecureRandom} of {@link UUID#randomUUID()}, the thread-local UUIDv7 generator and the
+ * sequential ids used for simulations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RoverCreationBenchmark {
+
+    @Param({"random", "timeOrdered", "sequential"})
+    private String generator;
+
+    private Platform platform;
+    private UUIDGenerator uuidGenerator;
+
+    @Setup
+    public void setUp() {
+        platform = new Platform(1000, 1000, new ArrayList<>(), true);
+        uuidGenerator = switch (generator) {
+            case "random" -> () -> UUID.randomUUID().toString();
+            case "timeOrdered" -> new TimeOrderedUUIDGenerator();
+            case "sequential" -> new SequentialIdGenerator("rover-");
+            default -> throw new IllegalArgumentException("Unknown generator: " + generator);
+        };
+    }
+
+    @Benchmark
+    public Rover createRover() {
+        return new Rover(500, 500, Direction.NORTH, platform, uuidGenerator);
+    }
+}
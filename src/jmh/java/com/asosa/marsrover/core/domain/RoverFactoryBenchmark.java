@@ -0,0 +1,52 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search for a free cell by {@link RoverFactory#newRoverControl} on a platform whose
+ * first rows are already filled with deployed rovers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoverFactoryBenchmark {
+
+    @Param({"0.1", "0.5", "0.9"})
+    private double fill;
+
+    private final RoverFactory factory = new RoverFactory();
+    private Platform platform;
+    private List<Rover> rovers;
+
+    @Setup
+    public void setUp() {
+        int size = 500;
+        platform = new Platform(size, size, List.of(), false);
+        MissionControl missionControl = new MissionControl(platform);
+        for (int i = 0, count = (int) (size * size * fill); i < count; i++) {
+            missionControl.addRover(new Rover(i % size, i / size, Direction.NORTH, platform));
+        }
+        rovers = missionControl.getRovers();
+    }
+
+    @Benchmark
+    public Rover newRoverControlWithRoverList() {
+        return factory.newRoverControl(0, 0, Direction.NORTH, platform, rovers);
+    }
+
+    @Benchmark
+    public Rover newRoverControl() {
+        return factory.newRoverControl(0, 0, Direction.NORTH, platform, List.of());
+    }
+}
@@ -0,0 +1,58 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link FleetState#runSharded(byte[][], int)} scales with the number of tiles and
+ * worker threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShardedFleetBenchmark {
+
+    private static final byte[] CODES = {'M', 'M', 'M', 'L', 'R'};
+    private static final int TICKS = 100;
+
+    @Param({"1", "4", "16", "64"})
+    private int threads;
+
+    @Param({"1000000"})
+    private int rovers;
+
+    private FleetState fleet;
+    private byte[][] programs;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        int side = (int) Math.ceil(Math.sqrt(rovers * 4.0));
+        SplittableRandom random = new SplittableRandom(42);
+        fleet = new FleetState(new Platform(side, side, List.of(), true), rovers);
+        programs = new byte[rovers][TICKS];
+        for (int i = 0; i < rovers; i++) {
+            fleet.add((i * 2) % side, ((i * 2) / side) * 2, Direction.values()[random.nextInt(4)]);
+            for (int tick = 0; tick < TICKS; tick++) {
+                programs[i][tick] = CODES[random.nextInt(CODES.length)];
+            }
+        }
+    }
+
+    @Benchmark
+    public FleetState runSharded() {
+        fleet.runSharded(programs, threads);
+        return fleet;
+    }
+}
@@ -5,6 +5,9 @@ import com.asosa.marsrover.adapters.cli.dto.CreateMissionControlRequest.Platform
 import com.asosa.marsrover.adapters.cli.dto.CreateMissionControlRequest.RoverInitialization;
 import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.core.domain.MissionControl;
+import com.asosa.marsrover.core.domain.Platform;
+import com.asosa.marsrover.core.domain.RoverDeployment;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -23,9 +26,14 @@ public class CreateMissionControlCommand implements ConsoleCommand {
             System.out.println("Creating Mission Control with:");
             System.out.println(request);
 
+            MissionControl missionControl = createMissionControl(request);
+            System.out.println("Deployed " + missionControl.getRovers().size() + " rovers");
+
         } catch (IllegalArgumentException e) {
             System.out.println("Error parsing arguments: " + e.getMessage());
             showHelp();
+        } catch (IllegalStateException e) {
+            System.out.println("Error deploying rovers: " + e.getMessage());
         }
     }
 
@@ -41,7 +49,7 @@ public class CreateMissionControlCommand implements ConsoleCommand {
      * @return A populated CreateMissionControlRequest instance.
      * @throws IllegalArgumentException If any argument is invalid or missing.
      */
-    private CreateMissionControlRequest parseArguments(String[] args) {
+    CreateMissionControlRequest parseArguments(String[] args) {
         String username = null;
         int width = 0, height = 0;
         List<RoverInitialization> rovers = new ArrayList<>();
@@ -106,6 +114,36 @@ public class CreateMissionControlCommand implements ConsoleCommand {
         return request;
     }
 
+    /**
+     * Creates the mission control described by a request and deploys its fleet in one pass.
+     *
+     * @param request The parsed request.
+     * @return The mission control with its rovers deployed.
+     * @throws IllegalStateException If the platform has no free cell left for a rover.
+     */
+    MissionControl createMissionControl(CreateMissionControlRequest request) {
+        Platform platform = new Platform(request.getPlatform().getWidth(), request.getPlatform().getHeight(),
+                new ArrayList<>(), request.isAllowWrapAround());
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.deployFleet(toDeployments(request.getRovers()));
+        return missionControl;
+    }
+
+    /**
+     * Maps the rover DTOs to the deployments expected by the domain.
+     *
+     * @param rovers The rover DTOs.
+     * @return The deployments, in the same order.
+     */
+    private List<RoverDeployment> toDeployments(List<RoverInitialization> rovers) {
+        List<RoverDeployment> deployments = new ArrayList<>(rovers.size());
+        for (RoverInitialization rover : rovers) {
+            Position position = rover.getInitialPosition();
+            deployments.add(new RoverDeployment(position.getX(), position.getY(), rover.getDirection()));
+        }
+        return deployments;
+    }
+
     /**
      * Creates a RoverInitialization DTO from parsed inputs.
      *
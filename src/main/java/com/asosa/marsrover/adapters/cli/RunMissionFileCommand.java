@@ -0,0 +1,178 @@
+package com.asosa.marsrover.adapters.cli;
+
+import com.asosa.marsrover.adapters.file.MissionFileParser;
+import com.asosa.marsrover.adapters.file.MissionFileRunner;
+import com.asosa.marsrover.adapters.file.MissionResultWriter;
+import com.asosa.marsrover.adapters.file.ParallelMissionRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+@Component
+public class RunMissionFileCommand implements ConsoleCommand {
+
+    @Override
+    public void execute(String[] args) {
+        RunMissionFileRequest request;
+        try {
+            request = parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error parsing arguments: " + e.getMessage());
+            showHelp();
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            long rovers = run(request);
+            if (request.output() != null) {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println("Processed " + rovers + " rovers in " + millis + " ms");
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error reading mission file: " + e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println("Error running mission: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String getCommandName() {
+        return "run-mission-file";
+    }
+
+    /**
+     * Parsed arguments of the command.
+     *
+     * @param input           The mission file.
+     * @param output          The result file, or null to write to the standard output.
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     * @param parallel        Whether independent rovers may run in parallel.
+     * @param collisions      Whether rovers block each other, which forces a sequential run.
+     */
+    record RunMissionFileRequest(Path input, Path output, boolean allowWrapAround, boolean parallel, boolean collisions) {
+    }
+
+    /**
+     * Parses console arguments.
+     *
+     * @param args Command-line arguments.
+     * @return The parsed request.
+     * @throws IllegalArgumentException If any argument is invalid or missing.
+     */
+    RunMissionFileRequest parseArguments(String[] args) {
+        Path input = null;
+        Path output = null;
+        boolean wrapAround = false;
+        boolean parallel = false;
+        boolean collisions = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--file":
+                case "-f":
+                    input = Path.of(argumentValue(args, ++i));
+                    break;
+                case "--output":
+                case "-o":
+                    output = Path.of(argumentValue(args, ++i));
+                    break;
+                case "--wrap":
+                    wrapAround = true;
+                    break;
+                case "--parallel":
+                    parallel = true;
+                    break;
+                case "--collisions":
+                    collisions = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        if (input == null) {
+            throw new IllegalArgumentException("Mission file is required.");
+        }
+        // Rovers only block each other in the sequential run
+        return new RunMissionFileRequest(input, output, wrapAround, parallel, collisions || !parallel);
+    }
+
+    /**
+     * Runs the mission file, memory-mapping it and writing the final position of every rover in
+     * the {@code x y D} format. Rovers run one after the other and block each other, unless a
+     * parallel run without collisions was requested.
+     *
+     * @param request The parsed request.
+     * @return The number of rovers processed.
+     * @throws IOException If the mission file cannot be read or the results cannot be written.
+     */
+    long run(RunMissionFileRequest request) throws IOException {
+        if (request.output() == null) {
+            return run(request, Channels.newChannel(new FileOutputStream(FileDescriptor.out)));
+        }
+        try (FileChannel output = FileChannel.open(request.output(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return run(request, output);
+        }
+    }
+
+    /**
+     * Runs the mission file, writing the results to the given channel.
+     *
+     * @param request The parsed request.
+     * @param output  The channel receiving the results.
+     * @return The number of rovers processed.
+     * @throws IOException If the mission file cannot be read or the results cannot be written.
+     */
+    long run(RunMissionFileRequest request, WritableByteChannel output) throws IOException {
+        if (request.parallel() && !request.collisions()) {
+            return new ParallelMissionRunner(ForkJoinPool.commonPool(), request.allowWrapAround()).run(request.input(), output);
+        }
+        MissionResultWriter writer = new MissionResultWriter(output);
+        try {
+            MissionFileParser.parse(request.input(), new MissionFileRunner(request.allowWrapAround(), writer));
+        } finally {
+            // Keep the results of the rovers that completed before a failure
+            writer.flush();
+        }
+        return writer.getCount();
+    }
+
+    private String argumentValue(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        String arg = args[index];
+        if (arg.startsWith("\"") && arg.endsWith("\"") && arg.length() > 1) {
+            return arg.substring(1, arg.length() - 1);
+        }
+        return arg;
+    }
+
+    /**
+     * Displays help information for this command.
+     */
+    private void showHelp() {
+        System.out.println("Usage:");
+        System.out.println("  run-mission-file [options]");
+        System.out.println("Options:");
+        System.out.println("  -f, --file <path>               Mission file in the classic plateau format.");
+        System.out.println("  -o, --output <path>             File receiving the final rover positions. Defaults to the console.");
+        System.out.println("  --wrap                          Enable wrap-around.");
+        System.out.println("  --parallel                      Run rovers independently on all cores. Rovers do not block each other.");
+        System.out.println("  --collisions                    Keep rovers blocking each other, running them sequentially.");
+        System.out.println();
+        System.out.println("Example:");
+        System.out.println("  run-mission-file -f mission.txt -o results.txt --parallel");
+    }
+}
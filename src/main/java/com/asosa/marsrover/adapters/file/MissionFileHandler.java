@@ -0,0 +1,49 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+
+/**
+ * Receives the content of a mission file as {@link MissionFileParser} reads it.
+ * <p>
+ * For every rover, {@link #rover} is called once, then {@link #commands} zero or more times with
+ * consecutive pieces of its command line, then {@link #roverEnd}. The command bytes are only valid
+ * during the call, since the parser reuses its buffer.
+ */
+public interface MissionFileHandler {
+
+    /**
+     * Called once with the plateau line.
+     *
+     * @param maxX The X-coordinate of the upper-right corner of the plateau.
+     * @param maxY The Y-coordinate of the upper-right corner of the plateau.
+     */
+    void plateau(int maxX, int maxY);
+
+    /**
+     * Called for the position line of a rover.
+     *
+     * @param index     The zero-based index of the rover in the file.
+     * @param x         The initial X-coordinate.
+     * @param y         The initial Y-coordinate.
+     * @param direction The initial direction.
+     */
+    void rover(int index, int x, int y, Direction direction);
+
+    /**
+     * Called with a piece of the command line of a rover. Every byte is {@code L}, {@code R} or
+     * {@code M}.
+     *
+     * @param index    The zero-based index of the rover in the file.
+     * @param commands The buffer holding the commands.
+     * @param offset   The index of the first command.
+     * @param length   The number of commands.
+     */
+    void commands(int index, byte[] commands, int offset, int length);
+
+    /**
+     * Called once all the commands of a rover have been passed.
+     *
+     * @param index The zero-based index of the rover in the file.
+     */
+    void roverEnd(int index);
+}
@@ -0,0 +1,312 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming parser for the classic mission format:
+ * <pre>
+ * 5 5
+ * 1 2 N
+ * LMLMLMLMM
+ * 3 3 E
+ * MMRMMRMRRM
+ * </pre>
+ * The first line holds the upper-right corner of the plateau, followed by a position line and a
+ * command line per rover.
+ * <p>
+ * The parser is an incremental state machine: input can be fed in buffers of any size, split
+ * anywhere, and every rover is passed to the {@link MissionFileHandler} as soon as it is read.
+ * Numbers, directions and commands are decoded straight from the bytes, without creating Strings,
+ * and command lines are streamed in pieces, so neither the file nor a single line has to fit in
+ * memory. Blank lines and carriage returns are ignored.
+ */
+public class MissionFileParser {
+
+    private static final int MAX_LINE = 256;
+    private static final int COMMAND_CHUNK = 8192;
+    private static final int COPY_STEP = 512; // Short enough not to copy far past a line break
+    private static final long MAP_REGION = 1L << 28; // 256 MiB mapped at a time
+    private static final int READ_BUFFER = 1 << 16;
+
+    // Class of every byte on a command line, looked up instead of branching on the byte itself
+    private static final byte INVALID = 0;
+    private static final byte COMMAND = 1;
+    private static final byte IGNORED = 2;
+    private static final byte LINE_BREAK = 3;
+    private static final byte[] COMMAND_CLASS = new byte[256];
+
+    static {
+        COMMAND_CLASS['L'] = COMMAND;
+        COMMAND_CLASS['R'] = COMMAND;
+        COMMAND_CLASS['M'] = COMMAND;
+        COMMAND_CLASS[' '] = IGNORED;
+        COMMAND_CLASS['\r'] = IGNORED;
+        COMMAND_CLASS['\n'] = LINE_BREAK;
+    }
+
+    private enum State { PLATEAU, ROVER, COMMANDS }
+
+    private final MissionFileHandler handler;
+    private final byte[] line = new byte[MAX_LINE];
+    private final byte[] commands = new byte[COMMAND_CHUNK];
+    private State state;
+    private int lineLength;
+    private int commandCount;
+    private long lineNumber;
+    private final int firstRover;
+    private int rovers;
+
+    /**
+     * Creates a parser passing what it reads to the given handler.
+     *
+     * @param handler The handler.
+     */
+    public MissionFileParser(MissionFileHandler handler) {
+        this(handler, true, 1, 0);
+    }
+
+    /**
+     * Creates a parser that may start after the plateau line, to parse a slice of a file that
+     * begins at a position line. Errors and rover indexes are numbered from the given line and
+     * rover, so that they match the whole file.
+     *
+     * @param handler       The handler.
+     * @param expectPlateau Whether the input starts with the plateau line.
+     * @param firstLine     The number of the first line of the input in the file, from 1.
+     * @param firstRover    The index of the first rover of the input in the file, from 0.
+     */
+    MissionFileParser(MissionFileHandler handler, boolean expectPlateau, long firstLine, int firstRover) {
+        this.handler = handler;
+        this.state = expectPlateau ? State.PLATEAU : State.ROVER;
+        this.lineNumber = firstLine;
+        this.firstRover = firstRover;
+        this.rovers = firstRover;
+    }
+
+    /**
+     * Parses a whole mission file, mapping it into memory region by region.
+     *
+     * @param file    The mission file.
+     * @param handler The handler.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a valid mission.
+     */
+    public static void parse(Path file, MissionFileHandler handler) throws IOException {
+        MissionFileParser parser = new MissionFileParser(handler);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_REGION) {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION, size - position));
+                parser.feed(region);
+            }
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses a whole mission read from a channel.
+     *
+     * @param channel The channel.
+     * @param handler The handler.
+     * @throws IOException              If the channel cannot be read.
+     * @throws IllegalArgumentException If the input is not a valid mission.
+     */
+    public static void parse(ReadableByteChannel channel, MissionFileHandler handler) throws IOException {
+        MissionFileParser parser = new MissionFileParser(handler);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            parser.feed(buffer);
+            buffer.clear();
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer. The input may stop anywhere, including in the middle
+     * of a number or a command line; parsing resumes with the next buffer.
+     *
+     * @param input The bytes to parse.
+     * @throws IllegalArgumentException If the input is not a valid mission.
+     */
+    public void feed(ByteBuffer input) {
+        while (input.hasRemaining()) {
+            if (state == State.COMMANDS) {
+                readCommands(input);
+                continue;
+            }
+            byte b = input.get();
+            if (b == '\n') {
+                endLine();
+            } else if (b != '\r') {
+                if (lineLength == MAX_LINE) {
+                    throw error("line too long");
+                }
+                line[lineLength++] = b;
+            }
+        }
+    }
+
+    /**
+     * Signals the end of the input, completing the last line if it has no line break.
+     *
+     * @throws IllegalArgumentException If the input stops before the plateau line or in the
+     *                                  middle of a position line.
+     */
+    public void finish() {
+        switch (state) {
+            case PLATEAU -> {
+                if (isBlank()) {
+                    throw error("missing plateau line");
+                }
+                endLine();
+            }
+            case ROVER -> {
+                if (!isBlank()) {
+                    endLine();
+                    endRover();
+                }
+            }
+            case COMMANDS -> endRover();
+        }
+    }
+
+    /**
+     * Gets the number of rovers read so far.
+     *
+     * @return The number of rovers.
+     */
+    public int getRoverCount() {
+        return rovers - firstRover;
+    }
+
+    /**
+     * Copies command bytes in bulk and validates them in the array, dropping spaces and carriage
+     * returns. When the line ends inside the copied bytes, the input is rewound to just after the
+     * line break.
+     */
+    private void readCommands(ByteBuffer input) {
+        while (input.hasRemaining()) {
+            int start = commandCount;
+            int end = start + Math.min(input.remaining(), Math.min(COMMAND_CHUNK - start, COPY_STEP));
+            input.get(commands, start, end - start);
+            int kept = start;
+            for (int i = start; i < end; i++) {
+                byte b = commands[i];
+                byte type = COMMAND_CLASS[b & 0xFF];
+                if (type == COMMAND) {
+                    commands[kept++] = b;
+                } else if (type == LINE_BREAK) {
+                    input.position(input.position() - (end - i - 1));
+                    commandCount = kept;
+                    lineNumber++;
+                    endRover();
+                    return;
+                } else if (type == INVALID) {
+                    throw error("invalid command code " + (char) (b & 0xFF));
+                }
+            }
+            commandCount = kept;
+            if (commandCount == COMMAND_CHUNK) {
+                flushCommands();
+            }
+        }
+    }
+
+    private void endLine() {
+        if (isBlank()) {
+            // Blank lines between rovers are allowed
+            lineLength = 0;
+            lineNumber++;
+            return;
+        }
+        int cursor = skipSpaces(0);
+        int[] number = new int[2];
+        cursor = readNumber(cursor, number, 0);
+        cursor = readNumber(skipSpaces(cursor), number, 1);
+        cursor = skipSpaces(cursor);
+        if (state == State.PLATEAU) {
+            expectEnd(cursor);
+            handler.plateau(number[0], number[1]);
+            state = State.ROVER;
+        } else {
+            if (cursor == lineLength) {
+                throw error("missing direction");
+            }
+            Direction direction = direction(line[cursor]);
+            expectEnd(skipSpaces(cursor + 1));
+            handler.rover(rovers, number[0], number[1], direction);
+            state = State.COMMANDS;
+        }
+        lineLength = 0;
+        lineNumber++;
+    }
+
+    private void endRover() {
+        flushCommands();
+        handler.roverEnd(rovers++);
+        state = State.ROVER;
+    }
+
+    private void flushCommands() {
+        if (commandCount > 0) {
+            handler.commands(rovers, commands, 0, commandCount);
+            commandCount = 0;
+        }
+    }
+
+    private int readNumber(int cursor, int[] target, int slot) {
+        long value = 0;
+        int start = cursor;
+        while (cursor < lineLength && line[cursor] >= '0' && line[cursor] <= '9') {
+            value = value * 10 + (line[cursor++] - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error("number too large");
+            }
+        }
+        if (cursor == start) {
+            throw error("expected a number");
+        }
+        target[slot] = (int) value;
+        return cursor;
+    }
+
+    private Direction direction(byte code) {
+        return switch (code) {
+            case 'N' -> Direction.NORTH;
+            case 'E' -> Direction.EAST;
+            case 'S' -> Direction.SOUTH;
+            case 'W' -> Direction.WEST;
+            default -> throw error("invalid direction code " + (char) (code & 0xFF));
+        };
+    }
+
+    private int skipSpaces(int cursor) {
+        while (cursor < lineLength && (line[cursor] == ' ' || line[cursor] == '\t')) {
+            cursor++;
+        }
+        return cursor;
+    }
+
+    private void expectEnd(int cursor) {
+        if (cursor != lineLength) {
+            throw error("unexpected content");
+        }
+    }
+
+    private boolean isBlank() {
+        return skipSpaces(0) == lineLength;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.SequentialIdGenerator;
+import com.asosa.marsrover.common.UUIDGenerator;
+import com.asosa.marsrover.core.domain.MissionControl;
+import com.asosa.marsrover.core.domain.MoveResult;
+import com.asosa.marsrover.core.domain.Platform;
+import com.asosa.marsrover.core.domain.Rover;
+
+import java.util.ArrayList;
+
+/**
+ * Runs a mission file as it is parsed: the plateau line creates the platform and mission control,
+ * every rover is deployed as soon as its position line is read and executes its commands piece by
+ * piece, so a mission of any size runs without being loaded into memory first.
+ * <p>
+ * Rovers run one after the other, like in the classic problem, and every finished rover keeps
+ * blocking its cell for the rovers that follow. A runner created for a given platform instead runs
+ * every rover on its own, without deploying it, so that rovers never see each other.
+ * <p>
+ * A rover stops at the first move blocked by an obstacle or another rover and the rest of its
+ * commands are skipped; it is then reported as obstructed, which {@link MissionResultWriter} marks
+ * with {@code O:} whichever of the two stopped it. Moves blocked by the edge of the plateau are
+ * skipped as usual.
+ * <p>
+ * Rovers only live for the run, so they get compact sequential ids rather than random UUIDs.
+ */
+public class MissionFileRunner implements MissionFileHandler {
+
+    /**
+     * Largest plateau, in cells, a mission may declare, such as 4096 by 4096. Missions come from
+     * files and HTTP requests alike, so the plateau is checked before any platform is built.
+     */
+    public static final long MAX_PLATEAU_CELLS = 1L << 24;
+
+    private final boolean allowWrapAround;
+    private final MissionResultListener finished;
+    private final UUIDGenerator uuidGenerator;
+    private MissionControl missionControl;
+    private Platform platform;
+    private Rover current;
+    private boolean obstructed;
+
+    /**
+     * Creates a runner.
+     *
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     * @param finished        Called with every rover once it is done.
+     */
+    public MissionFileRunner(boolean allowWrapAround, MissionResultListener finished) {
+        this.allowWrapAround = allowWrapAround;
+        this.finished = finished;
+        this.uuidGenerator = new SequentialIdGenerator();
+    }
+
+    /**
+     * Creates a runner for independent rovers on an existing platform. The rovers are not deployed,
+     * so the platform is only read and can be shared by runners on several threads.
+     *
+     * @param platform      The platform.
+     * @param finished      Called with every rover once it is done.
+     * @param uuidGenerator The generator of the rovers' ids, shared by all the runners of a mission.
+     */
+    MissionFileRunner(Platform platform, MissionResultListener finished, UUIDGenerator uuidGenerator) {
+        this.allowWrapAround = platform.isAllowWrapAround();
+        this.finished = finished;
+        this.uuidGenerator = uuidGenerator;
+        this.platform = platform;
+    }
+
+    @Override
+    public void plateau(int maxX, int maxY) {
+        checkPlateau(maxX + 1L, maxY + 1L);
+        platform = new Platform(maxX + 1, maxY + 1, new ArrayList<>(), allowWrapAround, uuidGenerator);
+        missionControl = new MissionControl(platform, uuidGenerator);
+    }
+
+    /**
+     * Checks that a plateau is small enough to be run.
+     *
+     * @param width  The width of the plateau.
+     * @param height The height of the plateau.
+     * @throws IllegalArgumentException If the plateau has more than {@link #MAX_PLATEAU_CELLS} cells.
+     */
+    public static void checkPlateau(long width, long height) {
+        if (width * height > MAX_PLATEAU_CELLS) {
+            throw new IllegalArgumentException("Plateau too large: at most " + MAX_PLATEAU_CELLS + " cells are allowed");
+        }
+    }
+
+    @Override
+    public void rover(int index, int x, int y, Direction direction) {
+        if (!platform.isValidPosition(x, y)) {
+            throw new IllegalArgumentException("Invalid position for rover " + (index + 1));
+        }
+        current = new Rover(x, y, direction, platform, uuidGenerator);
+        obstructed = false;
+        if (missionControl != null) {
+            missionControl.addRover(current);
+        }
+    }
+
+    @Override
+    public void commands(int index, byte[] commands, int offset, int length) {
+        if (!obstructed) {
+            obstructed = current.executeUntilObstructed(commands, offset, length) != MoveResult.MOVED;
+        }
+    }
+
+    @Override
+    public void roverEnd(int index) {
+        finished.roverFinished(current, obstructed);
+        current = null;
+    }
+
+    /**
+     * Gets the mission control created from the plateau line.
+     *
+     * @return The mission control, or null if the plateau line has not been read yet or the rovers
+     * are independent.
+     */
+    public MissionControl getMissionControl() {
+        return missionControl;
+    }
+}
@@ -0,0 +1,19 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.core.domain.Rover;
+
+/**
+ * Receives every rover of a mission once it is done.
+ */
+@FunctionalInterface
+public interface MissionResultListener {
+
+    /**
+     * Called once a rover has executed its commands, or stopped in front of an obstacle or another
+     * rover.
+     *
+     * @param rover      The rover.
+     * @param obstructed True if the rover stopped before the end of its commands.
+     */
+    void roverFinished(Rover rover, boolean obstructed);
+}
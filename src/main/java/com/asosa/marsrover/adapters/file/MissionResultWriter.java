@@ -0,0 +1,118 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.core.domain.Rover;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the final state of rovers to a channel in the classic {@code x y D} format, one rover per
+ * line, prefixed with {@code O:} for the rovers that were obstructed: stopped in front of an
+ * obstacle or of another rover.
+ * <p>
+ * Lines are encoded straight into a large direct buffer, which is only written to the channel when
+ * it fills up or on {@link #flush()}.
+ */
+public class MissionResultWriter implements MissionResultListener {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_LINE = 32; // The prefix, two ten-digit coordinates, a direction and separators
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[10];
+    private long count;
+
+    /**
+     * Creates a writer for the given channel. The channel is not closed by the writer.
+     *
+     * @param channel The output channel.
+     */
+    public MissionResultWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Appends the line of a rover.
+     *
+     * @param rover      The rover.
+     * @param obstructed True to prefix the line with {@code O:}.
+     * @throws UncheckedIOException If the buffer had to be written and the channel failed.
+     */
+    @Override
+    public void roverFinished(Rover rover, boolean obstructed) {
+        try {
+            write(rover, obstructed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the line of a rover.
+     *
+     * @param rover      The rover.
+     * @param obstructed True to prefix the line with {@code O:}.
+     * @throws IOException If the buffer had to be written and the channel failed.
+     */
+    public void write(Rover rover, boolean obstructed) throws IOException {
+        if (buffer.remaining() < MAX_LINE) {
+            drain();
+        }
+        if (obstructed) {
+            buffer.put((byte) 'O').put((byte) ':');
+        }
+        Position position = rover.getPosition();
+        putNumber(position.getX());
+        buffer.put((byte) ' ');
+        putNumber(position.getY());
+        buffer.put((byte) ' ');
+        buffer.put((byte) rover.getDirection().getCode().charAt(0));
+        buffer.put((byte) '\n');
+        count++;
+    }
+
+    /**
+     * Writes all buffered lines to the channel.
+     *
+     * @throws IOException If the channel fails.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Gets the number of lines written so far, including the buffered ones.
+     *
+     * @return The number of rovers written.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putNumber(int value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        long remaining = Math.abs((long) value);
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+}
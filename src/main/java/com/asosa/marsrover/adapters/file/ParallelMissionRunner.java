@@ -0,0 +1,302 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.SequentialIdGenerator;
+import com.asosa.marsrover.common.UUIDGenerator;
+import com.asosa.marsrover.core.domain.Platform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs the rovers of a mission file in parallel, treating them as independent: no rover is
+ * deployed, so rovers never block each other, as in the classic problem where every command line
+ * can be simulated on its own.
+ * <p>
+ * After the plateau line, the file is split into chunks of about {@link #CHUNK_SIZE} bytes, each
+ * extended to the start of the next position line so that no rover straddles two chunks. Chunks are
+ * mapped and run on a fork/join pool, each into its own result buffer, and the buffers are written
+ * in file order, so the output is the same as a sequential run. At most two chunks per worker are
+ * in flight, bounding the memory held by pending results.
+ * <p>
+ * While splitting the file, the calling thread counts the line breaks and position lines of every
+ * chunk, a plain byte scan, so that each chunk reports errors with the line and rover numbers of the
+ * whole file.
+ * <p>
+ * Use {@link MissionFileRunner} instead when rovers must see each other through the platform.
+ */
+public class ParallelMissionRunner {
+
+    static final long CHUNK_SIZE = 16L << 20;
+    private static final long MAP_REGION = 1L << 28;
+    private static final int SCAN_BLOCK = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final boolean allowWrapAround;
+    private final long chunkSize;
+
+    /**
+     * Creates a runner.
+     *
+     * @param pool            The pool running the chunks.
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     */
+    public ParallelMissionRunner(ForkJoinPool pool, boolean allowWrapAround) {
+        this(pool, allowWrapAround, CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a runner splitting the file into chunks of the given size.
+     *
+     * @param pool            The pool running the chunks.
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     * @param chunkSize       The approximate size of a chunk, in bytes.
+     */
+    ParallelMissionRunner(ForkJoinPool pool, boolean allowWrapAround, long chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.allowWrapAround = allowWrapAround;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs a mission file, writing one {@code x y D} line per rover to the output in file order.
+     *
+     * @param file   The mission file.
+     * @param output The channel receiving the results. It is not closed.
+     * @return The number of rovers processed.
+     * @throws IOException              If the file cannot be read or the results cannot be written.
+     * @throws IllegalArgumentException If the file is not a valid mission or a rover starts outside
+     *                                  the plateau.
+     */
+    public long run(Path file, WritableByteChannel output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return run(channel, output);
+        }
+    }
+
+    private long run(FileChannel channel, WritableByteChannel output) throws IOException {
+        long size = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK);
+        long bodyStart = plateauEnd(channel, size, block);
+        MissionFileRunner header = new MissionFileRunner(allowWrapAround, (rover, obstructed) -> {
+        });
+        MissionFileParser headerParser = new MissionFileParser(header);
+        feed(headerParser, channel, 0, bodyStart);
+        headerParser.finish();
+        Platform platform = header.getMissionControl().getPlatform();
+        UUIDGenerator uuidGenerator = new SequentialIdGenerator();
+
+        Deque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        int window = Math.max(1, pool.getParallelism() * 2);
+        long next = bodyStart;
+        long line = 1 + scan(channel, 0, bodyStart).lines();
+        long roverIndex = 0;
+        long rovers = 0;
+        try {
+            while (next < size || !inFlight.isEmpty()) {
+                while (next < size && inFlight.size() < window) {
+                    long start = next;
+                    long end = start + chunkSize >= size ? size : nextRoverStart(channel, start + chunkSize, size, block);
+                    long firstLine = line;
+                    int firstRover = Math.toIntExact(roverIndex);
+                    inFlight.add(pool.submit(() -> runChunk(channel, platform, uuidGenerator, start, end, firstLine, firstRover)));
+                    Span span = scan(channel, start, end);
+                    line += span.lines();
+                    roverIndex += span.rovers();
+                    next = end;
+                }
+                Chunk chunk = join(inFlight.poll());
+                if (chunk.failure() != null) {
+                    throw chunk.failure();
+                }
+                ByteBuffer results = ByteBuffer.wrap(chunk.results());
+                while (results.hasRemaining()) {
+                    output.write(results);
+                }
+                rovers += chunk.rovers();
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        return rovers;
+    }
+
+    /**
+     * Runs the rovers of one chunk into an in-memory result buffer.
+     */
+    private Chunk runChunk(FileChannel channel, Platform platform, UUIDGenerator uuidGenerator, long start, long end,
+                           long firstLine, int firstRover) throws IOException {
+        ByteArrayOutputStream results = new ByteArrayOutputStream();
+        MissionResultWriter writer = new MissionResultWriter(Channels.newChannel(results));
+        MissionFileParser parser = new MissionFileParser(new MissionFileRunner(platform, writer, uuidGenerator), false,
+                firstLine, firstRover);
+        try {
+            feed(parser, channel, start, end);
+            parser.finish();
+        } catch (IllegalArgumentException e) {
+            // Returned rather than thrown, since the pool would rethrow a copy wrapping it
+            return new Chunk(null, 0, e);
+        }
+        writer.flush();
+        return new Chunk(results.toByteArray(), writer.getCount(), null);
+    }
+
+    private static void feed(MissionFileParser parser, FileChannel channel, long start, long end) throws IOException {
+        for (long position = start; position < end; position += MAP_REGION) {
+            parser.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION, end - position)));
+        }
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mission run interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Mission run failed", e.getCause());
+        }
+    }
+
+    /**
+     * Counts the line breaks of a region, and its position lines, which are the lines whose first
+     * byte other than a space, a tab or a carriage return is a digit.
+     */
+    private static Span scan(FileChannel channel, long start, long end) throws IOException {
+        long lines = 0;
+        long rovers = 0;
+        boolean lineStart = true;
+        for (long position = start; position < end; position += MAP_REGION) {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION, end - position));
+            for (int i = 0, limit = region.limit(); i < limit; i++) {
+                byte b = region.get(i);
+                if (b == '\n') {
+                    lines++;
+                    lineStart = true;
+                } else if (lineStart && b != ' ' && b != '\t' && b != '\r') {
+                    lineStart = false;
+                    if (b >= '0' && b <= '9') {
+                        rovers++;
+                    }
+                }
+            }
+        }
+        return new Span(lines, rovers);
+    }
+
+    /**
+     * Finds the end of the plateau line, which is the first line that is not blank.
+     */
+    private static long plateauEnd(FileChannel channel, long size, ByteBuffer block) throws IOException {
+        long line = 0;
+        while (line < size) {
+            int first = firstByte(channel, line, size, block);
+            long end = lineEnd(channel, line, size, block);
+            if (first != '\n' && first != -1) {
+                return end;
+            }
+            line = end;
+        }
+        return size;
+    }
+
+    /**
+     * Finds the start of the first position line at or after an offset. Command lines only hold
+     * {@code L}, {@code R} and {@code M}, so a position line is any line starting with a digit.
+     */
+    private static long nextRoverStart(FileChannel channel, long from, long size, ByteBuffer block) throws IOException {
+        long line = isLineStart(channel, from, block) ? from : lineEnd(channel, from, size, block);
+        while (line < size) {
+            int first = firstByte(channel, line, size, block);
+            if (first >= '0' && first <= '9') {
+                return line;
+            }
+            line = lineEnd(channel, line, size, block);
+        }
+        return size;
+    }
+
+    private static boolean isLineStart(FileChannel channel, long offset, ByteBuffer block) throws IOException {
+        block.clear().limit(1);
+        return channel.read(block, offset - 1) == 1 && block.get(0) == '\n';
+    }
+
+    /**
+     * Gets the first byte of a line that is not a space, a tab or a carriage return.
+     *
+     * @return The byte, which is a line break for blank lines, or -1 at the end of the file.
+     */
+    private static int firstByte(FileChannel channel, long line, long size, ByteBuffer block) throws IOException {
+        for (long position = line; position < size; ) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = block.get(i);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return b;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the offset just after the line break ending a line, or the file size for the last line.
+     */
+    private static long lineEnd(FileChannel channel, long line, long size, ByteBuffer block) throws IOException {
+        for (long position = line; position < size; ) {
+            block.clear();
+            int read = channel.read(block, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (block.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * The results of one chunk, or the error in the mission that stopped it.
+     */
+    private record Chunk(byte[] results, long rovers, IllegalArgumentException failure) {
+    }
+
+    /**
+     * The number of line breaks and position lines of a region.
+     */
+    private record Span(long lines, long rovers) {
+    }
+}
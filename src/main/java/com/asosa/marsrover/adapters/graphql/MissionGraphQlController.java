@@ -0,0 +1,168 @@
+package com.asosa.marsrover.adapters.graphql;
+
+import com.asosa.marsrover.adapters.graphql.dto.RoverCommandInput;
+import com.asosa.marsrover.adapters.graphql.dto.RoverInput;
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.core.domain.MissionControl;
+import com.asosa.marsrover.core.domain.Rover;
+import com.asosa.marsrover.core.domain.RoverDeployment;
+import com.asosa.marsrover.core.domain.RoverSnapshot;
+import graphql.GraphQLError;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GraphQL adapter exposing missions, their platform and their rovers.
+ * <p>
+ * Rovers are served as {@link RoverSnapshot}s, so their fields are plain record accessors rather
+ * than reads of live, mutable rovers. The rovers of every mission in a query are resolved in one
+ * batch, taking each mission's lock once, however many missions the query selects.
+ */
+@Controller
+public class MissionGraphQlController {
+
+    private final MissionRegistry registry;
+
+    public MissionGraphQlController(MissionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @QueryMapping
+    public Collection<MissionControl> missions() {
+        return registry.findAll();
+    }
+
+    @QueryMapping
+    public MissionControl mission(@Argument String uuid) {
+        return registry.find(uuid).orElse(null);
+    }
+
+    @QueryMapping
+    public List<RoverSnapshot> rovers(@Argument String missionUuid, @Argument List<String> uuids) {
+        MissionControl mission = registry.get(missionUuid);
+        synchronized (mission) {
+            if (uuids == null) {
+                return snapshot(mission);
+            }
+            List<RoverSnapshot> snapshots = new ArrayList<>(uuids.size());
+            for (String uuid : uuids) {
+                snapshots.add(mission.getRover(uuid).snapshot());
+            }
+            return snapshots;
+        }
+    }
+
+    @MutationMapping
+    public MissionControl createMission(@Argument int width, @Argument int height, @Argument boolean allowWrapAround) {
+        return registry.create(width, height, allowWrapAround);
+    }
+
+    /**
+     * Deploys rovers. They are reported to subscribers at the end of the next tick.
+     */
+    @MutationMapping
+    public List<RoverSnapshot> deployRovers(@Argument String missionUuid, @Argument List<RoverInput> rovers) {
+        List<RoverDeployment> deployments = new ArrayList<>(rovers.size());
+        for (RoverInput rover : rovers) {
+            deployments.add(new RoverDeployment(rover.x(), rover.y(), Direction.fromCode(rover.direction())));
+        }
+        MissionControl mission = registry.get(missionUuid);
+        synchronized (mission) {
+            List<Rover> deployed = mission.deployFleet(deployments);
+            List<RoverSnapshot> snapshots = new ArrayList<>(deployed.size());
+            for (Rover rover : deployed) {
+                snapshots.add(rover.snapshot());
+            }
+            return snapshots;
+        }
+    }
+
+    @MutationMapping
+    public long tick(@Argument String missionUuid, @Argument List<RoverCommandInput> commands) {
+        MissionControl mission = registry.get(missionUuid);
+        synchronized (mission) {
+            Map<Rover, Command> tick = new HashMap<>(commands.size() * 2);
+            for (RoverCommandInput command : commands) {
+                tick.put(mission.getRover(command.uuid()), Command.fromCode(command.command()));
+            }
+            mission.tick(tick);
+            return mission.getTick();
+        }
+    }
+
+    @MutationMapping
+    public long runPrograms(@Argument String missionUuid, @Argument List<String> programs) {
+        MissionControl mission = registry.get(missionUuid);
+        synchronized (mission) {
+            mission.runPrograms(programs);
+            return mission.getTick();
+        }
+    }
+
+    @SubscriptionMapping
+    public Flux<TickUpdate> roverUpdates(@Argument String missionUuid) {
+        return registry.updates(missionUuid);
+    }
+
+    /**
+     * Resolves the rovers of all the missions of a query at once.
+     */
+    @BatchMapping(typeName = "Mission", field = "rovers")
+    public Map<MissionControl, List<RoverSnapshot>> fleets(List<MissionControl> missions) {
+        Map<MissionControl, List<RoverSnapshot>> fleets = new IdentityHashMap<>(missions.size());
+        for (MissionControl mission : missions) {
+            synchronized (mission) {
+                fleets.put(mission, snapshot(mission));
+            }
+        }
+        return fleets;
+    }
+
+    @SchemaMapping(typeName = "Mission", field = "roverCount")
+    public int roverCount(MissionControl mission) {
+        synchronized (mission) {
+            return mission.getFleetSize();
+        }
+    }
+
+    @SchemaMapping(typeName = "Mission", field = "tick")
+    public long currentTick(MissionControl mission) {
+        synchronized (mission) {
+            return mission.getTick();
+        }
+    }
+
+    /**
+     * Reports invalid requests, such as unknown UUIDs or invalid codes, as bad requests with their
+     * message rather than as internal errors.
+     */
+    @GraphQlExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
+    public GraphQLError handleInvalidRequest(RuntimeException e) {
+        return GraphQLError.newError().errorType(ErrorType.BAD_REQUEST).message(e.getMessage()).build();
+    }
+
+    private static List<RoverSnapshot> snapshot(MissionControl mission) {
+        List<Rover> rovers = mission.getRovers();
+        List<RoverSnapshot> snapshots = new ArrayList<>(rovers.size());
+        for (Rover rover : rovers) {
+            snapshots.add(rover.snapshot());
+        }
+        return snapshots;
+    }
+}
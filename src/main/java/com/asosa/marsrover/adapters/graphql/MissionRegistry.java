@@ -0,0 +1,119 @@
+package com.asosa.marsrover.adapters.graphql;
+
+import com.asosa.marsrover.adapters.file.MissionFileRunner;
+import com.asosa.marsrover.core.domain.MissionControl;
+import com.asosa.marsrover.core.domain.Platform;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the missions driven through the GraphQL API, together with the stream of their tick updates.
+ * <p>
+ * {@link MissionControl} is not thread-safe, so every access to a mission goes through its monitor:
+ * callers synchronize on the mission itself. Tick updates are therefore emitted one at a time.
+ */
+@Component
+public class MissionRegistry {
+
+    private static final int UPDATE_BUFFER = 256; // Ticks kept for a slow subscriber before dropping the oldest
+
+    private final Map<String, Sinks.Many<TickUpdate>> updates = new ConcurrentHashMap<>();
+    private final Map<String, MissionControl> missions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a mission on an empty plateau, of at most {@link MissionFileRunner#MAX_PLATEAU_CELLS}
+     * cells like the missions run over REST.
+     *
+     * @param width           The width of the plateau.
+     * @param height          The height of the plateau.
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     * @return The mission.
+     * @throws IllegalArgumentException If the plateau is empty or too large.
+     */
+    public MissionControl create(int width, int height, boolean allowWrapAround) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero.");
+        }
+        MissionFileRunner.checkPlateau(width, height);
+        MissionControl mission = new MissionControl(new Platform(width, height, new ArrayList<>(), allowWrapAround));
+        Sinks.Many<TickUpdate> sink = Sinks.many().multicast().directBestEffort();
+        mission.addTickListener((tick, changed) -> sink.tryEmitNext(new TickUpdate(mission.getUuid(), tick, changed)));
+        updates.put(mission.getUuid(), sink);
+        missions.put(mission.getUuid(), mission);
+        return mission;
+    }
+
+    /**
+     * Gets a mission by UUID.
+     *
+     * @param uuid The UUID of the mission.
+     * @return The mission, if there is one.
+     */
+    public Optional<MissionControl> find(String uuid) {
+        return Optional.ofNullable(missions.get(uuid));
+    }
+
+    /**
+     * Gets a mission by UUID.
+     *
+     * @param uuid The UUID of the mission.
+     * @return The mission.
+     * @throws IllegalArgumentException If there is no mission with the given UUID.
+     */
+    public MissionControl get(String uuid) {
+        MissionControl mission = missions.get(uuid);
+        if (mission == null) {
+            throw new IllegalArgumentException("Unknown mission: " + uuid);
+        }
+        return mission;
+    }
+
+    /**
+     * Gets all the missions.
+     *
+     * @return The missions, in no particular order.
+     */
+    public Collection<MissionControl> findAll() {
+        return missions.values();
+    }
+
+    /**
+     * Gets the number of rovers deployed across all the missions.
+     *
+     * @return The total fleet size.
+     */
+    public long getFleetSize() {
+        long rovers = 0;
+        for (MissionControl mission : missions.values()) {
+            synchronized (mission) {
+                rovers += mission.getFleetSize();
+            }
+        }
+        return rovers;
+    }
+
+    /**
+     * Gets the tick updates of a mission from now on. Each subscriber buffers a bounded number of
+     * ticks and drops the oldest ones when it falls behind, so a slow client never holds up the
+     * mission.
+     *
+     * @param uuid The UUID of the mission.
+     * @return The updates.
+     * @throws IllegalArgumentException If there is no mission with the given UUID.
+     */
+    public Flux<TickUpdate> updates(String uuid) {
+        Sinks.Many<TickUpdate> sink = updates.get(uuid);
+        if (sink == null) {
+            throw new IllegalArgumentException("Unknown mission: " + uuid);
+        }
+        return sink.asFlux().onBackpressureBuffer(UPDATE_BUFFER, dropped -> { }, BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
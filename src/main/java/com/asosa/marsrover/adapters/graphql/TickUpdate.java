@@ -0,0 +1,15 @@
+package com.asosa.marsrover.adapters.graphql;
+
+import com.asosa.marsrover.core.domain.RoverSnapshot;
+
+import java.util.List;
+
+/**
+ * The rovers of a mission that changed during one tick.
+ *
+ * @param missionUuid The UUID of the mission.
+ * @param tick        The number of the tick.
+ * @param rovers      The final state of the rovers that changed during the tick.
+ */
+public record TickUpdate(String missionUuid, long tick, List<RoverSnapshot> rovers) {
+}
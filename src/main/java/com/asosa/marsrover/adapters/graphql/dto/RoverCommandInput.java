@@ -0,0 +1,10 @@
+package com.asosa.marsrover.adapters.graphql.dto;
+
+/**
+ * GraphQL input sending a command to a rover during a tick.
+ *
+ * @param uuid    The UUID of the rover.
+ * @param command The command code: L, R or M.
+ */
+public record RoverCommandInput(String uuid, String command) {
+}
@@ -0,0 +1,11 @@
+package com.asosa.marsrover.adapters.graphql.dto;
+
+/**
+ * GraphQL input describing a rover to deploy.
+ *
+ * @param x         The requested X-coordinate.
+ * @param y         The requested Y-coordinate.
+ * @param direction The direction code: N, E, S or W.
+ */
+public record RoverInput(int x, int y, String direction) {
+}
@@ -0,0 +1,98 @@
+package com.asosa.marsrover.adapters.metrics;
+
+import com.asosa.marsrover.adapters.graphql.MissionRegistry;
+import com.asosa.marsrover.core.domain.MoveResult;
+import com.asosa.marsrover.core.domain.SimulationMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link SimulationMetrics} of the process to Micrometer, and so to the actuator
+ * {@code metrics} endpoint.
+ * <p>
+ * Counters are read from the domain when the registry is scraped, so the hot path never touches
+ * Micrometer. Only tick latencies and pipeline batch sizes are pushed, into a timer with a
+ * percentile histogram and a distribution summary.
+ */
+@Component
+public class SimulationMetricsBinder implements MeterBinder {
+
+    private final SimulationMetrics metrics = SimulationMetrics.global();
+    private final MissionRegistry missions;
+
+    public SimulationMetricsBinder(MissionRegistry missions) {
+        this.missions = missions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("marsrover.commands.executed", metrics, SimulationMetrics::getCommandsExecuted)
+                .description("Rover commands executed")
+                .baseUnit("commands")
+                .register(registry);
+        bindBlockedMoves(registry, MoveResult.BOUNDARY, "boundary");
+        bindBlockedMoves(registry, MoveResult.OBSTACLE, "obstacle");
+        bindBlockedMoves(registry, MoveResult.ROVER, "rover");
+        FunctionCounter.builder("marsrover.placement.retries", metrics, SimulationMetrics::getPlacementRetries)
+                .description("Cells skipped while placing a rover, because a rover or an obstacle was on them")
+                .register(registry);
+
+        Timer ticks = Timer.builder("marsrover.tick.latency")
+                .description("Latency of one fleet tick")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        metrics.setTickRecorder(nanos -> ticks.record(nanos, TimeUnit.NANOSECONDS));
+        bindPipelines(registry);
+
+        Gauge.builder("marsrover.fleet.size", missions, MissionRegistry::getFleetSize)
+                .description("Rovers deployed across all the missions")
+                .baseUnit("rovers")
+                .register(registry);
+        Gauge.builder("marsrover.missions", missions, m -> m.findAll().size())
+                .description("Missions in progress")
+                .register(registry);
+    }
+
+    private void bindPipelines(MeterRegistry registry) {
+        Gauge.builder("marsrover.pipeline.queue.depth", metrics, SimulationMetrics::getPipelineQueueDepth)
+                .description("Commands waiting in the command pipelines")
+                .baseUnit("commands")
+                .register(registry);
+        FunctionCounter.builder("marsrover.pipeline.batches", metrics, SimulationMetrics::getPipelineBatches)
+                .description("Batches applied by the command pipelines")
+                .register(registry);
+        FunctionCounter.builder("marsrover.pipeline.commands", metrics, SimulationMetrics::getPipelineCommands)
+                .description("Commands applied by the command pipelines")
+                .baseUnit("commands")
+                .register(registry);
+        FunctionCounter.builder("marsrover.pipeline.commands.dropped", metrics, SimulationMetrics::getPipelineCommandsDropped)
+                .description("Commands dropped by the command pipelines, for an unknown rover or a failed program")
+                .baseUnit("commands")
+                .register(registry);
+        FunctionCounter.builder("marsrover.pipeline.failures", metrics, SimulationMetrics::getPipelineFailures)
+                .description("Failures caught by the command pipelines")
+                .register(registry);
+
+        DistributionSummary batches = DistributionSummary.builder("marsrover.pipeline.batch.size")
+                .description("Commands per batch applied by a command pipeline")
+                .baseUnit("commands")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        metrics.setBatchRecorder(batches::record);
+    }
+
+    private void bindBlockedMoves(MeterRegistry registry, MoveResult reason, String tag) {
+        FunctionCounter.builder("marsrover.moves.blocked", metrics, m -> m.getMovesBlocked(reason))
+                .description("Moves that left the rover in place")
+                .tag("reason", tag)
+                .register(registry);
+    }
+}
@@ -0,0 +1,152 @@
+package com.asosa.marsrover.adapters.rest;
+
+import com.asosa.marsrover.adapters.file.MissionFileParser;
+import com.asosa.marsrover.adapters.file.MissionFileRunner;
+import com.asosa.marsrover.adapters.file.MissionResultWriter;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest.PlatformDimensions;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest.RoverProgram;
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs whole missions in a single request, so that a fleet is driven with one round trip instead
+ * of one request per command.
+ * <p>
+ * A mission is posted either in the classic text format or as JSON. Rovers run one after the other
+ * and block each other, exactly like {@code run-mission-file}, and their results are streamed back
+ * as soon as they are encoded rather than once the whole mission is done. Both the request and the
+ * response are handled with blocking I/O on the request thread, which is meant to be a virtual
+ * thread.
+ * <p>
+ * If the mission fails part way, the results of the rovers that completed are followed by the
+ * error. The status is 400 unless results had to be sent already.
+ */
+@RestController
+@RequestMapping("/missions")
+public class MissionController {
+
+    /**
+     * Runs a mission in the classic text format, reading it as it arrives, and answers with one
+     * {@code x y D} line per rover. A failure is reported with a final {@code ERROR: message} line.
+     *
+     * @param allowWrapAround Whether rovers wrap around the edges of the plateau.
+     * @param body            The mission.
+     * @param response        The response the results are streamed to.
+     * @throws IOException If the request cannot be read or the response cannot be written.
+     */
+    @PostMapping(path = "/run", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public void runText(@RequestParam(name = "wrap", defaultValue = "false") boolean allowWrapAround,
+                        InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+        MissionResultWriter writer = new MissionResultWriter(output);
+        try {
+            MissionFileParser.parse(Channels.newChannel(body), new MissionFileRunner(allowWrapAround, writer));
+            writer.flush();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rejectIfNothingSent(response);
+            writer.flush();
+            byte[] error = ("ERROR: " + e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+            output.write(ByteBuffer.wrap(error));
+        }
+    }
+
+    /**
+     * Runs a mission described as JSON and answers with the final state of every rover, in the
+     * order of the request.
+     *
+     * @param request  The mission.
+     * @param response The response the results are streamed to.
+     * @throws IOException If the response cannot be written.
+     */
+    @PostMapping(path = "/run", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public void runJson(@RequestBody RunMissionRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        MissionResultJsonWriter writer = new MissionResultJsonWriter(Channels.newChannel(response.getOutputStream()));
+        try {
+            run(request, new MissionFileRunner(request.isAllowWrapAround(), writer));
+            writer.finish();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            rejectIfNothingSent(response);
+            writer.finish(e.getMessage());
+        }
+    }
+
+    /**
+     * Feeds a JSON mission to a runner, the same way the parser feeds a mission file.
+     *
+     * @param request The mission.
+     * @param runner  The runner.
+     * @throws IllegalArgumentException If the mission is invalid.
+     * @throws IllegalStateException    If a rover is placed on an occupied cell.
+     */
+    void run(RunMissionRequest request, MissionFileRunner runner) {
+        PlatformDimensions platform = request.getPlatform();
+        if (platform == null || platform.getWidth() <= 0 || platform.getHeight() <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero.");
+        }
+        List<RoverProgram> rovers = request.getRovers() == null ? List.of() : request.getRovers();
+        runner.plateau(platform.getWidth() - 1, platform.getHeight() - 1);
+
+        byte[] commands = new byte[64];
+        for (int index = 0; index < rovers.size(); index++) {
+            RoverProgram rover = rovers.get(index);
+            String program = rover.getCommands() == null ? "" : rover.getCommands();
+            if (commands.length < program.length()) {
+                commands = new byte[Math.max(program.length(), commands.length << 1)];
+            }
+            Direction direction;
+            try {
+                direction = Direction.fromCode(rover.getDirection());
+                encode(program, commands);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rover " + (index + 1) + ": " + e.getMessage(), e);
+            }
+            try {
+                runner.rover(index, rover.getX(), rover.getY(), direction);
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("Rover " + (index + 1) + ": " + e.getMessage(), e);
+            }
+            runner.commands(index, commands, 0, program.length());
+            runner.roverEnd(index);
+        }
+    }
+
+    /**
+     * Copies a command program into a byte buffer, checking every command.
+     */
+    private static void encode(String program, byte[] commands) {
+        for (int i = 0; i < program.length(); i++) {
+            char code = program.charAt(i);
+            if (code != 'M' && code != 'L' && code != 'R') {
+                Command.fromCode(code); // Throws with the invalid code
+            }
+            commands[i] = (byte) code;
+        }
+    }
+
+    /**
+     * Turns the response into a bad request, unless part of it has been sent already.
+     */
+    private static void rejectIfNothingSent(HttpServletResponse response) {
+        if (!response.isCommitted()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+    }
+}
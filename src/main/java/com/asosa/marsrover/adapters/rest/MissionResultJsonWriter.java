@@ -0,0 +1,174 @@
+package com.asosa.marsrover.adapters.rest;
+
+import com.asosa.marsrover.adapters.file.MissionResultListener;
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.core.domain.Rover;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the final state of rovers to a channel as a JSON document of the form
+ * {@code {"rovers":[{"x":1,"y":3,"direction":"N","obstructed":false}, ...]}}, followed by an
+ * {@code "error"} member when the mission failed part way. Entries are encoded straight into a large
+ * direct buffer, which is only written to the channel when it fills up or when the document is
+ * finished, so results stream out without building the whole response in memory.
+ */
+public class MissionResultJsonWriter implements MissionResultListener {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_ENTRY = 72; // Two ten-digit coordinates, a direction, a flag and the member names
+
+    private static final byte[] START = "{\"rovers\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] X = "{\"x\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] Y = ",\"y\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIRECTION = ",\"direction\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OBSTRUCTED = "\",\"obstructed\":true}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR = "\",\"obstructed\":false}".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR = "],\"error\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[10];
+    private long count;
+
+    /**
+     * Creates a writer for the given channel. The channel is not closed by the writer.
+     *
+     * @param channel The output channel.
+     */
+    public MissionResultJsonWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer.put(START);
+    }
+
+    /**
+     * Appends the entry of a rover.
+     *
+     * @param rover      The rover.
+     * @param obstructed True if the rover stopped in front of an obstacle or another rover.
+     * @throws UncheckedIOException If the buffer had to be written and the channel failed.
+     */
+    @Override
+    public void roverFinished(Rover rover, boolean obstructed) {
+        try {
+            write(rover, obstructed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the entry of a rover.
+     *
+     * @param rover      The rover.
+     * @param obstructed True if the rover stopped in front of an obstacle or another rover.
+     * @throws IOException If the buffer had to be written and the channel failed.
+     */
+    public void write(Rover rover, boolean obstructed) throws IOException {
+        if (buffer.remaining() < MAX_ENTRY) {
+            drain();
+        }
+        if (count > 0) {
+            buffer.put((byte) ',');
+        }
+        Position position = rover.getPosition();
+        buffer.put(X);
+        putNumber(position.getX());
+        buffer.put(Y);
+        putNumber(position.getY());
+        buffer.put(DIRECTION);
+        buffer.put((byte) rover.getDirection().getCode().charAt(0));
+        buffer.put(obstructed ? OBSTRUCTED : CLEAR);
+        count++;
+    }
+
+    /**
+     * Closes the document and writes everything still buffered to the channel.
+     *
+     * @throws IOException If the channel fails.
+     */
+    public void finish() throws IOException {
+        if (buffer.remaining() < 2) {
+            drain();
+        }
+        buffer.put((byte) ']').put((byte) '}');
+        drain();
+    }
+
+    /**
+     * Closes the document with an error message after the entries written so far, and writes
+     * everything still buffered to the channel.
+     *
+     * @param message The error message.
+     * @throws IOException If the channel fails.
+     */
+    public void finish(String message) throws IOException {
+        byte[] error = escape(message).getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < ERROR.length + error.length + 2) {
+            drain();
+        }
+        if (buffer.remaining() < ERROR.length + error.length + 2) {
+            error = "Mission failed".getBytes(StandardCharsets.US_ASCII);
+        }
+        buffer.put(ERROR).put(error).put((byte) '"').put((byte) '}');
+        drain();
+    }
+
+    /**
+     * Gets the number of entries written so far, including the buffered ones.
+     *
+     * @return The number of rovers written.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void putNumber(int value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        long remaining = Math.abs((long) value);
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    private static String escape(String message) {
+        if (message == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(message.length() + 8);
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
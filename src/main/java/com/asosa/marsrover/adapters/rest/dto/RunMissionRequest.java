@@ -0,0 +1,103 @@
+package com.asosa.marsrover.adapters.rest.dto;
+
+import java.util.List;
+
+/**
+ * DTO representing a batch of command programs to run on a new plateau.
+ */
+public class RunMissionRequest {
+
+    private PlatformDimensions platform;
+    private List<RoverProgram> rovers;
+    private boolean allowWrapAround;
+
+    public PlatformDimensions getPlatform() {
+        return platform;
+    }
+
+    public void setPlatform(PlatformDimensions platform) {
+        this.platform = platform;
+    }
+
+    public List<RoverProgram> getRovers() {
+        return rovers;
+    }
+
+    public void setRovers(List<RoverProgram> rovers) {
+        this.rovers = rovers;
+    }
+
+    public boolean isAllowWrapAround() {
+        return allowWrapAround;
+    }
+
+    public void setAllowWrapAround(boolean allowWrapAround) {
+        this.allowWrapAround = allowWrapAround;
+    }
+
+    /**
+     * Represents the platform dimensions (width and height).
+     */
+    public static class PlatformDimensions {
+        private int width;
+        private int height;
+
+        public int getWidth() {
+            return width;
+        }
+
+        public void setWidth(int width) {
+            this.width = width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public void setHeight(int height) {
+            this.height = height;
+        }
+    }
+
+    /**
+     * Represents a rover with its initial state and the whole program it runs.
+     */
+    public static class RoverProgram {
+        private int x;
+        private int y;
+        private String direction;
+        private String commands;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public void setY(int y) {
+            this.y = y;
+        }
+
+        public String getDirection() {
+            return direction;
+        }
+
+        public void setDirection(String direction) {
+            this.direction = direction;
+        }
+
+        public String getCommands() {
+            return commands;
+        }
+
+        public void setCommands(String commands) {
+            this.commands = commands;
+        }
+    }
+}
@@ -8,6 +8,14 @@ public enum Command {
     LEFT("L"),  // Command to turn left
     RIGHT("R"); // Command to turn right
 
+    private static final Command[] BY_CODE = new Command[128];
+
+    static {
+        for (Command command : values()) {
+            BY_CODE[command.code.charAt(0)] = command;
+        }
+    }
+
     private final String code;
 
     /**
@@ -33,13 +41,37 @@ public enum Command {
      * @throws IllegalArgumentException If the code is not valid.
      */
     public static Command fromCode(String code) {
-        for (Command command : values()) {
-            if (command.code.equals(code)) {
+        if (code != null && code.length() == 1) {
+            Command command = lookup(code.charAt(0));
+            if (command != null) {
                 return command;
             }
         }
         throw new IllegalArgumentException("Invalid command code: " + code);
     }
+
+    /**
+     * Converts a single character code into a Command using a lookup table.
+     * @param code The character representation of the command.
+     * @return The corresponding Command enum.
+     * @throws IllegalArgumentException If the code is not valid.
+     */
+    public static Command fromCode(char code) {
+        Command command = lookup(code);
+        if (command == null) {
+            throw new IllegalArgumentException("Invalid command code: " + code);
+        }
+        return command;
+    }
+
+    /**
+     * Looks a character code up in the command table.
+     * @param code The character representation of the command.
+     * @return The corresponding Command enum, or null if the code is not valid.
+     */
+    private static Command lookup(char code) {
+        return code < BY_CODE.length ? BY_CODE[code] : null;
+    }
 }
 
 
@@ -0,0 +1,54 @@
+package com.asosa.marsrover.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates compact numeric ids for simulations, where millions of short-lived entities need
+ * unique ids but nothing outside the run refers to them.
+ * <p>
+ * Each thread takes ranges of ids from a shared counter and hands them out one by one, so the
+ * counter is only touched once per {@value #RANGE} ids. A single thread gets consecutive ids
+ * starting at 1; with several threads the ids are unique and increase within each thread.
+ */
+public final class SequentialIdGenerator implements UUIDGenerator {
+
+    private static final int RANGE = 1024;
+
+    private final String prefix;
+    private final AtomicLong ranges = new AtomicLong();
+    private final ThreadLocal<long[]> current = ThreadLocal.withInitial(() -> new long[2]); // Next id, end of range
+
+    /**
+     * Creates a generator of plain numeric ids.
+     */
+    public SequentialIdGenerator() {
+        this("");
+    }
+
+    /**
+     * Creates a generator of numeric ids with a prefix, such as {@code "rover-"}.
+     * @param prefix The prefix of every id.
+     */
+    public SequentialIdGenerator(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Generates the next id as a number.
+     * @return The id, starting at 1.
+     */
+    public long nextId() {
+        long[] range = current.get();
+        if (range[0] == range[1]) {
+            long start = ranges.getAndIncrement() * RANGE + 1;
+            range[0] = start;
+            range[1] = start + RANGE;
+        }
+        return range[0]++;
+    }
+
+    @Override
+    public String generate() {
+        return prefix.isEmpty() ? Long.toString(nextId()) : prefix + nextId();
+    }
+}
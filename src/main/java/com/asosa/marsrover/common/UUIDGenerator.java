@@ -9,4 +9,13 @@ public interface UUIDGenerator {
      * @return A string representation of the UUID.
      */
     String generate();
-}
\ No newline at end of file
+
+    /**
+     * Gets the generator used by the domain when none is given: time-ordered UUIDv7 values drawn
+     * from a thread-local random source, so creating ids never contends on a lock.
+     * @return The default generator.
+     */
+    static UUIDGenerator defaultGenerator() {
+        return TimeOrderedUUIDGenerator.INSTANCE;
+    }
+}
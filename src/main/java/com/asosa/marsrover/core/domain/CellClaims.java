@@ -0,0 +1,118 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free table collecting the rovers that want to move onto each cell during a tick.
+ * <p>
+ * Cells are inserted with a compare-and-set on the key array and the claiming slots are combined
+ * with an atomic minimum, so whatever the thread interleaving, every cell ends up owned by the
+ * lowest slot that targeted it.
+ */
+final class CellClaims {
+
+    private static final long EMPTY = Platform.BLOCKED;
+    private static final int UNCLAIMED = Integer.MAX_VALUE;
+
+    private final AtomicLongArray keys;
+    private final AtomicIntegerArray slots;
+    private final int mask;
+
+    /**
+     * Creates a table able to hold the given number of claimed cells.
+     *
+     * @param maxClaims The maximum number of distinct cells claimed per tick.
+     */
+    CellClaims(int maxClaims) {
+        int capacity = Integer.highestOneBit(Math.max(maxClaims, 8) * 2 - 1) << 1;
+        this.keys = new AtomicLongArray(capacity);
+        this.slots = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+        reset(0, capacity);
+    }
+
+    /**
+     * Gets the number of buckets, for callers that reset the table in ranges.
+     *
+     * @return The number of buckets.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Checks whether the table can take the given number of claims.
+     *
+     * @param claims The number of claims.
+     * @return True if the table is large enough; false otherwise.
+     */
+    boolean fits(int claims) {
+        return (long) claims * 2 <= capacity();
+    }
+
+    /**
+     * Empties a range of buckets. Ranges may be reset concurrently.
+     *
+     * @param from The first bucket, inclusive.
+     * @param to   The last bucket, exclusive.
+     */
+    void reset(int from, int to) {
+        for (int i = from; i < to; i++) {
+            keys.setPlain(i, EMPTY);
+            slots.setPlain(i, UNCLAIMED);
+        }
+    }
+
+    /**
+     * Registers a slot's claim on a cell. Safe to call from several threads at once.
+     *
+     * @param cell The packed target cell.
+     * @param slot The slot of the claiming rover.
+     */
+    void claim(long cell, int slot) {
+        int index = hash(cell) & mask;
+        while (true) {
+            long key = keys.get(index);
+            if (key == EMPTY) {
+                if (keys.compareAndSet(index, EMPTY, cell)) {
+                    break;
+                }
+                key = keys.get(index);
+            }
+            if (key == cell) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        int current = slots.get(index);
+        while (slot < current && !slots.compareAndSet(index, current, slot)) {
+            current = slots.get(index);
+        }
+    }
+
+    /**
+     * Gets the slot that won a cell.
+     *
+     * @param cell The packed target cell.
+     * @return The lowest slot that claimed the cell, or {@link Integer#MAX_VALUE} if nobody did.
+     */
+    int winner(long cell) {
+        int index = hash(cell) & mask;
+        while (true) {
+            long key = keys.get(index);
+            if (key == cell) {
+                return slots.get(index);
+            }
+            if (key == EMPTY) {
+                return UNCLAIMED;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int hash(long cell) {
+        long h = cell * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
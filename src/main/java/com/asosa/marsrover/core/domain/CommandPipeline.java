@@ -0,0 +1,231 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * High-rate ingestion of rover commands in front of a {@link MissionControl}.
+ * <p>
+ * Any number of producer threads submit (rover index, command) pairs into a bounded lock-free ring
+ * buffer. A single applier thread drains the buffer in batches, groups every batch by rover and
+ * runs each rover's share as one program through {@link MissionControl#runProgram}, so the
+ * per-command cost is a few array writes rather than a call through the mission control. Every
+ * batch then ends a tick, so the tick listeners see the rovers it moved or turned.
+ * <p>
+ * Commands to one rover are applied in submission order. Within a batch, the commands of
+ * different rovers are applied rover by rover, in rover order, rather than interleaved. While
+ * the pipeline is open, the applier thread is the only one allowed to use the mission control.
+ * <p>
+ * A rover program or tick listener that throws does not stop the applier: the failure is counted
+ * in the {@link #metrics() metrics} and kept as the {@link #getLastFailure() last failure}. If the
+ * applier thread dies anyway, the pipeline closes, so producers get an exception rather than
+ * waiting for it forever.
+ * <p>
+ * Besides its own {@link #metrics() metrics}, the pipeline adds its batches, commands and failures
+ * to the {@link SimulationMetrics#global() process metrics}, and its queue depth while it is open.
+ */
+public class CommandPipeline implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final SimulationMetrics METRICS = SimulationMetrics.global();
+
+    private final MissionControl missionControl;
+    private final MpscRingBuffer ring;
+    private final int maxBatch;
+    private final Thread applier;
+    private final AtomicInteger activeProducers = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Metrics, only written by the applier thread
+    private volatile long batches;
+    private volatile long commands;
+    private volatile long rejected;
+    private volatile long failures;
+    private volatile Throwable lastFailure;
+    private volatile int lastBatchSize;
+    private volatile int maxBatchSize;
+    private volatile long lastApplyNanos;
+    private volatile long maxApplyNanos;
+    private volatile long totalApplyNanos;
+
+    /**
+     * Creates a pipeline and starts its applier thread.
+     *
+     * @param missionControl The mission control whose rovers receive the commands.
+     * @param capacity       The number of commands the ring buffer can hold.
+     * @param maxBatch       The maximum number of commands applied per batch.
+     * @throws IllegalArgumentException If the capacity or the batch size is not positive.
+     */
+    public CommandPipeline(MissionControl missionControl, int capacity, int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.missionControl = missionControl;
+        this.ring = new MpscRingBuffer(capacity);
+        this.maxBatch = maxBatch;
+        METRICS.pipelineOpened(this);
+        this.applier = Thread.ofPlatform().name("command-pipeline-" + missionControl.getUuid()).start(this::applyLoop);
+    }
+
+    /**
+     * Submits a command without waiting. Safe to call from several threads at once.
+     *
+     * @param index   The index of the rover in the mission control.
+     * @param command The command.
+     * @return True if the command was queued; false if the ring buffer is full.
+     * @throws IndexOutOfBoundsException If the rover index is negative.
+     * @throws IllegalStateException     If the pipeline is closed.
+     */
+    public boolean offer(int index, Command command) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Rover index out of bounds");
+        }
+        long entry = ((long) index << 8) | command.getCode().charAt(0);
+        activeProducers.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Pipeline closed");
+            }
+            return ring.offer(entry);
+        } finally {
+            activeProducers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Submits a command, spinning while the ring buffer is full.
+     *
+     * @param index   The index of the rover in the mission control.
+     * @param command The command.
+     * @throws IndexOutOfBoundsException If the rover index is negative.
+     * @throws IllegalStateException     If the pipeline is closed.
+     */
+    public void submit(int index, Command command) {
+        while (!offer(index, command)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Gets the current metrics of the pipeline.
+     *
+     * @return The metrics.
+     */
+    public PipelineMetrics metrics() {
+        return new PipelineMetrics(ring.size(), batches, commands, rejected, failures, lastBatchSize, maxBatchSize,
+                lastApplyNanos, maxApplyNanos, totalApplyNanos);
+    }
+
+    /**
+     * Gets the number of commands waiting in the ring buffer.
+     *
+     * @return The queue depth.
+     */
+    public int queueDepth() {
+        return ring.size();
+    }
+
+    /**
+     * Gets the last failure caught by the applier thread.
+     *
+     * @return The failure, or null if nothing failed.
+     */
+    public Throwable getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Stops accepting commands, applies every command already queued and stops the applier thread.
+     *
+     * @throws InterruptedException If interrupted while waiting for the applier.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(applier);
+        applier.join();
+    }
+
+    private void applyLoop() {
+        long[] batch = new long[maxBatch];
+        long[] keys = new long[maxBatch];
+        byte[] program = new byte[maxBatch];
+        try {
+            while (true) {
+                int count = ring.drain(batch, maxBatch);
+                if (count > 0) {
+                    apply(batch, keys, program, count);
+                } else if (closed && activeProducers.get() == 0 && ring.size() == 0) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (Throwable t) {
+            lastFailure = t;
+            throw t;
+        } finally {
+            closed = true;
+            METRICS.pipelineClosed(this);
+        }
+    }
+
+    /**
+     * Groups a batch by rover, keeping the submission order of each rover's commands, and runs
+     * each group as one program.
+     */
+    private void apply(long[] batch, long[] keys, byte[] program, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((batch[i] >>> 8) << 32) | i;
+        }
+        Arrays.sort(keys, 0, count);
+
+        int fleetSize = missionControl.getFleetSize();
+        long dropped = 0;
+        for (int i = 0; i < count; ) {
+            long rover = keys[i] >>> 32;
+            int length = 0;
+            for (; i < count && keys[i] >>> 32 == rover; i++) {
+                program[length++] = (byte) batch[(int) keys[i]];
+            }
+            if (rover >= fleetSize) {
+                dropped += length;
+                continue;
+            }
+            try {
+                missionControl.runProgram((int) rover, program, 0, length);
+            } catch (RuntimeException e) {
+                dropped += length;
+                failed(e);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        batches++;
+        commands += count - dropped;
+        rejected += dropped;
+        lastBatchSize = count;
+        maxBatchSize = Math.max(maxBatchSize, count);
+        lastApplyNanos = elapsed;
+        maxApplyNanos = Math.max(maxApplyNanos, elapsed);
+        totalApplyNanos += elapsed;
+        METRICS.batchApplied(count, dropped);
+
+        try {
+            missionControl.endTick();
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void failed(RuntimeException e) {
+        failures++;
+        lastFailure = e;
+        METRICS.pipelineFailed();
+    }
+}
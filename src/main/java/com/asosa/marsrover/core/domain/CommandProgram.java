@@ -0,0 +1,241 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A command program compiled once so it can be repeated cheaply.
+ * <p>
+ * The commands are grouped into segments, each made of a run of turns collapsed into a single
+ * rotation followed by a run of moves, so {@code "LLRLMMMMR"} becomes a half turn with four moves
+ * and a quarter turn with none. A straight run is executed as one ray-cast against the platform
+ * rather than one move at a time.
+ * <p>
+ * For each starting heading the program is also traced on an empty, unbounded plane, giving the
+ * net displacement of one pass and the bounding box of the cells it visits relative to the
+ * starting cell. The net rotation does not depend on the starting heading. Whenever no step of a
+ * pass can be blocked, the pass is a pure translation plus rotation and can be applied without
+ * replaying its segments.
+ */
+public final class CommandProgram {
+
+    private static final int CACHE_SIZE = 1024;
+
+    // Patrol routes are shared by many rovers, so compiled programs are kept in a small LRU
+    private static final Map<String, CommandProgram> CACHE = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CommandProgram> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String source;
+    private final int length;
+    private final byte[] turns;
+    private final int[] steps;
+    private final int rotation;
+    private final long[] deltaX = new long[4];
+    private final long[] deltaY = new long[4];
+    private final long[] minX = new long[4];
+    private final long[] minY = new long[4];
+    private final long[] maxX = new long[4];
+    private final long[] maxY = new long[4];
+
+    private CommandProgram(String source, byte[] turns, int[] steps, int segments) {
+        this.source = source;
+        this.length = source.length();
+        this.turns = Arrays.copyOf(turns, segments);
+        this.steps = Arrays.copyOf(steps, segments);
+        int rotation = 0;
+        for (byte turn : this.turns) {
+            rotation += turn;
+        }
+        this.rotation = rotation & 3;
+        for (int start = 0; start < 4; start++) {
+            trace(start);
+        }
+    }
+
+    /**
+     * Compiles a command program such as {@code "MMRMMLM"}.
+     *
+     * @param program The command program.
+     * @return The compiled program.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     */
+    public static CommandProgram compile(CharSequence program) {
+        int length = program.length();
+        byte[] turns = new byte[length + 1];
+        int[] steps = new int[length + 1];
+        int segments = 0;
+        int turn = 0;
+        int moves = 0;
+        for (int i = 0; i < length; i++) {
+            char code = program.charAt(i);
+            switch (code) {
+                case 'M' -> moves++;
+                case 'L', 'R' -> {
+                    if (moves > 0) {
+                        turns[segments] = (byte) turn;
+                        steps[segments++] = moves;
+                        turn = 0;
+                        moves = 0;
+                    }
+                    turn = (turn + (code == 'L' ? 3 : 1)) & 3;
+                }
+                default -> Command.fromCode(code); // Throws with the invalid code
+            }
+        }
+        if (moves > 0 || turn != 0) {
+            turns[segments] = (byte) turn;
+            steps[segments++] = moves;
+        }
+        return new CommandProgram(program.toString(), turns, steps, segments);
+    }
+
+    /**
+     * Gets the compiled form of a program, compiling it only if it is not in the cache already.
+     *
+     * @param program The command program.
+     * @return The compiled program.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     */
+    public static CommandProgram of(String program) {
+        synchronized (CACHE) {
+            CommandProgram compiled = CACHE.get(program);
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        CommandProgram compiled = compile(program);
+        synchronized (CACHE) {
+            CACHE.putIfAbsent(program, compiled);
+        }
+        return compiled;
+    }
+
+    private void trace(int start) {
+        long x = 0;
+        long y = 0;
+        long lowX = 0;
+        long lowY = 0;
+        long highX = 0;
+        long highY = 0;
+        int heading = start;
+        for (int i = 0; i < turns.length; i++) {
+            heading = (heading + turns[i]) & 3;
+            x += (long) Headings.DX[heading] * steps[i];
+            y += (long) Headings.DY[heading] * steps[i];
+            lowX = Math.min(lowX, x);
+            lowY = Math.min(lowY, y);
+            highX = Math.max(highX, x);
+            highY = Math.max(highY, y);
+        }
+        deltaX[start] = x;
+        deltaY[start] = y;
+        minX[start] = lowX;
+        minY[start] = lowY;
+        maxX[start] = highX;
+        maxY[start] = highY;
+    }
+
+    /**
+     * Gets the number of commands in one pass.
+     *
+     * @return The program length.
+     */
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Gets the number of segments, each being a rotation followed by a straight run.
+     *
+     * @return The segment count.
+     */
+    int segments() {
+        return turns.length;
+    }
+
+    /**
+     * Gets the rotation that starts a segment, in clockwise quarter turns.
+     *
+     * @param segment The segment index.
+     * @return The rotation, from 0 to 3.
+     */
+    int turn(int segment) {
+        return turns[segment];
+    }
+
+    /**
+     * Gets the number of moves of a segment's straight run.
+     *
+     * @param segment The segment index.
+     * @return The number of moves, possibly zero for trailing turns.
+     */
+    int steps(int segment) {
+        return steps[segment];
+    }
+
+    /**
+     * Gets the heading a rover ends a pass with.
+     *
+     * @param heading The heading ordinal at the start of the pass.
+     * @return The heading ordinal at the end of the pass.
+     */
+    int headingAfter(int heading) {
+        return (heading + rotation) & 3;
+    }
+
+    /**
+     * Gets the heading a rover ends the given number of passes with.
+     *
+     * @param heading  The heading ordinal at the start of the first pass.
+     * @param passes   The number of passes.
+     * @return The heading ordinal at the end of the last pass.
+     */
+    int headingAfter(int heading, long passes) {
+        return (int) ((heading + rotation * (passes & 3)) & 3);
+    }
+
+    /**
+     * Gets the number of passes after which the heading comes back to its start: 1, 2 or 4.
+     *
+     * @return The rotation period.
+     */
+    int period() {
+        return rotation == 0 ? 1 : rotation == 2 ? 2 : 4;
+    }
+
+    long deltaX(int heading) {
+        return deltaX[heading];
+    }
+
+    long deltaY(int heading) {
+        return deltaY[heading];
+    }
+
+    long minX(int heading) {
+        return minX[heading];
+    }
+
+    long minY(int heading) {
+        return minY[heading];
+    }
+
+    long maxX(int heading) {
+        return maxX[heading];
+    }
+
+    long maxY(int heading) {
+        return maxY[heading];
+    }
+}
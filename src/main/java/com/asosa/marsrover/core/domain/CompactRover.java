@@ -0,0 +1,145 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.UUIDGenerator;
+
+import java.util.Arrays;
+
+/**
+ * Rover keeping its state in primitive fields: the coordinates as ints and the heading as a
+ * 0..3 ordinal (see {@link Headings}).
+ * <p>
+ * Moving and turning never allocate; {@link Position} objects are only created when the position
+ * is requested. Moves follow the same rules as {@link Rover#move()}.
+ */
+public class CompactRover implements RoverControl {
+    private final String uuid;
+    private final Platform platform;
+    private int x;
+    private int y;
+    private int heading;
+
+    /**
+     * Constructs a new CompactRover with the specified position, direction, and platform.
+     *
+     * @param x         The initial X-coordinate.
+     * @param y         The initial Y-coordinate.
+     * @param direction The initial direction.
+     * @param platform  The platform on which the rover operates.
+     * @throws IllegalArgumentException If the direction or the platform is missing.
+     */
+    public CompactRover(int x, int y, Direction direction, Platform platform) {
+        this(x, y, direction, platform, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Constructs a new CompactRover whose UUID is taken from the given generator.
+     *
+     * @param x             The initial X-coordinate.
+     * @param y             The initial Y-coordinate.
+     * @param direction     The initial direction.
+     * @param platform      The platform on which the rover operates.
+     * @param uuidGenerator The generator of the rover's UUID.
+     * @throws IllegalArgumentException If the direction or the platform is missing.
+     */
+    public CompactRover(int x, int y, Direction direction, Platform platform, UUIDGenerator uuidGenerator) {
+        if (direction == null) {
+            throw new IllegalArgumentException("Invalid direction");
+        }
+        if (platform == null) {
+            throw new IllegalArgumentException("Invalid platform");
+        }
+        this.uuid = uuidGenerator.generate();
+        this.x = x;
+        this.y = y;
+        this.heading = direction.ordinal();
+        this.platform = platform;
+    }
+
+    @Override
+    public String getUuid() {
+        return uuid;
+    }
+
+    @Override
+    public MoveResult move() {
+        long next = platform.nextCell(x, y, heading);
+        if (next == Platform.BLOCKED) {
+            return platform.blockedBy(x, y, heading);
+        }
+        int nextX = Platform.cellX(next);
+        int nextY = Platform.cellY(next);
+        // Compact rovers are never deployed and hold no claim, so only the target cell is checked
+        if (platform.isPositionOccupied(nextX, nextY)) {
+            return MoveResult.ROVER;
+        }
+        x = nextX;
+        y = nextY;
+        return MoveResult.MOVED;
+    }
+
+    @Override
+    public void turnLeft() {
+        heading = Headings.left(heading);
+    }
+
+    @Override
+    public void turnRight() {
+        heading = Headings.right(heading);
+    }
+
+    /**
+     * Gets the current position of the rover. A new Position is created on every call.
+     *
+     * @return The current position.
+     */
+    @Override
+    public Position getPosition() {
+        return new Position(x, y);
+    }
+
+    @Override
+    public Direction getDirection() {
+        return Headings.DIRECTIONS[heading];
+    }
+
+    /**
+     * Replaces the obstacles of the platform the rover operates on.
+     *
+     * @param obstacles A list of positions representing obstacles.
+     */
+    @Override
+    public void setObstacles(Position[] obstacles) {
+        platform.setObstacles(Arrays.asList(obstacles));
+    }
+
+    @Override
+    public void executeCommand(Command command) {
+        switch (command) {
+            case MOVE -> move();
+            case LEFT -> turnLeft();
+            case RIGHT -> turnRight();
+            default -> throw new IllegalArgumentException("Invalid command");
+        }
+    }
+
+    /**
+     * Gets the X-coordinate without creating a Position.
+     *
+     * @return The X-coordinate.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the Y-coordinate without creating a Position.
+     *
+     * @return The Y-coordinate.
+     */
+    public int getY() {
+        return y;
+    }
+}
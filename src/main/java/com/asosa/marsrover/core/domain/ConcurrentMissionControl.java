@@ -0,0 +1,438 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.UUIDGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe mission control for rovers driven by several clients at once.
+ * <p>
+ * Rovers are guarded by striped locks, so commands to rovers on different stripes run in parallel
+ * while the commands to one rover are applied one at a time. Cells are claimed with a
+ * compare-and-set on a packed occupancy array owned by this mission: a rover claims its target
+ * cell before it leaves its current one, so no two rovers can ever stand on the same cell, even
+ * when they race for it from different stripes.
+ * <p>
+ * Reads return immutable {@link RoverSnapshot}s. The platform only provides the dimensions, the
+ * wrap-around rule and the obstacles; rovers of this mission are not visible to
+ * {@link Platform#isPositionOccupied(int, int)}. Obstacles are changed through
+ * {@link #setObstacles(List)}, which waits for the commands in progress, rather than on the
+ * platform itself.
+ */
+public class ConcurrentMissionControl {
+    private final String uuid;
+    private final Platform platform;
+    private final ConcurrentOccupancy occupancy;
+    private final ReentrantLock[] locks;
+    private final UUIDGenerator uuidGenerator;
+    private final Map<String, Integer> slotsByUuid = new ConcurrentHashMap<>();
+    private final Object registration = new Object();
+    private volatile RoverState[] rovers = new RoverState[16];
+    private volatile int size;
+
+    /**
+     * Creates a concurrent mission control with a number of lock stripes suited to the machine.
+     *
+     * @param platform The platform on which the rovers operate.
+     */
+    public ConcurrentMissionControl(Platform platform) {
+        this(platform, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates a concurrent mission control.
+     *
+     * @param platform The platform on which the rovers operate.
+     * @param stripes  The number of locks shared by the rovers, rounded up to a power of two.
+     * @throws IllegalArgumentException If the number of stripes is not positive.
+     */
+    public ConcurrentMissionControl(Platform platform, int stripes) {
+        this(platform, stripes, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Creates a concurrent mission control whose UUID, and the UUIDs of its rovers, are taken from
+     * the given generator. The generator is called concurrently when rovers are added.
+     *
+     * @param platform      The platform on which the rovers operate.
+     * @param stripes       The number of locks shared by the rovers, rounded up to a power of two.
+     * @param uuidGenerator The generator of the UUIDs.
+     * @throws IllegalArgumentException If the number of stripes is not positive.
+     */
+    public ConcurrentMissionControl(Platform platform, int stripes, UUIDGenerator uuidGenerator) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one lock stripe is required");
+        }
+        this.uuid = uuidGenerator.generate();
+        this.uuidGenerator = uuidGenerator;
+        this.platform = platform;
+        this.occupancy = new ConcurrentOccupancy(platform.getWidth(), platform.getHeight());
+        this.locks = new ReentrantLock[Integer.highestOneBit(stripes * 2 - 1)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Gets the unique identifier for the mission control.
+     *
+     * @return The UUID of the mission control.
+     */
+    public String getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Deploys a new rover, atomically claiming its cell.
+     *
+     * @param x         The X-coordinate.
+     * @param y         The Y-coordinate.
+     * @param direction The initial direction.
+     * @return A snapshot of the deployed rover.
+     * @throws IllegalArgumentException If the direction is missing or the position is not a valid
+     *                                  cell of the platform.
+     * @throws IllegalStateException    If the position is already occupied.
+     */
+    public RoverSnapshot addRover(int x, int y, Direction direction) {
+        if (direction == null) {
+            throw new IllegalArgumentException("Invalid direction");
+        }
+        String roverUuid = uuidGenerator.generate(); // Outside the registration lock
+        synchronized (registration) {
+            if (!platform.isValidPosition(x, y)) {
+                throw new IllegalArgumentException("Invalid position");
+            }
+            int slot = size;
+            if (!occupancy.claim(x, y, slot)) {
+                throw new IllegalStateException("Position already occupied");
+            }
+            RoverState rover = new RoverState(roverUuid, slot, x, y, direction.ordinal());
+            RoverState[] current = rovers;
+            if (slot == current.length) {
+                current = Arrays.copyOf(current, slot << 1);
+            }
+            current[slot] = rover;
+            rovers = current;
+            slotsByUuid.put(rover.uuid, slot);
+            size = slot + 1;
+            return rover.snapshot();
+        }
+    }
+
+    /**
+     * Sends a command to the specified rover.
+     *
+     * @param index   The index of the rover.
+     * @param command The command to be executed by the rover.
+     * @return A snapshot of the rover after the command.
+     * @throws IndexOutOfBoundsException If the rover index is out of bounds.
+     */
+    public RoverSnapshot commandRover(int index, Command command) {
+        return execute(rover(index), command);
+    }
+
+    /**
+     * Sends a command to the rover with the given UUID.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param command   The command to be executed by the rover.
+     * @return A snapshot of the rover after the command.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public RoverSnapshot commandRover(String roverUuid, Command command) {
+        return execute(rover(roverUuid), command);
+    }
+
+    /**
+     * Executes a whole command program on the rover with the given UUID. The rover is locked for
+     * the whole program, so the commands of other clients to that rover cannot interleave with it.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param program   The command program, such as {@code "LMLMLMLMM"}.
+     * @return A snapshot of the rover after the program.
+     * @throws IllegalArgumentException If no rover has the given UUID or the program contains an
+     *                                  invalid command; the commands before it remain applied.
+     */
+    public RoverSnapshot execute(String roverUuid, CharSequence program) {
+        RoverState rover = rover(roverUuid);
+        ReentrantLock lock = lockOf(rover.slot);
+        lock.lock();
+        try {
+            for (int i = 0, length = program.length(); i < length; i++) {
+                apply(rover, Command.fromCode(program.charAt(i)));
+            }
+            return rover.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the rover with the given UUID.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The snapshot.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public RoverSnapshot getRover(String roverUuid) {
+        RoverState rover = rover(roverUuid);
+        ReentrantLock lock = lockOf(rover.slot);
+        lock.lock();
+        try {
+            return rover.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a {@link RoverControl} view of the rover with the given UUID. Every call on the view
+     * goes through this mission control, so the view can be shared between threads.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The view of the rover.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public RoverControl getRoverControl(String roverUuid) {
+        return new RoverView(rover(roverUuid));
+    }
+
+    /**
+     * Gets a consistent snapshot of every rover, taken while all lock stripes are held, so no
+     * command is halfway applied. The stripes are always acquired in the same order.
+     *
+     * @return An immutable list of snapshots in deployment order.
+     */
+    public List<RoverSnapshot> getRovers() {
+        lockAll();
+        try {
+            RoverState[] current = rovers;
+            int count = size;
+            List<RoverSnapshot> snapshots = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                snapshots.add(current[i].snapshot());
+            }
+            return List.copyOf(snapshots);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Replaces the obstacles of the platform. The change waits for the deployments and commands in
+     * progress and is seen by every command that follows. Rovers already standing on a new
+     * obstacle stay where they are.
+     *
+     * @param obstacles The new obstacles.
+     */
+    public void setObstacles(List<Position> obstacles) {
+        synchronized (registration) {
+            lockAll();
+            try {
+                platform.setObstacles(obstacles);
+            } finally {
+                unlockAll();
+            }
+        }
+    }
+
+    /**
+     * Checks if a cell is occupied by a rover of this mission.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return True if a rover stands on the cell; false otherwise.
+     */
+    public boolean isPositionOccupied(int x, int y) {
+        return occupancy.get(x, y) != OccupancyIndex.NO_SLOT;
+    }
+
+    /**
+     * Gets the number of deployed rovers.
+     *
+     * @return The number of rovers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the platform associated with the mission control.
+     *
+     * @return The platform.
+     */
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    private RoverSnapshot execute(RoverState rover, Command command) {
+        ReentrantLock lock = lockOf(rover.slot);
+        lock.lock();
+        try {
+            apply(rover, command);
+            return rover.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies one command to a rover whose stripe lock is held.
+     */
+    private void apply(RoverState rover, Command command) {
+        switch (command) {
+            case MOVE -> move(rover);
+            case LEFT -> rover.heading = Headings.left(rover.heading);
+            case RIGHT -> rover.heading = Headings.right(rover.heading);
+        }
+    }
+
+    /**
+     * Moves a rover whose stripe lock is held. The target cell is claimed before the current one
+     * is released, so a competing rover either sees the target taken or wins it first.
+     */
+    private MoveResult move(RoverState rover) {
+        long next = platform.nextCell(rover.x, rover.y, rover.heading);
+        if (next == Platform.BLOCKED) {
+            return platform.blockedBy(rover.x, rover.y, rover.heading);
+        }
+        int nextX = Platform.cellX(next);
+        int nextY = Platform.cellY(next);
+        if (nextX == rover.x && nextY == rover.y) {
+            // A step across a one-cell-wide wrapping platform lands on the rover's own cell
+            return MoveResult.MOVED;
+        }
+        if (!occupancy.claim(nextX, nextY, rover.slot)) {
+            return MoveResult.ROVER;
+        }
+        occupancy.release(rover.x, rover.y, rover.slot);
+        rover.x = nextX;
+        rover.y = nextY;
+        return MoveResult.MOVED;
+    }
+
+    private RoverState rover(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Rover index out of bounds");
+        }
+        return rovers[index];
+    }
+
+    private RoverState rover(String roverUuid) {
+        Integer slot = slotsByUuid.get(roverUuid);
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown rover: " + roverUuid);
+        }
+        return rovers[slot];
+    }
+
+    /**
+     * Acquires every lock stripe, always in the same order.
+     */
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
+    private ReentrantLock lockOf(int slot) {
+        return locks[slot & (locks.length - 1)];
+    }
+
+    /**
+     * Thread-safe {@link RoverControl} backed by the state of one rover of this mission.
+     */
+    private final class RoverView implements RoverControl {
+        private final RoverState rover;
+
+        RoverView(RoverState rover) {
+            this.rover = rover;
+        }
+
+        @Override
+        public String getUuid() {
+            return rover.uuid;
+        }
+
+        @Override
+        public MoveResult move() {
+            ReentrantLock lock = lockOf(rover.slot);
+            lock.lock();
+            try {
+                return ConcurrentMissionControl.this.move(rover);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void turnLeft() {
+            executeCommand(Command.LEFT);
+        }
+
+        @Override
+        public void turnRight() {
+            executeCommand(Command.RIGHT);
+        }
+
+        @Override
+        public Position getPosition() {
+            return getRover(rover.uuid).position();
+        }
+
+        @Override
+        public Direction getDirection() {
+            return getRover(rover.uuid).direction();
+        }
+
+        /**
+         * Replaces the obstacles of the whole mission, see {@link ConcurrentMissionControl#setObstacles(List)}.
+         */
+        @Override
+        public void setObstacles(Position[] obstacles) {
+            ConcurrentMissionControl.this.setObstacles(Arrays.asList(obstacles));
+        }
+
+        @Override
+        public void executeCommand(Command command) {
+            execute(rover, command);
+        }
+    }
+
+    /**
+     * Mutable state of one rover, only read or written while its stripe lock is held.
+     */
+    private static final class RoverState {
+        private final String uuid;
+        private final int slot;
+        private int x;
+        private int y;
+        private int heading;
+
+        RoverState(String uuid, int slot, int x, int y, int heading) {
+            this.uuid = uuid;
+            this.slot = slot;
+            this.x = x;
+            this.y = y;
+            this.heading = heading;
+        }
+
+        RoverSnapshot snapshot() {
+            return new RoverSnapshot(uuid, x, y, Headings.DIRECTIONS[heading]);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe map from the cells of a platform to the slot of the rover standing on them.
+ * <p>
+ * Each cell is one int of a packed array holding {@code slot + 1}, or 0 when the cell is free, and
+ * is only ever changed by a compare-and-set, so two rovers can never claim the same cell. The
+ * array is split into chunks of 4096 cells allocated on first use, which keeps large, sparsely
+ * populated platforms cheap.
+ */
+final class ConcurrentOccupancy {
+
+    private static final int CHUNK_SHIFT = 12; // 4096 cells per chunk
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int FREE = 0;
+
+    /**
+     * Largest platform, in cells, that can be tracked.
+     */
+    static final long MAX_CELLS = 1L << 34;
+
+    private final int width;
+    private final int height;
+    private final AtomicReferenceArray<AtomicIntegerArray> chunks;
+
+    /**
+     * Creates an occupancy map in which every cell of the platform is free.
+     *
+     * @param width  The width of the platform.
+     * @param height The height of the platform.
+     * @throws IllegalArgumentException If the platform has more than {@link #MAX_CELLS} cells.
+     */
+    ConcurrentOccupancy(int width, int height) {
+        this.width = Math.max(width, 0);
+        this.height = Math.max(height, 0);
+        long cells = (long) this.width * this.height;
+        if (cells > MAX_CELLS) {
+            throw new IllegalArgumentException("Platform too large");
+        }
+        this.chunks = new AtomicReferenceArray<>((int) ((cells + CHUNK_MASK) >>> CHUNK_SHIFT));
+    }
+
+    /**
+     * Atomically claims a free cell for a slot.
+     *
+     * @param x    The X-coordinate.
+     * @param y    The Y-coordinate.
+     * @param slot The non-negative slot of the rover.
+     * @return True if the cell was free and is now claimed; false otherwise, including for cells
+     * outside the platform.
+     */
+    boolean claim(int x, int y, int slot) {
+        if (!isInside(x, y)) {
+            return false;
+        }
+        long cell = (long) y * width + x;
+        return chunk(cell).compareAndSet((int) cell & CHUNK_MASK, FREE, slot + 1);
+    }
+
+    /**
+     * Releases a cell if it is claimed by the given slot.
+     *
+     * @param x    The X-coordinate.
+     * @param y    The Y-coordinate.
+     * @param slot The slot of the rover leaving the cell.
+     */
+    void release(int x, int y, int slot) {
+        if (!isInside(x, y)) {
+            return;
+        }
+        long cell = (long) y * width + x;
+        chunk(cell).compareAndSet((int) cell & CHUNK_MASK, slot + 1, FREE);
+    }
+
+    /**
+     * Gets the slot of the rover standing on a cell.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return The slot, or {@link OccupancyIndex#NO_SLOT} if the cell is free.
+     */
+    int get(int x, int y) {
+        if (!isInside(x, y)) {
+            return OccupancyIndex.NO_SLOT;
+        }
+        long cell = (long) y * width + x;
+        AtomicIntegerArray chunk = chunks.get((int) (cell >>> CHUNK_SHIFT));
+        return chunk == null ? OccupancyIndex.NO_SLOT : chunk.get((int) cell & CHUNK_MASK) - 1;
+    }
+
+    private AtomicIntegerArray chunk(long cell) {
+        int index = (int) (cell >>> CHUNK_SHIFT);
+        AtomicIntegerArray chunk = chunks.get(index);
+        if (chunk == null) {
+            AtomicIntegerArray created = new AtomicIntegerArray(1 << CHUNK_SHIFT);
+            chunk = chunks.compareAndExchange(index, null, created);
+            if (chunk == null) {
+                chunk = created;
+            }
+        }
+        return chunk;
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+}
@@ -0,0 +1,535 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structure-of-arrays state of a rover fleet, meant for simulations with very large rover counts.
+ * <p>
+ * Each rover is a slot in three parallel arrays (X, Y and heading ordinal), which costs 9 bytes per
+ * rover plus its entry in the platform's occupancy index, instead of a separate object graph with a
+ * UUID, a Position and a platform reference. Ticks walk the arrays sequentially and follow the same
+ * movement rules as {@link Rover#move()}.
+ * <p>
+ * A fleet either owns its rovers, added with {@link #add}, or backs the fleet-wide operations of a
+ * {@link MissionControl}, whose rovers it loads before every tick or run and updates afterwards.
+ */
+public class FleetState {
+
+    /**
+     * Command byte for a rover that does nothing during a tick.
+     */
+    public static final byte IDLE = 0;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int PARALLEL_THRESHOLD = 8192; // Slots handled by a single fork/join task
+    private static final SimulationMetrics METRICS = SimulationMetrics.global();
+
+    private final Platform platform;
+    private int[] xs;
+    private int[] ys;
+    private byte[] headings;
+    private int size;
+    private long[] targets; // Scratch space of simultaneous ticks
+    private CellClaims claims; // Scratch space of simultaneous ticks
+
+    /**
+     * Creates an empty fleet on a platform.
+     *
+     * @param platform     The platform on which the fleet operates.
+     * @param expectedSize The expected number of rovers, used to pre-size the arrays.
+     */
+    public FleetState(Platform platform, int expectedSize) {
+        if (platform == null) {
+            throw new IllegalArgumentException("Invalid platform");
+        }
+        int capacity = Math.max(expectedSize, MIN_CAPACITY);
+        this.platform = platform;
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.headings = new byte[capacity];
+    }
+
+    /**
+     * Replaces the fleet with the state of rovers already deployed by a mission control, reusing the
+     * arrays when they are large enough. The rovers keep the cells they claimed on the platform,
+     * under the slot matching their index in the list.
+     *
+     * @param rovers The deployed rovers, in slot order.
+     * @param pool   The pool splitting the work, or null to load on the calling thread.
+     */
+    void load(List<Rover> rovers, ForkJoinPool pool) {
+        int count = rovers.size();
+        if (count > xs.length) {
+            int capacity = Math.max(count, xs.length << 1);
+            xs = new int[capacity];
+            ys = new int[capacity];
+            headings = new byte[capacity];
+        }
+        forRange(pool, 0, count, (from, to) -> {
+            for (int slot = from; slot < to; slot++) {
+                Rover rover = rovers.get(slot);
+                Position position = rover.getPosition();
+                xs[slot] = position.getX();
+                ys[slot] = position.getY();
+                headings[slot] = (byte) rover.getDirection().ordinal();
+            }
+        });
+        size = count;
+    }
+
+    /**
+     * Encodes the command of every rover found in a map, for {@link #tick(byte[])} and the
+     * simultaneous ticks. The map is read from several threads when a pool is given, so it has to
+     * support concurrent reads, as {@link java.util.HashMap} and {@link Map#of} do.
+     *
+     * @param commands The command for each rover.
+     * @param rovers   The rovers, in slot order.
+     * @param pool     The pool splitting the work, or null to encode on the calling thread.
+     * @return One command code per rover, {@link #IDLE} for the rovers without a command.
+     * @throws IllegalArgumentException If a rover in the map is not in the list.
+     */
+    static byte[] encode(Map<Rover, Command> commands, List<Rover> rovers, ForkJoinPool pool) {
+        byte[] codes = new byte[rovers.size()];
+        LongAdder matched = new LongAdder();
+        forRange(pool, 0, codes.length, (from, to) -> {
+            int found = 0;
+            for (int slot = from; slot < to; slot++) {
+                Command command = commands.get(rovers.get(slot));
+                if (command != null) {
+                    codes[slot] = (byte) command.getCode().charAt(0);
+                    found++;
+                }
+            }
+            matched.add(found);
+        });
+        if (matched.sum() != commands.size()) {
+            throw new IllegalArgumentException("Unknown rover in tick commands");
+        }
+        return codes;
+    }
+
+    /**
+     * Adds a rover to the fleet, claiming its cell on the platform.
+     *
+     * @param x         The initial X-coordinate.
+     * @param y         The initial Y-coordinate.
+     * @param direction The initial direction.
+     * @return The slot of the new rover.
+     * @throws IllegalArgumentException If the direction is invalid.
+     * @throws IllegalStateException    If the position is already occupied.
+     */
+    public int add(int x, int y, Direction direction) {
+        if (direction == null) {
+            throw new IllegalArgumentException("Invalid direction");
+        }
+        if (!platform.claimCell(x, y, size)) {
+            throw new IllegalStateException("Position already occupied");
+        }
+        return append(x, y, direction.ordinal());
+    }
+
+    /**
+     * Executes one tick: every rover executes the command at its slot, in slot order, so a rover
+     * sees the moves made by the rovers before it.
+     *
+     * @param commands One command code per rover ({@code 'L'}, {@code 'R'}, {@code 'M'}) or {@link #IDLE}.
+     * @throws IllegalArgumentException If the number of commands does not match the fleet size or a code is invalid.
+     */
+    public void tick(byte[] commands) {
+        if (commands.length != size) {
+            throw new IllegalArgumentException("Expected one command per rover");
+        }
+        long start = METRICS.isRecordingTicks() ? System.nanoTime() : 0;
+        int executed = 0;
+        long[] blocked = SimulationMetrics.newBlockedTally();
+        try {
+            for (int slot = 0; slot < size; slot++) {
+                byte code = commands[slot];
+                if (code != IDLE) {
+                    blocked[apply(slot, code).ordinal()]++;
+                    executed++;
+                }
+            }
+        } finally {
+            METRICS.commandsExecuted(executed);
+            METRICS.movesBlocked(blocked);
+        }
+        if (start != 0) {
+            METRICS.tickCompleted(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes one simultaneous tick on the calling thread. All rovers act on the state at the start
+     * of the tick, see {@link #tickParallel(byte[], ForkJoinPool)}.
+     *
+     * @param commands One command code per rover ({@code 'L'}, {@code 'R'}, {@code 'M'}) or {@link #IDLE}.
+     * @throws IllegalArgumentException If the number of commands does not match the fleet size or a code is invalid.
+     */
+    public void tickSimultaneous(byte[] commands) {
+        tickSimultaneous(commands, null);
+    }
+
+    /**
+     * Executes one simultaneous tick, splitting the fleet into ranges processed on a fork/join pool.
+     * <p>
+     * Unlike {@link #tick(byte[])}, every rover acts on the state at the start of the tick, which
+     * makes the outcome independent of the processing order: a move succeeds only if the target cell
+     * is reachable, was not occupied when the tick started, and no rover with a lower slot targets
+     * the same cell. The result is therefore identical to {@link #tickSimultaneous(byte[])} however
+     * the work is split. Only the occupancy index update at the end runs on a single thread.
+     *
+     * @param commands One command code per rover ({@code 'L'}, {@code 'R'}, {@code 'M'}) or {@link #IDLE}.
+     * @param pool     The pool executing the tick.
+     * @throws IllegalArgumentException If the number of commands does not match the fleet size or a code is invalid.
+     */
+    public void tickParallel(byte[] commands, ForkJoinPool pool) {
+        tickSimultaneous(commands, pool);
+    }
+
+    private void tickSimultaneous(byte[] commands, ForkJoinPool pool) {
+        if (commands.length != size) {
+            throw new IllegalArgumentException("Expected one command per rover");
+        }
+        if (targets == null || targets.length < size) {
+            targets = new long[xs.length];
+        }
+        if (claims == null || !claims.fits(size)) {
+            claims = new CellClaims(xs.length);
+        }
+        CellClaims cellClaims = claims;
+        long start = METRICS.isRecordingTicks() ? System.nanoTime() : 0;
+
+        // Plan every move against the state at the start of the tick; nothing is modified yet
+        forRange(pool, 0, cellClaims.capacity(), cellClaims::reset);
+        forRange(pool, 0, size, (from, to) -> plan(commands, from, to));
+        forRange(pool, 0, size, this::resolve);
+
+        // Carry the claims of the rovers that won their target cell
+        for (int slot = 0; slot < size; slot++) {
+            long target = targets[slot];
+            if (target != Platform.BLOCKED) {
+                platform.moveOccupant(slot, xs[slot], ys[slot], Platform.cellX(target), Platform.cellY(target));
+            }
+        }
+        forRange(pool, 0, size, (from, to) -> commit(commands, from, to));
+        if (start != 0) {
+            METRICS.tickCompleted(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Computes the target cell of every moving rover and registers its claim. Also counts the
+     * commands and the blocked moves of the range, so that they are counted once per range rather
+     * than once per rover.
+     */
+    private void plan(byte[] commands, int from, int to) {
+        int executed = 0;
+        long[] blocked = SimulationMetrics.newBlockedTally();
+        for (int slot = from; slot < to; slot++) {
+            targets[slot] = Platform.BLOCKED;
+            byte code = commands[slot];
+            if (code == IDLE) {
+                continue;
+            }
+            executed++;
+            if (Command.fromCode((char) (code & 0xFF)) != Command.MOVE) {
+                continue;
+            }
+            long next = platform.nextCell(xs[slot], ys[slot], headings[slot]);
+            if (next == Platform.BLOCKED) {
+                blocked[platform.blockedBy(xs[slot], ys[slot], headings[slot]).ordinal()]++;
+            } else if (next != OccupancyIndex.key(xs[slot], ys[slot])
+                    && platform.isPositionOccupied(Platform.cellX(next), Platform.cellY(next))) {
+                blocked[MoveResult.ROVER.ordinal()]++;
+            } else {
+                targets[slot] = next;
+                claims.claim(next, slot);
+            }
+        }
+        METRICS.commandsExecuted(executed);
+        METRICS.movesBlocked(blocked);
+    }
+
+    /**
+     * Drops the targets of the rovers that lost their cell to a lower slot, counting them as
+     * blocked by a rover.
+     */
+    private void resolve(int from, int to) {
+        long lost = 0;
+        for (int slot = from; slot < to; slot++) {
+            long target = targets[slot];
+            if (target != Platform.BLOCKED && claims.winner(target) != slot) {
+                targets[slot] = Platform.BLOCKED;
+                lost++;
+            }
+        }
+        METRICS.moveBlocked(MoveResult.ROVER, lost);
+    }
+
+    /**
+     * Applies the turns and the winning moves.
+     */
+    private void commit(byte[] commands, int from, int to) {
+        for (int slot = from; slot < to; slot++) {
+            switch (commands[slot]) {
+                case 'L' -> headings[slot] = (byte) Headings.left(headings[slot]);
+                case 'R' -> headings[slot] = (byte) Headings.right(headings[slot]);
+                default -> {
+                    long target = targets[slot];
+                    if (target != Platform.BLOCKED) {
+                        xs[slot] = Platform.cellX(target);
+                        ys[slot] = Platform.cellY(target);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void forRange(ForkJoinPool pool, int from, int to, RangeAction action) {
+        if (pool == null || to - from <= PARALLEL_THRESHOLD) {
+            action.run(from, to);
+        } else {
+            pool.invoke(new RangeTask(action, from, to));
+        }
+    }
+
+    /**
+     * Runs one command program per rover. Tick {@code t} executes the {@code t}-th command of every
+     * program that is long enough, so the programs advance in lockstep. Rather than reading the
+     * clock on every tick, the run records its mean tick latency once.
+     *
+     * @param programs One ASCII-encoded program per rover.
+     * @throws IllegalArgumentException If the number of programs does not match the fleet size or a code is invalid.
+     */
+    public void run(byte[][] programs) {
+        if (programs.length != size) {
+            throw new IllegalArgumentException("Expected one program per rover");
+        }
+        int ticks = 0;
+        for (byte[] program : programs) {
+            ticks = Math.max(ticks, program.length);
+        }
+        long start = METRICS.isRecordingTicks() ? System.nanoTime() : 0;
+        long executed = 0;
+        long[] blocked = SimulationMetrics.newBlockedTally();
+        try {
+            for (int tick = 0; tick < ticks; tick++) {
+                for (int slot = 0; slot < size; slot++) {
+                    byte[] program = programs[slot];
+                    if (tick < program.length) {
+                        blocked[apply(slot, program[tick]).ordinal()]++;
+                        executed++;
+                    }
+                }
+            }
+        } finally {
+            METRICS.commandsExecuted(executed);
+            METRICS.movesBlocked(blocked);
+        }
+        recordMeanTick(start, ticks);
+    }
+
+    /**
+     * Runs one command program per rover with the platform split into one tile per worker thread,
+     * see {@link RegionShards}. Moves inside a tile are processed without locks; rovers crossing a
+     * tile boundary are handed over between workers at the end of each tick. Like {@link #run},
+     * the run records its mean tick latency once. If a worker fails, the fleet is left as it was
+     * before the run.
+     *
+     * @param programs One ASCII-encoded program per rover.
+     * @param threads  The number of worker threads and tiles.
+     * @throws IllegalArgumentException If the number of programs does not match the fleet size or a code is invalid.
+     */
+    public void runSharded(byte[][] programs, int threads) {
+        if (programs.length != size) {
+            throw new IllegalArgumentException("Expected one program per rover");
+        }
+        long start = METRICS.isRecordingTicks() ? System.nanoTime() : 0;
+        new RegionShards(platform, xs, ys, headings, size, threads).run(programs);
+        int ticks = 0;
+        long executed = 0;
+        for (byte[] program : programs) {
+            ticks = Math.max(ticks, program.length);
+            executed += program.length;
+        }
+        METRICS.commandsExecuted(executed);
+        recordMeanTick(start, ticks);
+    }
+
+    /**
+     * Records the mean tick latency of a run started at the given time, if tick latencies are recorded.
+     */
+    private static void recordMeanTick(long start, int ticks) {
+        if (start != 0 && ticks > 0) {
+            METRICS.tickCompleted((System.nanoTime() - start) / ticks);
+        }
+    }
+
+    /**
+     * Writes the fleet state back to the rovers it was loaded from. Each task of the pool marks its
+     * changed slots in words of its own, which are merged into the given set at the end.
+     *
+     * @param rovers  The rovers, in slot order.
+     * @param changed Receives the slot of every rover whose position or direction changed.
+     * @param pool    The pool splitting the work, or null to write on the calling thread.
+     */
+    void copyTo(List<Rover> rovers, BitSet changed, ForkJoinPool pool) {
+        long[] words = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        forRange(pool, 0, size, (from, to) -> {
+            for (int slot = from; slot < to; slot++) {
+                if (rovers.get(slot).place(xs[slot], ys[slot], headings[slot])) {
+                    words[slot >>> 6] |= 1L << slot;
+                }
+            }
+        });
+        changed.or(BitSet.valueOf(words));
+    }
+
+    /**
+     * Gets the number of rovers in the fleet.
+     *
+     * @return The fleet size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the X-coordinate of a rover.
+     *
+     * @param slot The slot of the rover.
+     * @return The X-coordinate.
+     */
+    public int getX(int slot) {
+        return xs[checkSlot(slot)];
+    }
+
+    /**
+     * Gets the Y-coordinate of a rover.
+     *
+     * @param slot The slot of the rover.
+     * @return The Y-coordinate.
+     */
+    public int getY(int slot) {
+        return ys[checkSlot(slot)];
+    }
+
+    /**
+     * Gets the position of a rover. A new Position is created on every call.
+     *
+     * @param slot The slot of the rover.
+     * @return The position.
+     */
+    public Position getPosition(int slot) {
+        checkSlot(slot);
+        return new Position(xs[slot], ys[slot]);
+    }
+
+    /**
+     * Gets the direction a rover is facing.
+     *
+     * @param slot The slot of the rover.
+     * @return The direction.
+     */
+    public Direction getDirection(int slot) {
+        return Headings.DIRECTIONS[headings[checkSlot(slot)]];
+    }
+
+    /**
+     * Executes a command.
+     *
+     * @return What stopped the rover if the command is a blocked move; {@link MoveResult#MOVED} otherwise.
+     */
+    private MoveResult apply(int slot, byte code) {
+        switch (Command.fromCode((char) (code & 0xFF))) {
+            case MOVE -> {
+                return move(slot);
+            }
+            case LEFT -> headings[slot] = (byte) Headings.left(headings[slot]);
+            case RIGHT -> headings[slot] = (byte) Headings.right(headings[slot]);
+        }
+        return MoveResult.MOVED;
+    }
+
+    private MoveResult move(int slot) {
+        int x = xs[slot];
+        int y = ys[slot];
+        long next = platform.nextCell(x, y, headings[slot]);
+        if (next == Platform.BLOCKED) {
+            return platform.blockedBy(x, y, headings[slot]);
+        }
+        int nextX = Platform.cellX(next);
+        int nextY = Platform.cellY(next);
+        if (!platform.moveOccupant(slot, x, y, nextX, nextY)) {
+            return MoveResult.ROVER;
+        }
+        xs[slot] = nextX;
+        ys[slot] = nextY;
+        return MoveResult.MOVED;
+    }
+
+    private int append(int x, int y, int heading) {
+        if (size == xs.length) {
+            int capacity = xs.length << 1;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            headings = Arrays.copyOf(headings, capacity);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        headings[size] = (byte) heading;
+        return size++;
+    }
+
+    /**
+     * Work applied to a range of slots or buckets.
+     */
+    @FunctionalInterface
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /**
+     * Fork/join task splitting a range in halves until it is small enough to run directly.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+
+        RangeTask(RangeAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                action.run(from, to);
+                return;
+            }
+            // Split on a multiple of 64, so that no two tasks share a word of a bitmap
+            int middle = ((from + to) >>> 1) & -Long.SIZE;
+            invokeAll(new RangeTask(action, from, middle), new RangeTask(action, middle, to));
+        }
+    }
+
+    private int checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Rover index out of bounds");
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,110 @@
+package com.asosa.marsrover.core.domain;
+
+/**
+ * Two-level bitmap of the cells of a platform that are blocked by an obstacle or a rover, used to
+ * find the next free cell in row-major order with a few word scans.
+ * <p>
+ * The first level holds one bit per cell. The second level holds one bit per first-level word,
+ * set when all 64 cells of that word are blocked, so a run of 4096 full cells is skipped with a
+ * single word read. Bits past the last cell are kept blocked so they are never reported as free.
+ */
+final class FreeCellIndex {
+
+    /**
+     * Largest platform, in cells, for which an index is built. That is 128 MiB of bits; larger
+     * platforms are searched cell by cell.
+     */
+    static final long MAX_CELLS = 1L << 30;
+
+    private final int width;
+    private final int height;
+    private final long cells;
+    private final long[] blocked;
+    private final long[] full;
+
+    /**
+     * Creates an index in which every cell of the platform is free.
+     *
+     * @param width  The width of the platform.
+     * @param height The height of the platform.
+     */
+    FreeCellIndex(int width, int height) {
+        this.width = Math.max(width, 0);
+        this.height = Math.max(height, 0);
+        this.cells = (long) this.width * this.height;
+        int words = (int) ((cells + 63) >>> 6);
+        this.blocked = new long[words];
+        this.full = new long[(words + 63) >>> 6];
+        if ((cells & 63) != 0) {
+            blocked[words - 1] = -1L << (cells & 63);
+        }
+        if ((words & 63) != 0) {
+            full[full.length - 1] = -1L << (words & 63);
+        }
+    }
+
+    /**
+     * Marks a cell as blocked or free. Cells outside the platform are ignored.
+     *
+     * @param x         The X-coordinate.
+     * @param y         The Y-coordinate.
+     * @param isBlocked True if the cell holds an obstacle or a rover.
+     */
+    void set(int x, int y, boolean isBlocked) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        long cell = (long) y * width + x;
+        int word = (int) (cell >>> 6);
+        if (isBlocked) {
+            blocked[word] |= 1L << cell;
+        } else {
+            blocked[word] &= ~(1L << cell);
+        }
+        if (blocked[word] == -1L) {
+            full[word >>> 6] |= 1L << word;
+        } else {
+            full[word >>> 6] &= ~(1L << word);
+        }
+    }
+
+    /**
+     * Finds the first free cell at or after the given cell index in row-major order.
+     *
+     * @param from The cell index to start from.
+     * @return The index of the free cell, or -1 if every remaining cell is blocked.
+     */
+    long nextFree(long from) {
+        if (from < 0 || from >= cells) {
+            return -1;
+        }
+        int word = (int) (from >>> 6);
+        long free = ~blocked[word] & (-1L << from);
+        if (free == 0) {
+            word = nextOpenWord(word + 1);
+            if (word < 0) {
+                return -1;
+            }
+            free = ~blocked[word];
+        }
+        return ((long) word << 6) + Long.numberOfTrailingZeros(free);
+    }
+
+    /**
+     * Finds the first first-level word at or after the given one that has a free bit.
+     */
+    private int nextOpenWord(int from) {
+        if (from >= blocked.length) {
+            return -1;
+        }
+        int summary = from >>> 6;
+        long open = ~full[summary] & (-1L << from);
+        while (open == 0) {
+            if (++summary == full.length) {
+                return -1;
+            }
+            open = ~full[summary];
+        }
+        return (summary << 6) + Long.numberOfTrailingZeros(open);
+    }
+}
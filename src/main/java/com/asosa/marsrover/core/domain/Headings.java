@@ -0,0 +1,48 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+
+/**
+ * Primitive lookup tables for headings, indexed by {@link Direction#ordinal()}.
+ * The directions are declared clockwise (N, E, S, W), so rotations are simple ordinal arithmetic.
+ */
+final class Headings {
+
+    /**
+     * Directions indexed by heading ordinal, shared to avoid cloning {@link Direction#values()}.
+     */
+    static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * X offset of a single step for each heading.
+     */
+    static final int[] DX = {0, 1, 0, -1};
+
+    /**
+     * Y offset of a single step for each heading.
+     */
+    static final int[] DY = {1, 0, -1, 0};
+
+    private Headings() {
+    }
+
+    /**
+     * Rotates a heading 90 degrees to the left.
+     *
+     * @param heading The heading ordinal.
+     * @return The rotated heading ordinal.
+     */
+    static int left(int heading) {
+        return (heading + 3) & 3;
+    }
+
+    /**
+     * Rotates a heading 90 degrees to the right.
+     *
+     * @param heading The heading ordinal.
+     * @return The rotated heading ordinal.
+     */
+    static int right(int heading) {
+        return (heading + 1) & 3;
+    }
+}
@@ -1,18 +1,38 @@
 package com.asosa.marsrover.core.domain;
 
 import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.UUIDGenerator;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents the mission control managing the platform and its rovers.
+ * <p>
+ * The {@link Rover} objects hold the authoritative state of the fleet, since callers get them and
+ * drive them directly. Fleet-wide operations, {@link #tick} and {@link #runPrograms}, run on a
+ * structure-of-arrays {@link FleetState} instead: it is kept between calls, loaded from the rovers
+ * before each one and written back to them after it.
  */
 public class MissionControl {
     private final String uuid; // Unique identifier for the mission control
     private final Platform platform; // Platform on which the rovers operate
-    private final List<Rover> rovers; // List of rovers under mission control
+    private final ArrayList<Rover> rovers; // List of rovers under mission control
+    private final Map<String, Integer> slotsByUuid; // Index of every rover in the list, by UUID
+    private final UUIDGenerator uuidGenerator; // Source of the UUIDs of the mission and its fleet
+    private final List<TickListener> tickListeners = new CopyOnWriteArrayList<>(); // Notified once per tick
+    private final BitSet changed = new BitSet(); // Indexes of the rovers changed during the current tick
+    private FleetState fleet; // Arrays of the fleet-wide ticks and runs, kept to be reused by the next one
+    private long tick; // Number of ticks ended so far
 
     /**
      * Constructor to create a new MissionControl instance.
@@ -20,9 +40,22 @@ public class MissionControl {
      * @param platform The platform associated with the mission control.
      */
     public MissionControl(Platform platform) {
-        this.uuid = UUID.randomUUID().toString();
+        this(platform, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Constructor to create a new MissionControl instance whose UUID, and the UUIDs of the rovers
+     * it deploys, are taken from the given generator.
+     *
+     * @param platform      The platform associated with the mission control.
+     * @param uuidGenerator The generator of the UUIDs.
+     */
+    public MissionControl(Platform platform, UUIDGenerator uuidGenerator) {
+        this.uuid = uuidGenerator.generate();
         this.platform = platform;
         this.rovers = new ArrayList<>();
+        this.slotsByUuid = new HashMap<>();
+        this.uuidGenerator = uuidGenerator;
     }
 
     /**
@@ -35,31 +68,139 @@ public class MissionControl {
     }
 
     /**
-     * Adds a new rover to the mission control.
+     * Adds a new rover to the mission control, claiming its cell on the platform so that other
+     * rovers cannot be placed on or move onto it.
      *
      * @param rover The rover to be added.
-     * @throws IllegalStateException If the position of the rover is already occupied.
+     * @throws IllegalStateException If the position of the rover is already occupied, or a rover
+     *                               with the same UUID is already deployed.
      */
     public void addRover(Rover rover) {
-        for (Rover r : rovers) {
-            if (r.getPosition().equals(rover.getPosition())) {
-                throw new IllegalStateException("Position already occupied");
-            }
+        Position position = rover.getPosition();
+        int slot = rovers.size();
+        if (slotsByUuid.containsKey(rover.getUuid())) {
+            throw new IllegalStateException("Rover already deployed: " + rover.getUuid());
         }
+        if (!platform.claimCell(position.getX(), position.getY(), slot)) {
+            throw new IllegalStateException("Position already occupied");
+        }
+        rover.assignSlot(slot);
         rovers.add(rover);
+        slotsByUuid.put(rover.getUuid(), slot);
+        changed.set(slot);
+    }
+
+    /**
+     * Withdraws a rover from the mission, releasing its cell. The last rover of the list takes the
+     * index of the removed one, so removal takes constant time but changes the index, and the
+     * lockstep order, of that rover.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The removed rover.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public Rover removeRover(String roverUuid) {
+        int slot = slotOf(roverUuid);
+        Rover removed = rovers.get(slot);
+        Position position = removed.getPosition();
+        platform.releaseCell(position.getX(), position.getY());
+        removed.assignSlot(OccupancyIndex.NO_SLOT);
+        slotsByUuid.remove(roverUuid);
+
+        int lastSlot = rovers.size() - 1;
+        Rover last = rovers.removeLast();
+        changed.set(slot, changed.get(lastSlot));
+        changed.clear(lastSlot);
+        if (last != removed) {
+            rovers.set(slot, last);
+            reassign(last, slot);
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the rover with the given UUID.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The rover.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public Rover getRover(String roverUuid) {
+        return rovers.get(slotOf(roverUuid));
+    }
+
+    /**
+     * Deploys a whole fleet in one pass. Each rover is placed on the first free cell at or after its
+     * requested position, in row-major order, like {@link RoverFactory#newRoverControl} does, so a
+     * collision with an earlier rover of the fleet or of the mission moves the later one along.
+     * <p>
+     * Every deployment is validated before any rover is placed, and storage is sized for the whole
+     * fleet up front. If the platform runs out of free cells, the rovers of this fleet that were
+     * already placed are withdrawn, leaving the mission as it was.
+     *
+     * @param deployments The requested positions and directions, in deployment order.
+     * @return The deployed rovers, in deployment order.
+     * @throws IllegalArgumentException If a deployment has no direction.
+     * @throws IllegalStateException    If no free cell is left for a rover.
+     */
+    public List<Rover> deployFleet(List<RoverDeployment> deployments) {
+        return deployFleet(deployments, new RoverFactory(uuidGenerator));
+    }
+
+    /**
+     * Deploys a whole fleet, placing the rovers with the given factory.
+     */
+    List<Rover> deployFleet(List<RoverDeployment> deployments, RoverFactory factory) {
+        for (RoverDeployment deployment : deployments) {
+            if (deployment.direction() == null) {
+                throw new IllegalArgumentException("Invalid direction");
+            }
+        }
+        int first = rovers.size();
+        rovers.ensureCapacity(first + deployments.size());
+        platform.reserveOccupants(deployments.size());
+
+        try {
+            for (RoverDeployment deployment : deployments) {
+                addRover(factory.newRoverControl(deployment.x(), deployment.y(), deployment.direction(), platform));
+            }
+        } catch (IllegalStateException e) {
+            for (int i = rovers.size() - 1; i >= first; i--) {
+                Rover rover = rovers.remove(i);
+                Position position = rover.getPosition();
+                platform.releaseCell(position.getX(), position.getY());
+                rover.assignSlot(OccupancyIndex.NO_SLOT);
+                slotsByUuid.remove(rover.getUuid());
+            }
+            changed.clear(first, first + deployments.size());
+            throw e;
+        }
+        return List.copyOf(rovers.subList(first, rovers.size()));
     }
 
     /**
      * Moves a specified rover forward.
      *
      * @param index The index of the rover in the list.
+     * @return The outcome of the move.
      * @throws IndexOutOfBoundsException If the rover index is out of bounds.
      */
-    public void moveRover(int index) {
+    public MoveResult moveRover(int index) {
         if (index < 0 || index >= rovers.size()) {
             throw new IndexOutOfBoundsException("Rover index out of bounds");
         }
-        rovers.get(index).move();
+        return move(index);
+    }
+
+    /**
+     * Moves the rover with the given UUID forward.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The outcome of the move.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public MoveResult moveRover(String roverUuid) {
+        return move(slotOf(roverUuid));
     }
 
     /**
@@ -73,7 +214,228 @@ public class MissionControl {
         if (index < 0 || index >= rovers.size()) {
             throw new IndexOutOfBoundsException("Rover index out of bounds");
         }
-        rovers.get(index).executeCommand(command);
+        command(index, command);
+    }
+
+    /**
+     * Sends a command to the rover with the given UUID.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param command   The command to be executed by the rover.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     */
+    public void commandRover(String roverUuid, Command command) {
+        command(slotOf(roverUuid), command);
+    }
+
+    /**
+     * Runs a command program on the specified rover, like {@link Rover#execute(byte[], int, int)}.
+     * The rover is reported as changed when the caller ends the tick, if the program moved or
+     * turned it.
+     *
+     * @param index   The index of the rover in the list.
+     * @param program The buffer holding the command program, encoded as ASCII bytes.
+     * @param offset  The index of the first command.
+     * @param length  The number of commands.
+     * @throws IndexOutOfBoundsException If the rover index is out of bounds.
+     * @throws IllegalArgumentException  If the program contains an invalid command; the commands
+     *                                   before it remain applied.
+     */
+    public void runProgram(int index, byte[] program, int offset, int length) {
+        if (index < 0 || index >= rovers.size()) {
+            throw new IndexOutOfBoundsException("Rover index out of bounds");
+        }
+        Rover rover = rovers.get(index);
+        Position position = rover.getPosition();
+        Direction direction = rover.getDirection();
+        try {
+            rover.execute(program, offset, length);
+        } finally {
+            if (!rover.getPosition().equals(position) || rover.getDirection() != direction) {
+                changed.set(index);
+            }
+        }
+    }
+
+    /**
+     * Executes one command for each rover in the map during a single simultaneous tick, processed in
+     * parallel on the common fork/join pool. Rovers without a command stay idle.
+     * <p>
+     * All rovers act on the state at the start of the tick. When several rovers move onto the same
+     * cell, the one added to the mission first wins and the others stay in place, so the result is
+     * deterministic and identical to a sequential execution of the same tick. The tick listeners
+     * are notified once the tick is applied.
+     * <p>
+     * Encoding the commands, loading the rovers into the fleet arrays and writing them back are
+     * split over the pool as well, so the map is read from several threads and has to support
+     * concurrent reads, as {@link HashMap} and {@link Map#of} do.
+     *
+     * @param commands The command for each rover.
+     * @throws IllegalArgumentException If a rover in the map is not managed by this mission control.
+     * @see FleetState#tickParallel(byte[], ForkJoinPool)
+     */
+    public void tick(Map<Rover, Command> commands) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        byte[] codes = FleetState.encode(commands, rovers, pool);
+        FleetState fleet = loadFleet(pool);
+        fleet.tickParallel(codes, pool);
+        fleet.copyTo(rovers, changed, pool);
+        endTick();
+    }
+
+    /**
+     * Runs one command program per rover on a {@link FleetState} built from the rovers, then writes
+     * the final state back. The programs advance in lockstep: each tick executes the next command
+     * of every rover, in rover order. The tick listeners only see the final state, as a single tick.
+     *
+     * @param programs One command program per rover, such as {@code "LMLMLMLMM"}.
+     * @throws IllegalArgumentException If the number of programs does not match the number of rovers
+     *                                  or a program contains an invalid command.
+     */
+    public void runPrograms(List<? extends CharSequence> programs) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        FleetState fleet = loadFleet(pool);
+        try {
+            fleet.run(encode(programs));
+        } finally {
+            fleet.copyTo(rovers, changed, pool);
+            endTick();
+        }
+    }
+
+    /**
+     * Runs one command program per rover with the platform partitioned into tiles, each owned by a
+     * worker thread, then writes the final state back. The tick listeners only see the final state,
+     * as a single tick. If a worker fails, the rovers are left as they were before the run.
+     *
+     * @param programs One command program per rover, such as {@code "LMLMLMLMM"}.
+     * @param threads  The number of worker threads and tiles.
+     * @throws IllegalArgumentException If the number of programs does not match the number of rovers
+     *                                  or a program contains an invalid command.
+     * @see FleetState#runSharded(byte[][], int)
+     */
+    public void runPrograms(List<? extends CharSequence> programs, int threads) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        FleetState fleet = loadFleet(pool);
+        try {
+            fleet.runSharded(encode(programs), threads);
+        } finally {
+            fleet.copyTo(rovers, changed, pool);
+            endTick();
+        }
+    }
+
+    /**
+     * Ends the current tick, notifying the tick listeners once with every rover deployed, moved or
+     * turned since the previous tick. {@link #tick} and {@link #runPrograms} end their tick
+     * themselves; rovers driven through {@link #moveRover}, {@link #commandRover} and
+     * {@link #runProgram} are reported when the caller ends the tick.
+     */
+    public void endTick() {
+        tick++;
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (!tickListeners.isEmpty()) {
+            List<RoverSnapshot> snapshots = new ArrayList<>(changed.cardinality());
+            for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+                snapshots.add(rovers.get(slot).snapshot());
+            }
+            List<RoverSnapshot> update = Collections.unmodifiableList(snapshots);
+            for (TickListener listener : tickListeners) {
+                listener.tickCompleted(tick, update);
+            }
+        }
+        changed.clear();
+    }
+
+    /**
+     * Registers a listener notified at the end of every tick in which rovers changed.
+     *
+     * @param listener The listener.
+     */
+    public void addTickListener(TickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a tick listener.
+     *
+     * @param listener The listener.
+     */
+    public void removeTickListener(TickListener listener) {
+        tickListeners.remove(listener);
+    }
+
+    /**
+     * Gets the number of ticks ended so far.
+     *
+     * @return The tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    private MoveResult move(int slot) {
+        MoveResult result = rovers.get(slot).move();
+        if (result == MoveResult.MOVED) {
+            changed.set(slot);
+        }
+        return result;
+    }
+
+    private void command(int slot, Command command) {
+        if (command == Command.MOVE) {
+            move(slot);
+            return;
+        }
+        rovers.get(slot).executeCommand(command);
+        changed.set(slot);
+    }
+
+    /**
+     * Looks the index of a rover up by UUID.
+     */
+    private int slotOf(String roverUuid) {
+        Integer slot = slotsByUuid.get(roverUuid);
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown rover: " + roverUuid);
+        }
+        return slot;
+    }
+
+    /**
+     * Moves a rover to another index, carrying its claim on the platform along.
+     */
+    private void reassign(Rover rover, int slot) {
+        Position position = rover.getPosition();
+        platform.releaseCell(position.getX(), position.getY());
+        platform.claimCell(position.getX(), position.getY(), slot);
+        rover.assignSlot(slot);
+        slotsByUuid.put(rover.getUuid(), slot);
+    }
+
+    /**
+     * Loads the rovers into the fleet arrays kept from the previous tick or run, so that large
+     * fleets do not allocate new arrays and claim tables on every tick.
+     */
+    private FleetState loadFleet(ForkJoinPool pool) {
+        if (fleet == null) {
+            fleet = new FleetState(platform, rovers.size());
+        }
+        fleet.load(rovers, pool);
+        return fleet;
+    }
+
+    private byte[][] encode(List<? extends CharSequence> programs) {
+        if (programs.size() != rovers.size()) {
+            throw new IllegalArgumentException("Expected one program per rover");
+        }
+        byte[][] encoded = new byte[programs.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = programs.get(i).toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return encoded;
     }
 
     /**
@@ -85,12 +447,21 @@ public class MissionControl {
         return platform;
     }
 
+    /**
+     * Gets the number of rovers under mission control.
+     *
+     * @return The fleet size.
+     */
+    public int getFleetSize() {
+        return rovers.size();
+    }
+
     /**
      * Gets the list of rovers under mission control.
      *
-     * @return The list of rovers.
+     * @return A read-only view of the list of rovers, so that the UUID index stays in sync.
      */
     public List<Rover> getRovers() {
-        return rovers;
+        return Collections.unmodifiableList(rovers);
     }
 }
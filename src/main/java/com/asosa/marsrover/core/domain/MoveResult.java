@@ -0,0 +1,27 @@
+package com.asosa.marsrover.core.domain;
+
+/**
+ * Outcome of a single move, telling whether the rover moved and, if not, what stopped it.
+ */
+public enum MoveResult {
+    /**
+     * The rover moved to the next cell.
+     */
+    MOVED,
+
+    /**
+     * The rover stayed in place because the next cell is outside a platform without wrap-around,
+     * or because the rover is not on a platform.
+     */
+    BOUNDARY,
+
+    /**
+     * The rover stayed in place because the next cell holds an obstacle.
+     */
+    OBSTACLE,
+
+    /**
+     * The rover stayed in place because the next cell is occupied by another rover.
+     */
+    ROVER
+}
@@ -0,0 +1,109 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free ring buffer of longs for many producers and a single consumer.
+ * <p>
+ * Every slot carries a sequence number telling whose turn it is: producers race for the next
+ * position with a compare-and-set on the tail, write the value, then publish it by advancing the
+ * slot's sequence; the consumer only reads slots whose sequence says they are published. Values
+ * are primitives, so neither side allocates.
+ */
+final class MpscRingBuffer {
+
+    private final long[] values;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // Only written by the consumer
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity The minimum number of values the buffer can hold, rounded up to a power of two.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity");
+        }
+        int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.values = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds a value if there is room. Safe to call from several threads at once.
+     *
+     * @param value The value.
+     * @return True if the value was added; false if the buffer is full.
+     */
+    boolean offer(long value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    values[index] = value;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to the given number of published values, in the order they were added. Must only
+     * be called from the consumer thread.
+     *
+     * @param target The array receiving the values, from index 0.
+     * @param max    The maximum number of values to remove.
+     * @return The number of values removed.
+     */
+    int drain(long[] target, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int index = (int) position & mask;
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            target[count++] = values[index];
+            sequences.setRelease(index, position + mask + 1);
+            position++;
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Gets the number of values waiting, including values being written by producers.
+     *
+     * @return The approximate number of values in the buffer.
+     */
+    int size() {
+        long size = tail.get() - head;
+        return Math.clamp(size, 0, mask + 1);
+    }
+
+    /**
+     * Gets the number of values the buffer can hold.
+     *
+     * @return The capacity.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,376 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Position;
+
+import java.util.List;
+
+/**
+ * Bitmap of the obstacle cells of a platform, giving O(1) obstacle lookups.
+ * <p>
+ * Cells are numbered row-major ({@code y * width + x}) and grouped into chunks of 4096 cells.
+ * Only the chunks holding an obstacle exist, in an open-addressing table keyed by chunk index, so
+ * a densely populated plateau behaves like a packed bitset while the memory of a huge, sparse
+ * plateau grows with its obstacles rather than with its area.
+ */
+final class ObstacleGrid {
+
+    private static final int CHUNK_SHIFT = 12; // 4096 cells per chunk
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int WORDS_PER_CHUNK = 1 << (CHUNK_SHIFT - 6);
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final long NO_CHUNK = -1;
+
+    private final int width;
+    private final int height;
+    private long[] chunkKeys = new long[MIN_TABLE_SIZE]; // Chunk index + 1, or 0 for an empty slot
+    private long[][] chunks = new long[MIN_TABLE_SIZE][];
+    private int chunkCount;
+    private int count;
+
+    /**
+     * Creates an empty grid for a platform with the given dimensions.
+     *
+     * @param width  The width of the platform.
+     * @param height The height of the platform.
+     */
+    ObstacleGrid(int width, int height) {
+        this.width = Math.max(width, 0);
+        this.height = Math.max(height, 0);
+    }
+
+    /**
+     * Creates a grid holding the given obstacles. Obstacles outside the platform are ignored,
+     * since no rover can ever reach them.
+     *
+     * @param width     The width of the platform.
+     * @param height    The height of the platform.
+     * @param obstacles The obstacle positions.
+     * @return The populated grid.
+     */
+    static ObstacleGrid of(int width, int height, List<Position> obstacles) {
+        ObstacleGrid grid = new ObstacleGrid(width, height);
+        for (Position obstacle : obstacles) {
+            grid.add(obstacle.getX(), obstacle.getY());
+        }
+        return grid;
+    }
+
+    /**
+     * Creates a transposed grid holding the given obstacles, in which every row is a column of the
+     * platform. Scanning a column then reads consecutive bits, like scanning a row does.
+     *
+     * @param width     The width of the platform.
+     * @param height    The height of the platform.
+     * @param obstacles The obstacle positions.
+     * @return The populated grid, indexed by (y, x).
+     */
+    static ObstacleGrid columnsOf(int width, int height, List<Position> obstacles) {
+        ObstacleGrid grid = new ObstacleGrid(height, width);
+        for (Position obstacle : obstacles) {
+            grid.add(obstacle.getY(), obstacle.getX());
+        }
+        return grid;
+    }
+
+    /**
+     * Marks a cell as an obstacle.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     */
+    void add(int x, int y) {
+        if (!isInside(x, y)) {
+            return;
+        }
+        long cell = cellIndex(x, y);
+        long chunkIndex = cell >>> CHUNK_SHIFT;
+        long[] chunk = chunk(chunkIndex);
+        if (chunk == null) {
+            chunk = new long[WORDS_PER_CHUNK];
+            putChunk(chunkIndex, chunk);
+        }
+        int bit = (int) cell & CHUNK_MASK;
+        long mask = 1L << bit;
+        if ((chunk[bit >>> 6] & mask) == 0) {
+            chunk[bit >>> 6] |= mask;
+            count++;
+        }
+    }
+
+    /**
+     * Checks whether a cell holds an obstacle. The caller is expected to have checked the
+     * platform bounds already.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return True if the cell holds an obstacle; false otherwise.
+     */
+    boolean contains(int x, int y) {
+        if (count == 0) {
+            return false;
+        }
+        long cell = cellIndex(x, y);
+        long[] chunk = chunk(cell >>> CHUNK_SHIFT);
+        if (chunk == null) {
+            return false;
+        }
+        int bit = (int) cell & CHUNK_MASK;
+        return (chunk[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Checks whether any cell of a rectangle holds an obstacle, scanning whole bitmap words and
+     * skipping chunks without obstacles. A rectangle wider than it is worth scanning row by row is
+     * checked against the obstacles of every chunk instead, so the cost never exceeds a pass over
+     * the chunks. The rectangle must lie inside the platform.
+     *
+     * @param x0 The lowest X-coordinate, inclusive.
+     * @param y0 The lowest Y-coordinate, inclusive.
+     * @param x1 The highest X-coordinate, inclusive.
+     * @param y1 The highest Y-coordinate, inclusive.
+     * @return True if the rectangle holds at least one obstacle; false otherwise.
+     */
+    boolean anyInRect(int x0, int y0, int x1, int y1) {
+        if (count == 0) {
+            return false;
+        }
+        long rowScan = ((long) y1 - y0 + 1) * ((((long) x1 - x0) >>> 6) + 2);
+        if (rowScan > chunkKeys.length + (long) chunkCount * WORDS_PER_CHUNK) {
+            return anyChunkInRect(x0, y0, x1, y1);
+        }
+        for (int y = y0; y <= y1; y++) {
+            if (firstInRange(cellIndex(x0, y), cellIndex(x1, y)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first obstacle of a row segment, scanning whole bitmap words.
+     *
+     * @param y     The row.
+     * @param fromX The lowest X-coordinate, inclusive.
+     * @param toX   The highest X-coordinate, inclusive.
+     * @return The lowest X-coordinate holding an obstacle, or -1 if there is none.
+     */
+    int firstInRow(int y, int fromX, int toX) {
+        if (count == 0 || fromX > toX) {
+            return -1;
+        }
+        long rowStart = (long) y * width;
+        long cell = firstInRange(rowStart + fromX, rowStart + toX);
+        return cell < 0 ? -1 : (int) (cell - rowStart);
+    }
+
+    /**
+     * Finds the last obstacle of a row segment, scanning whole bitmap words.
+     *
+     * @param y     The row.
+     * @param fromX The lowest X-coordinate, inclusive.
+     * @param toX   The highest X-coordinate, inclusive.
+     * @return The highest X-coordinate holding an obstacle, or -1 if there is none.
+     */
+    int lastInRow(int y, int fromX, int toX) {
+        if (count == 0 || fromX > toX) {
+            return -1;
+        }
+        long rowStart = (long) y * width;
+        long cell = lastInRange(rowStart + fromX, rowStart + toX);
+        return cell < 0 ? -1 : (int) (cell - rowStart);
+    }
+
+    /**
+     * Finds the lowest obstacle cell between two cell indexes, both inclusive.
+     *
+     * @return The cell index, or -1 if there is none.
+     */
+    private long firstInRange(long from, long to) {
+        long cell = from;
+        long lastChunk = to >>> CHUNK_SHIFT;
+        while (cell <= to) {
+            long chunkIndex = cell >>> CHUNK_SHIFT;
+            long[] chunk = chunk(chunkIndex);
+            if (chunk == null && lastChunk - chunkIndex > chunkKeys.length) {
+                // Jump straight to the next chunk holding obstacles rather than probing every one
+                long next = nearestChunk(chunkIndex + 1, lastChunk, true);
+                if (next == NO_CHUNK) {
+                    return -1;
+                }
+                cell = next << CHUNK_SHIFT;
+                continue;
+            }
+            long chunkStart = chunkIndex << CHUNK_SHIFT;
+            long last = Math.min(to, chunkStart + CHUNK_MASK);
+            if (chunk != null) {
+                int first = (int) (cell - chunkStart);
+                int end = (int) (last - chunkStart);
+                for (int word = first >>> 6; word <= end >>> 6; word++) {
+                    long bits = chunk[word] & wordMask(word, first, end);
+                    if (bits != 0) {
+                        return chunkStart + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                }
+            }
+            cell = last + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the highest obstacle cell between two cell indexes, both inclusive.
+     *
+     * @return The cell index, or -1 if there is none.
+     */
+    private long lastInRange(long from, long to) {
+        long cell = to;
+        long firstChunk = from >>> CHUNK_SHIFT;
+        while (cell >= from) {
+            long chunkIndex = cell >>> CHUNK_SHIFT;
+            long[] chunk = chunk(chunkIndex);
+            if (chunk == null && chunkIndex - firstChunk > chunkKeys.length) {
+                long previous = nearestChunk(firstChunk, chunkIndex - 1, false);
+                if (previous == NO_CHUNK) {
+                    return -1;
+                }
+                cell = (previous << CHUNK_SHIFT) + CHUNK_MASK;
+                continue;
+            }
+            long chunkStart = chunkIndex << CHUNK_SHIFT;
+            long first = Math.max(from, chunkStart);
+            if (chunk != null) {
+                int start = (int) (first - chunkStart);
+                int end = (int) (cell - chunkStart);
+                for (int word = end >>> 6; word >= start >>> 6; word--) {
+                    long bits = chunk[word] & wordMask(word, start, end);
+                    if (bits != 0) {
+                        return chunkStart + ((long) word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+                    }
+                }
+            }
+            cell = first - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the obstacles of every chunk against a rectangle.
+     */
+    private boolean anyChunkInRect(int x0, int y0, int x1, int y1) {
+        for (int slot = 0; slot < chunkKeys.length; slot++) {
+            if (chunkKeys[slot] == 0) {
+                continue;
+            }
+            long chunkStart = (chunkKeys[slot] - 1) << CHUNK_SHIFT;
+            long[] chunk = chunks[slot];
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                for (long bits = chunk[word]; bits != 0; bits &= bits - 1) {
+                    long cell = chunkStart + ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+                    long y = cell / width;
+                    long x = cell - y * width;
+                    if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the lowest or highest chunk holding obstacles between two chunk indexes, both inclusive.
+     *
+     * @return The chunk index, or {@link #NO_CHUNK} if there is none.
+     */
+    private long nearestChunk(long from, long to, boolean lowest) {
+        long found = NO_CHUNK;
+        for (long key : chunkKeys) {
+            long chunkIndex = key - 1;
+            if (key != 0 && chunkIndex >= from && chunkIndex <= to
+                    && (found == NO_CHUNK || (lowest ? chunkIndex < found : chunkIndex > found))) {
+                found = chunkIndex;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Gets a chunk from the table.
+     *
+     * @return The chunk, or null if it holds no obstacle.
+     */
+    private long[] chunk(long chunkIndex) {
+        long key = chunkIndex + 1;
+        int mask = chunkKeys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long stored = chunkKeys[slot];
+            if (stored == key) {
+                return chunks[slot];
+            }
+            if (stored == 0) {
+                return null;
+            }
+        }
+    }
+
+    private void putChunk(long chunkIndex, long[] chunk) {
+        if ((chunkCount + 1) * 2 > chunkKeys.length) {
+            long[] oldKeys = chunkKeys;
+            long[][] oldChunks = chunks;
+            chunkKeys = new long[oldKeys.length << 1];
+            chunks = new long[oldKeys.length << 1][];
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    insert(oldKeys[slot], oldChunks[slot]);
+                }
+            }
+        }
+        insert(chunkIndex + 1, chunk);
+        chunkCount++;
+    }
+
+    private void insert(long key, long[] chunk) {
+        int mask = chunkKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (chunkKeys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        chunkKeys[slot] = key;
+        chunks[slot] = chunk;
+    }
+
+    private static int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * Gets the mask selecting the bits of a word that fall between two bit indexes of a chunk.
+     */
+    private static long wordMask(int word, int first, int end) {
+        long mask = -1L;
+        if (word == first >>> 6) {
+            mask &= -1L << (first & 63);
+        }
+        if (word == end >>> 6) {
+            mask &= -1L >>> (63 - (end & 63));
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the number of distinct obstacle cells inside the platform.
+     *
+     * @return The obstacle count.
+     */
+    int count() {
+        return count;
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private long cellIndex(int x, int y) {
+        return (long) y * width + x;
+    }
+}
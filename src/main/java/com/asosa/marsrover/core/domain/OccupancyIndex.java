@@ -0,0 +1,268 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash map from a packed (x, y) cell to the slot of the rover standing on it.
+ * <p>
+ * Keys and values live in two primitive arrays with linear probing and backward-shift deletion,
+ * so lookups, claims and moves take constant time and never allocate.
+ */
+final class OccupancyIndex {
+
+    /**
+     * Slot value returned for cells that are not occupied.
+     */
+    static final int NO_SLOT = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] slots;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    OccupancyIndex() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty index sized to hold the given number of rovers without rehashing.
+     *
+     * @param expectedSize The expected number of occupied cells.
+     */
+    OccupancyIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Packs a cell into a single long key.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return The packed key.
+     */
+    static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the slot of the rover occupying a cell.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return The slot, or {@link #NO_SLOT} if the cell is free.
+     */
+    int get(int x, int y) {
+        int index = indexOf(key(x, y));
+        return index < 0 ? NO_SLOT : slots[index];
+    }
+
+    /**
+     * Checks whether a cell is occupied.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return True if a rover occupies the cell; false otherwise.
+     */
+    boolean contains(int x, int y) {
+        return indexOf(key(x, y)) >= 0;
+    }
+
+    /**
+     * Claims a cell for a rover slot if it is still free.
+     *
+     * @param x    The X-coordinate.
+     * @param y    The Y-coordinate.
+     * @param slot The non-negative slot of the rover.
+     * @return True if the cell was claimed; false if it was already occupied.
+     */
+    boolean claim(int x, int y, int slot) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Invalid slot: " + slot);
+        }
+        long key = key(x, y);
+        int index = probe(key);
+        if (slots[index] != NO_SLOT) {
+            return false;
+        }
+        keys[index] = key;
+        slots[index] = slot;
+        if (++size > (mask + 1) >>> 1) {
+            allocate((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Reassigns an occupied cell to another slot.
+     *
+     * @param x    The X-coordinate.
+     * @param y    The Y-coordinate.
+     * @param slot The new slot of the rover standing on the cell.
+     */
+    void reassign(int x, int y, int slot) {
+        int index = indexOf(key(x, y));
+        if (index >= 0) {
+            slots[index] = slot;
+        }
+    }
+
+    /**
+     * Releases a cell.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return The slot that occupied the cell, or {@link #NO_SLOT} if it was free.
+     */
+    int release(int x, int y) {
+        int index = indexOf(key(x, y));
+        if (index < 0) {
+            return NO_SLOT;
+        }
+        int slot = slots[index];
+        delete(index);
+        return slot;
+    }
+
+    /**
+     * Moves a rover from one cell to another in a single step. The move is refused when the
+     * target cell is occupied. The source claim is only carried along when it belongs to the
+     * given slot, so rovers that were never deployed can query the index without disturbing it.
+     * A move onto the source cell, such as a step across a one-cell-wide wrapping platform, always
+     * succeeds and leaves the index unchanged.
+     *
+     * @param slot  The slot of the moving rover, or {@link #NO_SLOT} for an undeployed rover.
+     * @param fromX The current X-coordinate.
+     * @param fromY The current Y-coordinate.
+     * @param toX   The target X-coordinate.
+     * @param toY   The target Y-coordinate.
+     * @return True if the target cell was free; false otherwise.
+     */
+    boolean move(int slot, int fromX, int fromY, int toX, int toY) {
+        if (fromX == toX && fromY == toY) {
+            return true;
+        }
+        if (contains(toX, toY)) {
+            return false;
+        }
+        if (slot != NO_SLOT) {
+            int index = indexOf(key(fromX, fromY));
+            if (index >= 0 && slots[index] == slot) {
+                delete(index);
+                claim(toX, toY, slot);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grows the table so that it can hold the given number of rovers without rehashing.
+     *
+     * @param expectedSize The expected number of occupied cells.
+     */
+    void ensureCapacity(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > mask + 1) {
+            allocate(capacity);
+        }
+    }
+
+    /**
+     * Gets the number of occupied cells.
+     *
+     * @return The number of occupied cells.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every occupied cell, packed with {@link #key(int, int)}, to the given consumer.
+     *
+     * @param consumer The consumer of the packed cells.
+     */
+    void forEachCell(LongConsumer consumer) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != NO_SLOT) {
+                consumer.accept(keys[i]);
+            }
+        }
+    }
+
+    /**
+     * Releases every cell.
+     */
+    void clear() {
+        Arrays.fill(slots, NO_SLOT);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = probe(key);
+        return slots[index] == NO_SLOT ? -1 : index;
+    }
+
+    /**
+     * Finds the bucket holding the key, or the empty bucket where it would be inserted.
+     */
+    private int probe(long key) {
+        int index = hash(key) & mask;
+        while (slots[index] != NO_SLOT && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Removes the entry in a bucket and shifts the following entries of its probe chain back,
+     * so no tombstones are left behind.
+     */
+    private void delete(int index) {
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (slots[next] != NO_SLOT) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                slots[gap] = slots[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slots[gap] = NO_SLOT;
+        size--;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[capacity];
+        slots = new int[capacity];
+        Arrays.fill(slots, NO_SLOT);
+        mask = capacity - 1;
+        if (oldSlots != null) {
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] != NO_SLOT) {
+                    int index = probe(oldKeys[i]);
+                    keys[index] = oldKeys[i];
+                    slots[index] = oldSlots[i];
+                }
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max((long) expectedSize * 2, MIN_CAPACITY);
+        return (int) Math.min(Long.highestOneBit(needed - 1) << 1, 1 << 30);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,40 @@
+package com.asosa.marsrover.core.domain;
+
+/**
+ * Point-in-time metrics of a {@link CommandPipeline}.
+ *
+ * @param queueDepth      The number of commands waiting in the ring buffer.
+ * @param batches         The number of batches applied.
+ * @param commands        The number of commands applied.
+ * @param rejected        The number of commands dropped because their rover does not exist or
+ *                        its program failed.
+ * @param failures        The number of failures caught by the applier, such as a rover program or
+ *                        a tick listener that threw.
+ * @param lastBatchSize   The number of commands in the last batch.
+ * @param maxBatchSize    The largest batch so far.
+ * @param lastApplyNanos  The time taken to apply the last batch, in nanoseconds.
+ * @param maxApplyNanos   The longest time taken to apply a batch, in nanoseconds.
+ * @param totalApplyNanos The time spent applying batches, in nanoseconds.
+ */
+public record PipelineMetrics(int queueDepth, long batches, long commands, long rejected, long failures,
+                              int lastBatchSize, int maxBatchSize,
+                              long lastApplyNanos, long maxApplyNanos, long totalApplyNanos) {
+
+    /**
+     * Gets the mean number of commands per batch.
+     *
+     * @return The average batch size, or 0 before the first batch.
+     */
+    public double averageBatchSize() {
+        return batches == 0 ? 0 : (double) (commands + rejected) / batches;
+    }
+
+    /**
+     * Gets the mean time taken to apply a batch.
+     *
+     * @return The average apply latency in nanoseconds, or 0 before the first batch.
+     */
+    public double averageApplyNanos() {
+        return batches == 0 ? 0 : (double) totalApplyNanos / batches;
+    }
+}
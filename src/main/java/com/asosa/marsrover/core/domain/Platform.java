@@ -1,20 +1,29 @@
 package com.asosa.marsrover.core.domain;
 
 import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.UUIDGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Represents the surface on which the rover is moving.
  */
 public class Platform {
 
+    /**
+     * Packed cell returned by {@link #nextCell(int, int, int)} when a step is not possible.
+     */
+    static final long BLOCKED = Long.MIN_VALUE;
+
     private final String uuid;
     private final int width;
     private final int height;
     private List<Position> obstacles;
+    private ObstacleGrid obstacleGrid;
+    private volatile ObstacleGrid obstacleColumns; // Built on the first vertical ray-cast
+    private final OccupancyIndex occupancy;
+    private FreeCellIndex freeCells; // Built on first use, then kept in sync with the claims
     private final boolean allowWrapAround;
 
     /**
@@ -26,15 +35,31 @@ public class Platform {
      * @param allowWrapAround Determines whether the platform wraps around boundaries.
      */
     public Platform(int width, int height, List<Position> obstacles, boolean allowWrapAround) {
-        this.uuid = UUID.randomUUID().toString();
+        this(width, height, obstacles, allowWrapAround, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Creates a new instance of Platform whose UUID is taken from the given generator.
+     *
+     * @param width           The width of the platform.
+     * @param height          The height of the platform.
+     * @param obstacles       A list of obstacle positions.
+     * @param allowWrapAround Determines whether the platform wraps around boundaries.
+     * @param uuidGenerator   The generator of the platform's UUID.
+     */
+    public Platform(int width, int height, List<Position> obstacles, boolean allowWrapAround, UUIDGenerator uuidGenerator) {
+        this.uuid = uuidGenerator.generate();
         this.width = width;
         this.height = height;
         this.obstacles = obstacles != null ? new ArrayList<>(obstacles) : new ArrayList<>();
+        this.obstacleGrid = ObstacleGrid.of(width, height, this.obstacles);
+        this.occupancy = new OccupancyIndex();
         this.allowWrapAround = allowWrapAround;
     }
 
     /**
-     * Checks if a position (x, y) is valid on the platform.
+     * Checks if a position (x, y) is valid on the platform. Obstacles are looked up in the
+     * obstacle grid, so the check takes constant time regardless of the number of obstacles.
      *
      * @param x The X-coordinate.
      * @param y The Y-coordinate.
@@ -44,22 +69,284 @@ public class Platform {
         if (x < 0 || x >= width || y < 0 || y >= height) {
             return false;
         }
-        for (Position obstacle : obstacles) {
-            if (obstacle.getX() == x && obstacle.getY() == y) {
-                return false;
+        return !obstacleGrid.contains(x, y);
+    }
+
+    /**
+     * Computes the cell reached by a single step from (x, y), applying the wrap-around or boundary
+     * rules and checking obstacles. Other rovers are not taken into account.
+     *
+     * @param x       The current X-coordinate.
+     * @param y       The current Y-coordinate.
+     * @param heading The heading ordinal, see {@link Headings}.
+     * @return The packed target cell, or {@link #BLOCKED} if the step is not possible.
+     */
+    long nextCell(int x, int y, int heading) {
+        int nextX = x + Headings.DX[heading];
+        int nextY = y + Headings.DY[heading];
+
+        if (allowWrapAround) {
+            // Wrap-around logic
+            nextX = (nextX + width) % width;
+            nextY = (nextY + height) % height;
+        } else if (nextX < 0 || nextX >= width || nextY < 0 || nextY >= height) {
+            // Boundary restriction without wrap-around
+            return BLOCKED;
+        }
+
+        // Check for obstacles
+        if (obstacleGrid.contains(nextX, nextY)) {
+            return BLOCKED;
+        }
+        return OccupancyIndex.key(nextX, nextY);
+    }
+
+    /**
+     * Tells why a step that {@link #nextCell(int, int, int)} reported as {@link #BLOCKED} is not
+     * possible. Only meant for the blocked path, so that the regular step stays a single lookup.
+     *
+     * @param x       The current X-coordinate.
+     * @param y       The current Y-coordinate.
+     * @param heading The heading ordinal, see {@link Headings}.
+     * @return {@link MoveResult#BOUNDARY} if the step leaves the platform; {@link MoveResult#OBSTACLE}
+     * otherwise.
+     */
+    MoveResult blockedBy(int x, int y, int heading) {
+        int nextX = x + Headings.DX[heading];
+        int nextY = y + Headings.DY[heading];
+        if (!allowWrapAround && (nextX < 0 || nextX >= width || nextY < 0 || nextY >= height)) {
+            return MoveResult.BOUNDARY;
+        }
+        return MoveResult.OBSTACLE;
+    }
+
+    /**
+     * Casts a ray from a cell and counts how many consecutive steps a rover can take along it
+     * before reaching an edge or an obstacle. Other rovers are not taken into account.
+     * <p>
+     * Rows are scanned in the obstacle grid and columns in its transposed copy, a 64-cell word at a
+     * time, so a long run costs a handful of word reads instead of one lookup per step. The copy is
+     * only built once a rover travels along a column, and only holds the chunks with obstacles.
+     *
+     * @param x       The X-coordinate of the starting cell.
+     * @param y       The Y-coordinate of the starting cell.
+     * @param heading The heading ordinal.
+     * @param steps   The maximum number of steps.
+     * @return The number of steps that can be taken, from 0 to {@code steps}.
+     */
+    int clearSteps(int x, int y, int heading, int steps) {
+        if (steps <= 0) {
+            return 0;
+        }
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            // A rover placed off the platform takes a regular first step
+            long next = nextCell(x, y, heading);
+            return next == BLOCKED ? 0 : 1 + clearSteps(cellX(next), cellY(next), heading, steps - 1);
+        }
+        int dx = Headings.DX[heading];
+        if (dx != 0) {
+            return clearRun(obstacleGrid, y, x, width, dx, steps);
+        }
+        return clearRun(columns(), x, y, height, Headings.DY[heading], steps);
+    }
+
+    /**
+     * Gets the transposed obstacle grid, building it on first use. Concurrent first calls may each
+     * build a copy; they are identical, and the field publishes a fully built one.
+     */
+    private ObstacleGrid columns() {
+        ObstacleGrid columns = obstacleColumns;
+        if (columns == null) {
+            columns = obstacleGrid.count() == 0
+                    ? new ObstacleGrid(height, width)
+                    : ObstacleGrid.columnsOf(width, height, obstacles);
+            obstacleColumns = columns;
+        }
+        return columns;
+    }
+
+    /**
+     * Counts the clear steps along one line of a grid, wrapping around to the other end of the
+     * line when the platform allows it.
+     *
+     * @param grid      The grid whose rows are the lines to scan.
+     * @param line      The row of the grid.
+     * @param from      The starting position on the line.
+     * @param size      The length of the line.
+     * @param direction +1 to scan upwards, -1 to scan downwards.
+     * @param steps     The maximum number of steps.
+     */
+    private int clearRun(ObstacleGrid grid, int line, int from, int size, int direction, int steps) {
+        if (direction > 0) {
+            int end = (int) Math.min((long) from + steps, size - 1);
+            int hit = grid.firstInRow(line, from + 1, end);
+            if (hit >= 0) {
+                return hit - from - 1;
             }
+            if (!allowWrapAround || end - from >= steps) {
+                return end - from;
+            }
+            // Past the edge the ray continues from 0, at most up to the starting cell
+            int used = size - from;
+            hit = grid.firstInRow(line, 0, Math.min(from, steps - used));
+            return hit >= 0 ? used + hit - 1 : steps;
         }
-        return true;
+        int begin = (int) Math.max((long) from - steps, 0);
+        int hit = grid.lastInRow(line, begin, from - 1);
+        if (hit >= 0) {
+            return from - hit - 1;
+        }
+        if (!allowWrapAround || from - begin >= steps) {
+            return from - begin;
+        }
+        int used = from + 1;
+        hit = grid.lastInRow(line, Math.max(from, size - 1 - (steps - used)), size - 1);
+        return hit >= 0 ? from + (size - 1 - hit) : steps;
     }
 
     /**
-     * Checks if the given position is occupied by any existing rovers or obstacles.
+     * Gets the cell reached by taking a number of unobstructed steps from a cell, wrapping around
+     * the edges when the platform allows it.
+     *
+     * @param x       The X-coordinate of the starting cell.
+     * @param y       The Y-coordinate of the starting cell.
+     * @param heading The heading ordinal.
+     * @param steps   The number of steps.
+     * @return The packed cell.
+     */
+    long cellAfter(int x, int y, int heading, int steps) {
+        long nextX = x + (long) Headings.DX[heading] * steps;
+        long nextY = y + (long) Headings.DY[heading] * steps;
+        if (allowWrapAround) {
+            nextX = Math.floorMod(nextX, (long) width);
+            nextY = Math.floorMod(nextY, (long) height);
+        }
+        return OccupancyIndex.key((int) nextX, (int) nextY);
+    }
+
+    /**
+     * Checks that a rectangle holds no obstacle and, without wrap-around, lies inside the platform.
+     * With wrap-around the coordinates may exceed the platform and are folded back onto it.
+     *
+     * @param x0 The lowest X-coordinate, inclusive.
+     * @param y0 The lowest Y-coordinate, inclusive.
+     * @param x1 The highest X-coordinate, inclusive.
+     * @param y1 The highest Y-coordinate, inclusive.
+     * @return True if a rover can cross the whole rectangle; false otherwise.
+     */
+    boolean isAreaClear(long x0, long y0, long x1, long y1) {
+        if (!allowWrapAround) {
+            return x0 >= 0 && x1 < width && y0 >= 0 && y1 < height
+                    && !obstacleGrid.anyInRect((int) x0, (int) y0, (int) x1, (int) y1);
+        }
+        if (obstacleGrid.count() == 0) {
+            return true;
+        }
+        return isFoldedAreaClear(foldStart(x0, x1, width), foldEnd(x0, x1, width),
+                foldStart(y0, y1, height), foldEnd(y0, y1, height));
+    }
+
+    /**
+     * Checks a rectangle folded onto the platform. A range whose start lies after its end wraps
+     * around the edge, covering [start, size) and [0, end].
+     */
+    private boolean isFoldedAreaClear(int xStart, int xEnd, int yStart, int yEnd) {
+        if (yStart > yEnd) {
+            return isFoldedAreaClear(xStart, xEnd, yStart, height - 1) && isFoldedAreaClear(xStart, xEnd, 0, yEnd);
+        }
+        if (xStart > xEnd) {
+            return !obstacleGrid.anyInRect(xStart, yStart, width - 1, yEnd) && !obstacleGrid.anyInRect(0, yStart, xEnd, yEnd);
+        }
+        return !obstacleGrid.anyInRect(xStart, yStart, xEnd, yEnd);
+    }
+
+    /**
+     * Gets the start of an unbounded inclusive range folded onto [0, size).
+     */
+    private static int foldStart(long from, long to, int size) {
+        return to - from + 1 >= size ? 0 : (int) Math.floorMod(from, (long) size);
+    }
+
+    /**
+     * Gets the end of an unbounded inclusive range folded onto [0, size).
+     */
+    private static int foldEnd(long from, long to, int size) {
+        return to - from + 1 >= size ? size - 1 : (int) Math.floorMod(to, (long) size);
+    }
+
+    /**
+     * Checks whether any obstacle lies inside the platform.
+     *
+     * @return True if at least one cell holds an obstacle; false otherwise.
+     */
+    boolean hasObstacles() {
+        return obstacleGrid.count() > 0;
+    }
+
+    /**
+     * Gets the number of cells claimed by deployed rovers.
+     *
+     * @return The number of occupied cells.
+     */
+    int occupantCount() {
+        return occupancy.size();
+    }
+
+    /**
+     * Gets the slot of the rover deployed on a cell.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return The slot, or {@link OccupancyIndex#NO_SLOT} if the cell is free.
+     */
+    int occupantAt(int x, int y) {
+        return occupancy.get(x, y);
+    }
+
+    /**
+     * Gets the X-coordinate of a packed cell.
+     *
+     * @param cell The packed cell.
+     * @return The X-coordinate.
+     */
+    static int cellX(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    /**
+     * Gets the Y-coordinate of a packed cell.
+     *
+     * @param cell The packed cell.
+     * @return The Y-coordinate.
+     */
+    static int cellY(long cell) {
+        return (int) cell;
+    }
+
+    /**
+     * Checks if the given cell is occupied by a rover deployed on the platform.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     * @return True if a deployed rover stands on the cell; false otherwise.
+     */
+    public boolean isPositionOccupied(int x, int y) {
+        return occupancy.contains(x, y);
+    }
+
+    /**
+     * Checks if the given position is occupied by a rover deployed on the platform or by any of
+     * the given rovers. Deployed rovers are looked up in the occupancy index; the list only needs
+     * to be scanned for rovers that were never deployed.
      *
      * @param position The position to check.
      * @param rovers   The list of rovers on the platform.
      * @return True if the position is occupied; false otherwise.
      */
     public boolean isPositionOccupied(Position position, List<RoverControl> rovers) {
+        if (occupancy.contains(position.getX(), position.getY())) {
+            return true;
+        }
         for (RoverControl rover : rovers) {
             if (rover.getPosition().equals(position)) {
                 return true;
@@ -68,6 +355,131 @@ public class Platform {
         return false;
     }
 
+    /**
+     * Sizes the occupancy index for the given number of additional rovers, so a large deployment
+     * does not rehash it repeatedly.
+     *
+     * @param rovers The number of rovers about to be deployed.
+     */
+    void reserveOccupants(int rovers) {
+        occupancy.ensureCapacity(occupancy.size() + rovers);
+    }
+
+    /**
+     * Claims a cell for a deployed rover.
+     *
+     * @param x    The X-coordinate.
+     * @param y    The Y-coordinate.
+     * @param slot The slot of the rover in its mission control.
+     * @return True if the cell was claimed; false if another rover already occupies it.
+     */
+    boolean claimCell(int x, int y, int slot) {
+        if (!occupancy.claim(x, y, slot)) {
+            return false;
+        }
+        if (freeCells != null) {
+            freeCells.set(x, y, true);
+        }
+        return true;
+    }
+
+    /**
+     * Releases the claim on a cell.
+     *
+     * @param x The X-coordinate.
+     * @param y The Y-coordinate.
+     */
+    void releaseCell(int x, int y) {
+        occupancy.release(x, y);
+        refreshFreeCell(x, y);
+    }
+
+    /**
+     * Moves a rover's claim from one cell to another, refusing the move if the target cell is
+     * occupied by another rover. A move onto the rover's own cell succeeds without changes.
+     *
+     * @param slot  The slot of the moving rover, or {@link OccupancyIndex#NO_SLOT} if it was never deployed.
+     * @param fromX The current X-coordinate.
+     * @param fromY The current Y-coordinate.
+     * @param toX   The target X-coordinate.
+     * @param toY   The target Y-coordinate.
+     * @return True if the rover may move to the target cell; false otherwise.
+     */
+    boolean moveOccupant(int slot, int fromX, int fromY, int toX, int toY) {
+        if (!occupancy.move(slot, fromX, fromY, toX, toY)) {
+            return false;
+        }
+        if (fromX == toX && fromY == toY) {
+            return true;
+        }
+        refreshFreeCell(fromX, fromY);
+        refreshFreeCell(toX, toY);
+        return true;
+    }
+
+    /**
+     * Finds the first cell at or after (x, y) in row-major order that is inside the platform, holds
+     * no obstacle and is not claimed by a deployed rover.
+     * <p>
+     * The search runs on a bitmap of the blocked cells, built on the first call and then updated
+     * with every claim, so it skips 64 cells per word read and 4096 cells per summary bit.
+     *
+     * @param x The X-coordinate to start from.
+     * @param y The Y-coordinate to start from.
+     * @return The packed free cell, or {@link #BLOCKED} if there is none.
+     */
+    long nextFreeCell(int x, int y) {
+        if (y < 0) {
+            x = 0;
+            y = 0;
+        } else if (x < 0) {
+            x = 0;
+        } else if (x >= width) {
+            x = 0;
+            y++;
+        }
+        if (y >= height || width <= 0) {
+            return BLOCKED;
+        }
+        if ((long) width * height > FreeCellIndex.MAX_CELLS) {
+            return nextFreeCellByScan(x, y);
+        }
+        if (freeCells == null) {
+            freeCells = buildFreeCells();
+        }
+        long cell = freeCells.nextFree((long) y * width + x);
+        return cell < 0 ? BLOCKED : OccupancyIndex.key((int) (cell % width), (int) (cell / width));
+    }
+
+    private long nextFreeCellByScan(int x, int y) {
+        while (!isValidPosition(x, y) || occupancy.contains(x, y)) {
+            if (x < width - 1) {
+                x++;
+            } else if (y < height - 1) {
+                x = 0;
+                y++;
+            } else {
+                return BLOCKED;
+            }
+        }
+        return OccupancyIndex.key(x, y);
+    }
+
+    private FreeCellIndex buildFreeCells() {
+        FreeCellIndex index = new FreeCellIndex(width, height);
+        for (Position obstacle : obstacles) {
+            index.set(obstacle.getX(), obstacle.getY(), true);
+        }
+        occupancy.forEachCell(cell -> index.set(cellX(cell), cellY(cell), true));
+        return index;
+    }
+
+    private void refreshFreeCell(int x, int y) {
+        if (freeCells != null && x >= 0 && x < width && y >= 0 && y < height) {
+            freeCells.set(x, y, obstacleGrid.contains(x, y) || occupancy.contains(x, y));
+        }
+    }
+
     /**
      * Updates the obstacles on the platform.
      *
@@ -75,6 +487,9 @@ public class Platform {
      */
     public void setObstacles(List<Position> obstacles) {
         this.obstacles = new ArrayList<>(obstacles);
+        this.obstacleGrid = ObstacleGrid.of(width, height, this.obstacles);
+        this.obstacleColumns = null;
+        this.freeCells = null;
     }
 
     /**
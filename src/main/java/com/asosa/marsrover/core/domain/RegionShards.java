@@ -0,0 +1,320 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs fleet programs with the platform partitioned into rectangular tiles, each owned by a single
+ * worker thread.
+ * <p>
+ * A worker moves the rovers inside its tile without any locking, using a tile-local occupancy index.
+ * A rover stepping into another tile, including across a wrap-around edge, is handed to the owner of
+ * that tile through a lock-free queue. Every tick has two phases separated by a barrier:
+ * <ol>
+ *     <li>each worker executes the tick's command of its rovers in residence order and posts the
+ *     moves that leave the tile; the rover keeps its cell while the handoff is pending;</li>
+ *     <li>each worker accepts the incoming rovers in slot order if their target cell is still free,
+ *     and notifies the source tile, which releases the old cell at the start of the next tick.</li>
+ * </ol>
+ * Results are deterministic for a given tile layout, but cross-tile moves are resolved after the
+ * moves inside the tiles, so they can differ from the lockstep order of {@link FleetState#run(byte[][])}.
+ * The fleet is assumed to be the only occupant of the platform while the run is in progress.
+ */
+final class RegionShards {
+
+    private static final SimulationMetrics METRICS = SimulationMetrics.global();
+
+    private final Platform platform;
+    private final int[] xs;
+    private final int[] ys;
+    private final byte[] headings;
+    private final int size;
+    private final int columns;
+    private final int rows;
+    private final Tile[] tiles;
+    private final int[] owners; // Tile index of every slot
+
+    /**
+     * Prepares a sharded run over the given fleet arrays.
+     *
+     * @param platform The platform on which the fleet operates.
+     * @param xs       The X-coordinates of the fleet.
+     * @param ys       The Y-coordinates of the fleet.
+     * @param headings The heading ordinals of the fleet.
+     * @param size     The number of rovers.
+     * @param threads  The number of worker threads, which is also the number of tiles.
+     */
+    RegionShards(Platform platform, int[] xs, int[] ys, byte[] headings, int size, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.platform = platform;
+        this.xs = xs;
+        this.ys = ys;
+        this.headings = headings;
+        this.size = size;
+        int columns = (int) Math.sqrt(threads);
+        while (threads % columns != 0) {
+            columns--;
+        }
+        this.columns = columns;
+        this.rows = threads / columns;
+        this.tiles = new Tile[threads];
+        for (int i = 0; i < threads; i++) {
+            tiles[i] = new Tile(i);
+        }
+        this.owners = new int[size];
+        for (int slot = 0; slot < size; slot++) {
+            int tile = tileOf(xs[slot], ys[slot]);
+            owners[slot] = tile;
+            tiles[tile].admit(slot, xs[slot], ys[slot]);
+        }
+    }
+
+    /**
+     * Runs one ASCII-encoded program per rover and moves the platform claims to the final cells.
+     * If a worker fails or the run is interrupted, the other workers are stopped and the fleet is
+     * restored to its state before the run, which the platform claims still match.
+     *
+     * @param programs One program per rover.
+     * @throws IllegalArgumentException If a program contains an invalid command.
+     * @throws IllegalStateException    If the run is interrupted.
+     */
+    void run(byte[][] programs) {
+        int ticks = 0;
+        for (byte[] program : programs) {
+            for (byte code : program) {
+                Command.fromCode((char) (code & 0xFF));
+            }
+            ticks = Math.max(ticks, program.length);
+        }
+        int[] startXs = Arrays.copyOf(xs, size);
+        int[] startYs = Arrays.copyOf(ys, size);
+        byte[] startHeadings = Arrays.copyOf(headings, size);
+
+        try {
+            runWorkers(programs, ticks);
+        } catch (RuntimeException | Error e) {
+            System.arraycopy(startXs, 0, xs, 0, size);
+            System.arraycopy(startYs, 0, ys, 0, size);
+            System.arraycopy(startHeadings, 0, headings, 0, size);
+            throw e;
+        }
+        updatePlatform(startXs, startYs);
+        for (Tile tile : tiles) {
+            METRICS.movesBlocked(tile.blocked);
+        }
+    }
+
+    /**
+     * Runs the workers until they are all done. The first worker to fail records its exception and
+     * interrupts the others, breaking the barrier they wait on, so that no worker is left parked.
+     * The workers have all terminated when this method returns or throws.
+     */
+    private void runWorkers(byte[][] programs, int ticks) {
+        CyclicBarrier barrier = new CyclicBarrier(tiles.length);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(tiles.length);
+        try {
+            List<Future<?>> workers = new ArrayList<>(tiles.length);
+            for (Tile tile : tiles) {
+                workers.add(executor.submit(() -> {
+                    try {
+                        for (int tick = 0; tick < ticks; tick++) {
+                            tile.executeTick(programs, tick);
+                            barrier.await();
+                            tile.acceptArrivals();
+                            barrier.await();
+                        }
+                        tile.releaseDepartures();
+                        return null;
+                    } catch (Throwable t) {
+                        if (failure.compareAndSet(null, t)) {
+                            executor.shutdownNow();
+                        }
+                        throw t;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    // Recorded in failure by the worker
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sharded run interrupted", e);
+        } finally {
+            executor.shutdownNow();
+            executor.close();
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Sharded run failed", cause);
+        }
+    }
+
+    /**
+     * Moves the platform claims of the rovers that changed cell. All old cells are released
+     * before the new ones are claimed, since rovers may have moved into each other's cells.
+     */
+    private void updatePlatform(int[] startXs, int[] startYs) {
+        for (int slot = 0; slot < size; slot++) {
+            if (startXs[slot] != xs[slot] || startYs[slot] != ys[slot]) {
+                platform.releaseCell(startXs[slot], startYs[slot]);
+            }
+        }
+        for (int slot = 0; slot < size; slot++) {
+            if (startXs[slot] != xs[slot] || startYs[slot] != ys[slot]) {
+                platform.claimCell(xs[slot], ys[slot], slot);
+            }
+        }
+    }
+
+    private int tileOf(int x, int y) {
+        int column = (int) ((long) x * columns / platform.getWidth());
+        int row = (int) ((long) y * rows / platform.getHeight());
+        return Math.clamp(row, 0, rows - 1) * columns + Math.clamp(column, 0, columns - 1);
+    }
+
+    /**
+     * A rover crossing from one tile to another.
+     */
+    private record Handoff(int slot, int fromX, int fromY, int toX, int toY) {
+    }
+
+    /**
+     * A region of the platform and the rovers inside it. Only the owning worker touches its fields;
+     * other workers only write to the queues.
+     */
+    private final class Tile {
+        private final int index;
+        private final OccupancyIndex occupancy = new OccupancyIndex();
+        private final ConcurrentLinkedQueue<Handoff> requests = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Handoff> departures = new ConcurrentLinkedQueue<>();
+        private final List<Handoff> arrivals = new ArrayList<>();
+        private final long[] blocked = SimulationMetrics.newBlockedTally(); // Added once the run succeeds
+        private int[] residents = new int[16];
+        private int residentCount;
+
+        Tile(int index) {
+            this.index = index;
+        }
+
+        void admit(int slot, int x, int y) {
+            occupancy.claim(x, y, slot);
+            if (residentCount == residents.length) {
+                residents = Arrays.copyOf(residents, residentCount << 1);
+            }
+            residents[residentCount++] = slot;
+        }
+
+        /**
+         * First phase: executes the tick's command of every resident rover.
+         */
+        void executeTick(byte[][] programs, int tick) {
+            releaseDepartures();
+            for (int i = 0; i < residentCount; i++) {
+                int slot = residents[i];
+                byte[] program = programs[slot];
+                if (tick >= program.length) {
+                    continue;
+                }
+                switch (program[tick]) {
+                    case 'L' -> headings[slot] = (byte) Headings.left(headings[slot]);
+                    case 'R' -> headings[slot] = (byte) Headings.right(headings[slot]);
+                    default -> move(slot);
+                }
+            }
+        }
+
+        private void move(int slot) {
+            int x = xs[slot];
+            int y = ys[slot];
+            long next = platform.nextCell(x, y, headings[slot]);
+            if (next == Platform.BLOCKED) {
+                blocked[platform.blockedBy(x, y, headings[slot]).ordinal()]++;
+                return;
+            }
+            int nextX = Platform.cellX(next);
+            int nextY = Platform.cellY(next);
+            int target = tileOf(nextX, nextY);
+            if (target != index) {
+                tiles[target].requests.add(new Handoff(slot, x, y, nextX, nextY));
+            } else if (occupancy.move(slot, x, y, nextX, nextY)) {
+                xs[slot] = nextX;
+                ys[slot] = nextY;
+            } else {
+                blocked[MoveResult.ROVER.ordinal()]++;
+            }
+        }
+
+        /**
+         * Second phase: accepts incoming rovers whose target cell is still free.
+         */
+        void acceptArrivals() {
+            Handoff handoff;
+            while ((handoff = requests.poll()) != null) {
+                arrivals.add(handoff);
+            }
+            if (arrivals.isEmpty()) {
+                return;
+            }
+            arrivals.sort(Comparator.comparingInt(Handoff::slot));
+            for (Handoff arrival : arrivals) {
+                if (occupancy.contains(arrival.toX(), arrival.toY())) {
+                    blocked[MoveResult.ROVER.ordinal()]++;
+                    continue;
+                }
+                int slot = arrival.slot();
+                xs[slot] = arrival.toX();
+                ys[slot] = arrival.toY();
+                owners[slot] = index;
+                admit(slot, arrival.toX(), arrival.toY());
+                tiles[tileOf(arrival.fromX(), arrival.fromY())].departures.add(arrival);
+            }
+            arrivals.clear();
+        }
+
+        /**
+         * Releases the cells of the rovers accepted by other tiles and drops them from the residents.
+         */
+        void releaseDepartures() {
+            Handoff departure;
+            boolean departed = false;
+            while ((departure = departures.poll()) != null) {
+                occupancy.release(departure.fromX(), departure.fromY());
+                departed = true;
+            }
+            if (!departed) {
+                return;
+            }
+            int kept = 0;
+            for (int i = 0; i < residentCount; i++) {
+                if (owners[residents[i]] == index) {
+                    residents[kept++] = residents[i];
+                }
+            }
+            residentCount = kept;
+        }
+    }
+}
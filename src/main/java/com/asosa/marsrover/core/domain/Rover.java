@@ -3,17 +3,19 @@ package com.asosa.marsrover.core.domain;
 import com.asosa.marsrover.common.Command;
 import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
-
-import java.util.UUID;
+import com.asosa.marsrover.common.UUIDGenerator;
 
 /**
  * Represents a Rover with a unique ID, position, direction, and associated platform.
  */
 public class Rover {
+    private static final SimulationMetrics METRICS = SimulationMetrics.global();
+
     private final String uuid;
     private Position position;
     private Direction direction;
     private Platform platform;
+    private int slot = OccupancyIndex.NO_SLOT;
 
     /**
      * Constructs a new Rover with the specified position, direction, and platform.
@@ -25,57 +27,91 @@ public class Rover {
      * @throws IllegalArgumentException If the direction is invalid.
      */
     public Rover(int x, int y, Direction direction, Platform platform) {
+        this(x, y, direction, platform, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Constructs a new Rover whose UUID is taken from the given generator.
+     *
+     * @param x             The initial X-coordinate.
+     * @param y             The initial Y-coordinate.
+     * @param direction     The initial direction.
+     * @param platform      The platform on which the rover operates.
+     * @param uuidGenerator The generator of the rover's UUID.
+     * @throws IllegalArgumentException If the direction is invalid.
+     */
+    public Rover(int x, int y, Direction direction, Platform platform, UUIDGenerator uuidGenerator) {
         if (direction == null) {
             throw new IllegalArgumentException("Invalid direction");
         }
-        this.uuid = UUID.randomUUID().toString();
+        this.uuid = uuidGenerator.generate();
         this.position = new Position(x, y);
         this.direction = direction;
         this.platform = platform;
     }
 
     /**
-     * Moves the rover in the current direction.
+     * Moves the rover in the current direction. The move is skipped when the next cell is outside
+     * the platform, holds an obstacle or is occupied by another rover.
+     *
+     * @return The outcome of the move, telling what stopped the rover if it could not move.
      */
-    public void move() {
+    public MoveResult move() {
+        METRICS.commandExecuted();
         if (platform == null) {
-            return;
+            METRICS.moveBlocked(MoveResult.BOUNDARY);
+            return MoveResult.BOUNDARY;
         }
 
-        int nextX = position.getX();
-        int nextY = position.getY();
-
-        switch (direction) {
-            case NORTH -> nextY++;
-            case EAST -> nextX++;
-            case SOUTH -> nextY--;
-            case WEST -> nextX--;
-        }
-
-        if (platform.isAllowWrapAround()) {
-            // Wrap-around logic
-            nextX = (nextX + platform.getWidth()) % platform.getWidth();
-            nextY = (nextY + platform.getHeight()) % platform.getHeight();
-        } else {
-            // Boundary restriction without wrap-around
-            if (nextX < 0 || nextX >= platform.getWidth() || nextY < 0 || nextY >= platform.getHeight()) {
-                return;
-            }
+        int x = position.getX();
+        int y = position.getY();
+        long next = platform.nextCell(x, y, direction.ordinal());
+        if (next == Platform.BLOCKED) {
+            MoveResult blocked = platform.blockedBy(x, y, direction.ordinal());
+            METRICS.moveBlocked(blocked);
+            return blocked;
         }
+        int nextX = Platform.cellX(next);
+        int nextY = Platform.cellY(next);
 
-        // Check for obstacles
-        if (!platform.isValidPosition(nextX, nextY)) {
-            return;
+        // Check for other rovers, carrying this rover's claim on the platform along
+        if (!platform.moveOccupant(slot, x, y, nextX, nextY)) {
+            METRICS.moveBlocked(MoveResult.ROVER);
+            return MoveResult.ROVER;
         }
 
         // Update the position
         position = new Position(nextX, nextY);
+        return MoveResult.MOVED;
+    }
+
+    /**
+     * Moves the rover up to the given number of steps in the current direction, stopping before
+     * the first edge, obstacle or other rover. Obstacles are found with a single ray-cast against
+     * the platform, so the cost barely grows with the length of the run.
+     *
+     * @param steps The number of steps.
+     * @throws IllegalArgumentException If the number of steps is negative.
+     */
+    public void moveForward(int steps) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Steps must not be negative");
+        }
+        METRICS.commandsExecuted(steps);
+        if (platform == null || steps == 0) {
+            return;
+        }
+        int x = position.getX();
+        int y = position.getY();
+        long next = runStraight(x, y, direction.ordinal(), steps, x, y, isAlone(x, y));
+        settle(Platform.cellX(next), Platform.cellY(next), direction.ordinal());
     }
 
     /**
      * Turns the rover to the left.
      */
     public void turnLeft() {
+        METRICS.commandExecuted();
         switch (direction) {
             case NORTH -> direction = Direction.WEST;
             case WEST -> direction = Direction.SOUTH;
@@ -88,6 +124,7 @@ public class Rover {
      * Turns the rover to the right.
      */
     public void turnRight() {
+        METRICS.commandExecuted();
         switch (direction) {
             case NORTH -> direction = Direction.EAST;
             case EAST -> direction = Direction.SOUTH;
@@ -111,6 +148,221 @@ public class Rover {
         }
     }
 
+    /**
+     * Executes a whole command program such as {@code "LMLMLMLMM"}.
+     * <p>
+     * Commands are decoded through a lookup table and run on primitive state, so no objects are
+     * created per command; the final position is materialised once the program ends. Moves follow
+     * the same rules as {@link #move()}. If an invalid command is found, the commands before it
+     * remain applied.
+     *
+     * @param program The command program.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     */
+    public void execute(CharSequence program) {
+        int originX = position.getX();
+        int originY = position.getY();
+        int x = originX;
+        int y = originY;
+        int heading = direction.ordinal();
+        int i = 0;
+        try {
+            for (int length = program.length(); i < length; i++) {
+                switch (Command.fromCode(program.charAt(i))) {
+                    case MOVE -> {
+                        long next = advance(x, y, heading, originX, originY);
+                        x = Platform.cellX(next);
+                        y = Platform.cellY(next);
+                    }
+                    case LEFT -> heading = Headings.left(heading);
+                    case RIGHT -> heading = Headings.right(heading);
+                }
+            }
+        } finally {
+            settle(x, y, heading);
+            METRICS.commandsExecuted(i);
+        }
+    }
+
+    /**
+     * Executes a whole command program encoded as ASCII bytes.
+     *
+     * @param program The command program.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     * @see #execute(CharSequence)
+     */
+    public void execute(byte[] program) {
+        execute(program, 0, program.length);
+    }
+
+    /**
+     * Executes a command program encoded as ASCII bytes within a region of an array.
+     *
+     * @param program The buffer holding the command program.
+     * @param offset  The index of the first command.
+     * @param length  The number of commands.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     * @see #execute(CharSequence)
+     */
+    public void execute(byte[] program, int offset, int length) {
+        int originX = position.getX();
+        int originY = position.getY();
+        int x = originX;
+        int y = originY;
+        int heading = direction.ordinal();
+        int i = offset;
+        try {
+            for (int end = offset + length; i < end; i++) {
+                switch (Command.fromCode((char) (program[i] & 0xFF))) {
+                    case MOVE -> {
+                        long next = advance(x, y, heading, originX, originY);
+                        x = Platform.cellX(next);
+                        y = Platform.cellY(next);
+                    }
+                    case LEFT -> heading = Headings.left(heading);
+                    case RIGHT -> heading = Headings.right(heading);
+                }
+            }
+        } finally {
+            settle(x, y, heading);
+            METRICS.commandsExecuted(i - offset);
+        }
+    }
+
+    /**
+     * Executes a command program encoded as ASCII bytes, stopping at the first move blocked by an
+     * obstacle or another rover. The rover stays in front of what blocked it and the remaining
+     * commands are not executed. Moves blocked by the edge of the platform are skipped, like in
+     * {@link #execute(byte[], int, int)}.
+     *
+     * @param program The buffer holding the command program.
+     * @param offset  The index of the first command.
+     * @param length  The number of commands.
+     * @return {@link MoveResult#MOVED} if the whole program ran; otherwise {@link MoveResult#OBSTACLE}
+     * or {@link MoveResult#ROVER}, for what stopped the rover.
+     * @throws IllegalArgumentException If the program contains an invalid command.
+     */
+    public MoveResult executeUntilObstructed(byte[] program, int offset, int length) {
+        int originX = position.getX();
+        int originY = position.getY();
+        int x = originX;
+        int y = originY;
+        int heading = direction.ordinal();
+        int i = offset;
+        int edgeHits = 0;
+        MoveResult stop = MoveResult.MOVED;
+        try {
+            for (int end = offset + length; i < end; i++) {
+                switch (Command.fromCode((char) (program[i] & 0xFF))) {
+                    case MOVE -> {
+                        if (platform == null) {
+                            edgeHits++;
+                            continue;
+                        }
+                        long next = platform.nextCell(x, y, heading);
+                        if (next == Platform.BLOCKED) {
+                            if (platform.blockedBy(x, y, heading) == MoveResult.OBSTACLE) {
+                                stop = MoveResult.OBSTACLE;
+                                return stop;
+                            }
+                            edgeHits++;
+                            continue;
+                        }
+                        int nextX = Platform.cellX(next);
+                        int nextY = Platform.cellY(next);
+                        boolean ownCell = slot != OccupancyIndex.NO_SLOT && nextX == originX && nextY == originY;
+                        if (!ownCell && platform.isPositionOccupied(nextX, nextY)) {
+                            stop = MoveResult.ROVER;
+                            return stop;
+                        }
+                        x = nextX;
+                        y = nextY;
+                    }
+                    case LEFT -> heading = Headings.left(heading);
+                    case RIGHT -> heading = Headings.right(heading);
+                }
+            }
+            return MoveResult.MOVED;
+        } finally {
+            settle(x, y, heading);
+            // The command that stopped the rover was executed, as a blocked move
+            METRICS.commandsExecuted(i - offset + (stop == MoveResult.MOVED ? 0 : 1));
+            METRICS.moveBlocked(MoveResult.BOUNDARY, edgeHits);
+            METRICS.moveBlocked(stop);
+        }
+    }
+
+    /**
+     * Executes a compiled program once. Every straight run of moves is resolved with a single
+     * ray-cast against the platform instead of one {@link #move()} per command.
+     *
+     * @param program The compiled program.
+     */
+    public void execute(CommandProgram program) {
+        execute(program, 1);
+    }
+
+    /**
+     * Executes a compiled program the given number of times.
+     * <p>
+     * On a wrap-around platform without obstacles or other rovers the result is computed in closed
+     * form from the displacement of one rotation period, so the cost does not depend on the number
+     * of repetitions. Otherwise, while the rover is alone on the platform, every pass whose cells are
+     * inside the platform and free of obstacles is applied as a single translation; only the passes
+     * that touch an obstacle or an edge, or any pass while other rovers are deployed, are replayed
+     * segment by segment with the rules of {@link #move()}.
+     *
+     * @param program     The compiled program.
+     * @param repetitions The number of passes.
+     * @throws IllegalArgumentException If the number of repetitions is negative.
+     */
+    public void execute(CommandProgram program, long repetitions) {
+        if (repetitions < 0) {
+            throw new IllegalArgumentException("Repetitions must not be negative");
+        }
+        int originX = position.getX();
+        int originY = position.getY();
+        int x = originX;
+        int y = originY;
+        int heading = direction.ordinal();
+        METRICS.commandsExecuted(program.length(), repetitions);
+        if (platform == null) {
+            settle(x, y, program.headingAfter(heading, repetitions));
+            return;
+        }
+
+        int width = platform.getWidth();
+        int height = platform.getHeight();
+        boolean alone = isAlone(originX, originY);
+        long passes = repetitions;
+        if (alone && platform.isAllowWrapAround() && !platform.hasObstacles()) {
+            int period = program.period();
+            long cycleX = 0;
+            long cycleY = 0;
+            for (int i = 0, h = heading; i < period; i++, h = program.headingAfter(h)) {
+                cycleX += program.deltaX(h);
+                cycleY += program.deltaY(h);
+            }
+            long cycles = passes / period;
+            x = (int) Math.floorMod(x + Math.floorMod(cycles, width) * Math.floorMod(cycleX, width), (long) width);
+            y = (int) Math.floorMod(y + Math.floorMod(cycles, height) * Math.floorMod(cycleY, height), (long) height);
+            passes -= cycles * period;
+        }
+        for (; passes > 0; passes--) {
+            if (alone && platform.isAreaClear(x + program.minX(heading), y + program.minY(heading),
+                    x + program.maxX(heading), y + program.maxY(heading))) {
+                x = (int) Math.floorMod(x + program.deltaX(heading), (long) width);
+                y = (int) Math.floorMod(y + program.deltaY(heading), (long) height);
+            } else {
+                long cell = replay(program, x, y, heading, originX, originY, alone);
+                x = Platform.cellX(cell);
+                y = Platform.cellY(cell);
+            }
+            heading = program.headingAfter(heading);
+        }
+        settle(x, y, heading);
+    }
+
     public String getUuid() {
         return uuid;
     }
@@ -123,7 +375,144 @@ public class Rover {
         return direction;
     }
 
+    /**
+     * Gets an immutable copy of the rover's current state.
+     *
+     * @return The snapshot.
+     */
+    public RoverSnapshot snapshot() {
+        return new RoverSnapshot(uuid, position.getX(), position.getY(), direction);
+    }
+
     public void setPlatform(Platform platform) {
         this.platform = platform;
     }
+
+    /**
+     * Advances one step during a program run. The rover's claim stays on its original cell until
+     * the program ends, so that cell counts as free for this rover. Blocked steps are counted here,
+     * off the path of the steps that move.
+     *
+     * @return The packed cell the rover ends up on, which is the current one if the step is blocked.
+     */
+    private long advance(int x, int y, int heading, int originX, int originY) {
+        long current = OccupancyIndex.key(x, y);
+        if (platform == null) {
+            METRICS.moveBlocked(MoveResult.BOUNDARY);
+            return current;
+        }
+        long next = platform.nextCell(x, y, heading);
+        if (next == Platform.BLOCKED) {
+            METRICS.moveBlocked(platform.blockedBy(x, y, heading));
+            return current;
+        }
+        int nextX = Platform.cellX(next);
+        int nextY = Platform.cellY(next);
+        boolean ownCell = slot != OccupancyIndex.NO_SLOT && nextX == originX && nextY == originY;
+        if (!ownCell && platform.isPositionOccupied(nextX, nextY)) {
+            METRICS.moveBlocked(MoveResult.ROVER);
+            return current;
+        }
+        return next;
+    }
+
+    /**
+     * Checks whether no rover other than this one is deployed on the platform.
+     */
+    private boolean isAlone(int x, int y) {
+        boolean ownsCell = slot != OccupancyIndex.NO_SLOT && platform.occupantAt(x, y) == slot;
+        return platform.occupantCount() == (ownsCell ? 1 : 0);
+    }
+
+    /**
+     * Replays one pass of a compiled program segment by segment.
+     *
+     * @return The packed cell the rover ends the pass on.
+     */
+    private long replay(CommandProgram program, int x, int y, int heading, int originX, int originY, boolean alone) {
+        for (int i = 0, segments = program.segments(); i < segments; i++) {
+            heading = (heading + program.turn(i)) & 3;
+            int steps = program.steps(i);
+            if (steps == 0) {
+                continue;
+            }
+            long next = runStraight(x, y, heading, steps, originX, originY, alone);
+            x = Platform.cellX(next);
+            y = Platform.cellY(next);
+        }
+        return OccupancyIndex.key(x, y);
+    }
+
+    /**
+     * Moves up to the given number of steps in a straight line. The reach is found with one
+     * ray-cast against the platform obstacles, then shortened to stop behind the first other rover
+     * on the way, if any.
+     *
+     * @return The packed cell the rover ends up on.
+     */
+    private long runStraight(int x, int y, int heading, int steps, int originX, int originY, boolean alone) {
+        int reach = platform.clearSteps(x, y, heading, steps);
+        if (!alone) {
+            int lap = Headings.DX[heading] != 0 ? platform.getWidth() : platform.getHeight();
+            for (int i = 1, end = Math.min(reach, lap); i <= end; i++) {
+                long cell = platform.cellAfter(x, y, heading, i);
+                int cellX = Platform.cellX(cell);
+                int cellY = Platform.cellY(cell);
+                boolean ownCell = slot != OccupancyIndex.NO_SLOT && cellX == originX && cellY == originY;
+                if (!ownCell && platform.isPositionOccupied(cellX, cellY)) {
+                    reach = i - 1;
+                    break;
+                }
+            }
+        }
+        return platform.cellAfter(x, y, heading, reach);
+    }
+
+    /**
+     * Stores the state reached at the end of a program run and moves the platform claim along.
+     */
+    private void settle(int x, int y, int heading) {
+        direction = Headings.DIRECTIONS[heading];
+        if (x != position.getX() || y != position.getY()) {
+            platform.moveOccupant(slot, position.getX(), position.getY(), x, y);
+            position = new Position(x, y);
+        }
+    }
+
+    /**
+     * Overwrites the rover state with the result of a fleet simulation. The platform claim is
+     * expected to have been moved by the simulation already.
+     *
+     * @param x       The X-coordinate.
+     * @param y       The Y-coordinate.
+     * @param heading The heading ordinal.
+     * @return True if the position or direction changed.
+     */
+    boolean place(int x, int y, int heading) {
+        Direction previous = direction;
+        direction = Headings.DIRECTIONS[heading];
+        if (x != position.getX() || y != position.getY()) {
+            position = new Position(x, y);
+            return true;
+        }
+        return direction != previous;
+    }
+
+    /**
+     * Gets the slot of the rover in the mission control it is deployed to.
+     *
+     * @return The slot, or {@link OccupancyIndex#NO_SLOT} if the rover is not deployed.
+     */
+    int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Records the slot under which the rover's cell is claimed on the platform.
+     *
+     * @param slot The slot of the rover in its mission control.
+     */
+    void assignSlot(int slot) {
+        this.slot = slot;
+    }
 }
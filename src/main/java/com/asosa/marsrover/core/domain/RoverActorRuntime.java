@@ -0,0 +1,196 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Drives every rover from its own virtual thread, which consumes a bounded mailbox of commands and
+ * applies them in order through {@link RoverControl#executeCommand(Command)}.
+ * <p>
+ * An actor is started the first time a command is sent to its rover, so idle rovers cost nothing,
+ * and a parked virtual thread only costs a small heap object, so hundreds of thousands of rovers
+ * can be driven at once. When a mailbox is full, {@link #offer} refuses the command and
+ * {@link #send} waits, which pushes back on clients that produce commands faster than the rover
+ * can apply them.
+ * <p>
+ * Actors of different rovers run concurrently, so the rovers must come from a thread-safe mission
+ * such as {@link ConcurrentMissionControl}.
+ */
+public class RoverActorRuntime implements AutoCloseable {
+
+    private final Function<String, RoverControl> controls;
+    private final int mailboxCapacity;
+    private final Map<String, Actor> actors = new ConcurrentHashMap<>();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates a runtime for the rovers of a concurrent mission control.
+     *
+     * @param missionControl  The mission control holding the rovers.
+     * @param mailboxCapacity The number of commands each mailbox can hold.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public RoverActorRuntime(ConcurrentMissionControl missionControl, int mailboxCapacity) {
+        this(missionControl::getRoverControl, mailboxCapacity);
+    }
+
+    /**
+     * Creates a runtime resolving rovers through the given function.
+     *
+     * @param controls        Resolves the control of a rover from its UUID.
+     * @param mailboxCapacity The number of commands each mailbox can hold.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    RoverActorRuntime(Function<String, RoverControl> controls, int mailboxCapacity) {
+        if (mailboxCapacity < 1) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive");
+        }
+        this.controls = controls;
+        this.mailboxCapacity = mailboxCapacity;
+    }
+
+    /**
+     * Queues a command for a rover without waiting.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param command   The command.
+     * @return True if the command was queued; false if the mailbox is full.
+     * @throws IllegalArgumentException If no rover has the given UUID.
+     * @throws IllegalStateException    If the runtime is closed.
+     */
+    public boolean offer(String roverUuid, Command command) {
+        return actor(roverUuid).mailbox.offer(command);
+    }
+
+    /**
+     * Queues a command for a rover, waiting up to the given time for room in its mailbox.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param command   The command.
+     * @param timeout   How long to wait.
+     * @param unit      The unit of the timeout.
+     * @return True if the command was queued; false if the mailbox stayed full.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean offer(String roverUuid, Command command, long timeout, TimeUnit unit) throws InterruptedException {
+        return actor(roverUuid).mailbox.offer(command, timeout, unit);
+    }
+
+    /**
+     * Queues a command for a rover, waiting as long as its mailbox is full.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @param command   The command.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void send(String roverUuid, Command command) throws InterruptedException {
+        actor(roverUuid).mailbox.put(command);
+    }
+
+    /**
+     * Gets the number of commands waiting in a rover's mailbox.
+     *
+     * @param roverUuid The UUID of the rover.
+     * @return The number of queued commands, 0 if the rover has no actor yet.
+     */
+    public int pending(String roverUuid) {
+        Actor actor = actors.get(roverUuid);
+        return actor == null ? 0 : actor.mailbox.size();
+    }
+
+    /**
+     * Gets the number of commands applied by all actors so far.
+     *
+     * @return The number of applied commands.
+     */
+    public long processed() {
+        return processed.sum();
+    }
+
+    /**
+     * Gets the number of commands whose execution threw an exception. A failing command does not
+     * stop the actor.
+     *
+     * @return The number of failed commands.
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Stops accepting commands, lets every actor apply the commands already in its mailbox, then
+     * waits for the actors to finish. Commands queued by a client racing with the close may be
+     * left unapplied.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        for (Actor actor : actors.values()) {
+            actor.thread.interrupt();
+        }
+        for (Actor actor : actors.values()) {
+            actor.thread.join();
+        }
+    }
+
+    private Actor actor(String roverUuid) {
+        if (closed) {
+            throw new IllegalStateException("Runtime closed");
+        }
+        Actor actor = actors.computeIfAbsent(roverUuid, uuid -> new Actor(controls.apply(uuid)));
+        if (closed) {
+            // Raced with close(); this actor may have missed the interrupt
+            actor.thread.interrupt();
+            throw new IllegalStateException("Runtime closed");
+        }
+        return actor;
+    }
+
+    /**
+     * A rover, its mailbox and the virtual thread consuming it.
+     */
+    private final class Actor {
+        private final RoverControl rover;
+        private final BlockingQueue<Command> mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+        private final Thread thread;
+
+        Actor(RoverControl rover) {
+            this.rover = rover;
+            this.thread = Thread.ofVirtual().name("rover-" + rover.getUuid()).start(this::run);
+        }
+
+        private void run() {
+            try {
+                while (true) {
+                    apply(mailbox.take());
+                }
+            } catch (InterruptedException e) {
+                // Closing: apply what is left, then stop
+                Command command;
+                while ((command = mailbox.poll()) != null) {
+                    apply(command);
+                }
+            }
+        }
+
+        private void apply(Command command) {
+            try {
+                rover.executeCommand(command);
+                processed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+            }
+        }
+    }
+}
@@ -18,8 +18,10 @@ public interface RoverControl {
 
     /**
      * Moves the rover to the next position based on its current direction.
+     *
+     * @return The outcome of the move, telling what stopped the rover if it could not move.
      */
-    void move();
+    MoveResult move();
 
     /**
      * Rotates the rover 90 degrees to the left.
@@ -0,0 +1,14 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+
+/**
+ * The requested starting cell and direction of a rover to deploy with
+ * {@link MissionControl#deployFleet(java.util.List)}.
+ *
+ * @param x         The requested X-coordinate.
+ * @param y         The requested Y-coordinate.
+ * @param direction The initial direction.
+ */
+public record RoverDeployment(int x, int y, Direction direction) {
+}
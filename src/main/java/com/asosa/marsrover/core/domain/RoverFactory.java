@@ -2,6 +2,7 @@ package com.asosa.marsrover.core.domain;
 
 import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.UUIDGenerator;
 
 import java.util.List;
 
@@ -10,8 +11,31 @@ import java.util.List;
  */
 public class RoverFactory {
 
+    private static final SimulationMetrics METRICS = SimulationMetrics.global();
+
+    private final UUIDGenerator uuidGenerator;
+
+    /**
+     * Creates a factory giving rovers UUIDs from the default generator.
+     */
+    public RoverFactory() {
+        this(UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Creates a factory giving rovers UUIDs from the given generator.
+     *
+     * @param uuidGenerator The generator of the rovers' UUIDs.
+     */
+    public RoverFactory(UUIDGenerator uuidGenerator) {
+        this.uuidGenerator = uuidGenerator;
+    }
+
     /**
      * Creates a new instance of RoverControl. If the position is occupied, it searches for the next available position.
+     * <p>
+     * Rovers deployed to the platform are found through its free-cell index; the list only adds
+     * rovers that were never deployed, and can be left empty otherwise.
      *
      * @param x        The initial X-coordinate for the rover.
      * @param y        The initial Y-coordinate for the rover.
@@ -22,41 +46,71 @@ public class RoverFactory {
      * @throws IllegalStateException If no available positions are found for the rover.
      */
     public Rover newRoverControl(int x, int y, Direction direction, Platform platform, List<Rover> rovers) {
-        Position position = new Position(x, y);
-
-        // Search for a free position on the platform
-        while (isPositionOccupied(position, platform, rovers)) {
-            // Move to the next position
-            if (position.getX() < platform.getWidth() - 1) {
-                position.setX(position.getX() + 1);
-            } else if (position.getY() < platform.getHeight() - 1) {
-                position.setX(0);
-                position.setY(position.getY() + 1);
-            } else {
-                // If all possible positions are checked and none are free
-                throw new IllegalStateException("No available positions for the rover");
-            }
+        OccupancyIndex listed = indexOf(rovers);
+        long cell = platform.nextFreeCell(x, y);
+
+        // Skip the free cells taken by listed rovers that are not deployed
+        while (cell != Platform.BLOCKED && listed.contains(Platform.cellX(cell), Platform.cellY(cell))) {
+            cell = platform.nextFreeCell(Platform.cellX(cell) + 1, Platform.cellY(cell));
+        }
+        METRICS.placementRetried(skippedCells(platform, x, y, cell));
+        if (cell == Platform.BLOCKED) {
+            // If all possible positions are checked and none are free
+            throw new IllegalStateException("No available positions for the rover");
         }
 
         // Create a new rover
-        return new Rover(position.getX(), position.getY(), direction, platform);
+        return new Rover(Platform.cellX(cell), Platform.cellY(cell), direction, platform, uuidGenerator);
     }
 
     /**
-     * Checks if a position is occupied by any rover or obstacle.
+     * Creates a new instance of RoverControl on the first free cell at or after the given position,
+     * considering the rovers deployed to the platform.
      *
-     * @param position The position to check.
-     * @param platform The platform on which the position is being checked.
-     * @param rovers   The list of existing rovers.
-     * @return True if the position is occupied; otherwise, false.
+     * @param x         The initial X-coordinate for the rover.
+     * @param y         The initial Y-coordinate for the rover.
+     * @param direction The direction the rover is facing.
+     * @param platform  The platform on which the rover operates.
+     * @return A new Rover instance.
+     * @throws IllegalStateException If no available positions are found for the rover.
+     */
+    public Rover newRoverControl(int x, int y, Direction direction, Platform platform) {
+        return newRoverControl(x, y, direction, platform, List.of());
+    }
+
+    /**
+     * Counts the cells skipped by the search, which are all the cells between the requested
+     * position and the cell found, in row-major order. The free-cell index skips them in bulk, so
+     * they are counted from the distance rather than one by one.
+     *
+     * @param platform The platform searched.
+     * @param x        The requested X-coordinate.
+     * @param y        The requested Y-coordinate.
+     * @param cell     The packed cell found, or {@link Platform#BLOCKED} if there was none.
+     * @return The number of cells skipped.
      */
-    private boolean isPositionOccupied(Position position, Platform platform, List<Rover> rovers) {
-        for (Rover rover : rovers) {
-            if (rover.getPosition().equals(position)) {
-                return true;
-            }
+    private static long skippedCells(Platform platform, int x, int y, long cell) {
+        long width = platform.getWidth();
+        long start = y < 0 ? 0 : y * width + Math.clamp(x, 0, width);
+        long end = cell == Platform.BLOCKED
+                ? width * platform.getHeight()
+                : Platform.cellY(cell) * width + Platform.cellX(cell);
+        return Math.max(end - start, 0);
+    }
+
+    /**
+     * Indexes the positions of the given rovers once, so that each candidate cell can be checked
+     * in constant time instead of scanning the whole list.
+     *
+     * @param rovers The list of existing rovers.
+     * @return An index of the cells occupied by the rovers.
+     */
+    private OccupancyIndex indexOf(List<Rover> rovers) {
+        OccupancyIndex index = new OccupancyIndex(rovers.size());
+        for (int i = 0; i < rovers.size(); i++) {
+            Position position = rovers.get(i).getPosition();
+            index.claim(position.getX(), position.getY(), i);
         }
-        return !platform.isValidPosition(position.getX(), position.getY());
+        return index;
     }
 }
-
@@ -0,0 +1,25 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+
+/**
+ * Immutable view of a rover's state at one point in time.
+ *
+ * @param uuid      The UUID of the rover.
+ * @param x         The X-coordinate.
+ * @param y         The Y-coordinate.
+ * @param direction The direction the rover is facing.
+ */
+public record RoverSnapshot(String uuid, int x, int y, Direction direction) {
+
+    /**
+     * Gets the position of the rover. {@link Position} is mutable, so a new one is created on
+     * every call.
+     *
+     * @return The position.
+     */
+    public Position position() {
+        return new Position(x, y);
+    }
+}
@@ -0,0 +1,242 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Process-wide counters of the simulation hot path: commands executed, moves blocked by the edge,
+ * an obstacle or another rover, placement retries, tick latencies and the batches of the open
+ * {@link CommandPipeline}s.
+ * <p>
+ * Counters are {@link LongAdder}s, which stripe concurrent updates over per-thread cells instead of
+ * contending on a single word. Programs, fleet ticks and runs count in local variables and add their
+ * totals once per program, tick or range, so their steps only pay for a local increment. Single
+ * commands, such as {@link Rover#move()} and {@link Rover#turnLeft()}, and the blocked steps of a
+ * rover program have no loop to batch over and increment an adder each time, which is an uncontended
+ * add on a striped cell. Pipelines add their counts once per batch. Tick latencies and batch sizes
+ * are handed to recorders, no-ops until a metrics backend installs them.
+ */
+public final class SimulationMetrics {
+
+    private static final LongConsumer NO_RECORDER = nanos -> { };
+    private static final SimulationMetrics GLOBAL = new SimulationMetrics();
+
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder blockedByBoundary = new LongAdder();
+    private final LongAdder blockedByObstacle = new LongAdder();
+    private final LongAdder blockedByRover = new LongAdder();
+    private final LongAdder placementRetries = new LongAdder();
+    private final LongAdder pipelineBatches = new LongAdder();
+    private final LongAdder pipelineCommands = new LongAdder();
+    private final LongAdder pipelineDropped = new LongAdder();
+    private final LongAdder pipelineFailures = new LongAdder();
+    private final Set<CommandPipeline> pipelines = ConcurrentHashMap.newKeySet(); // Open pipelines
+    private volatile LongConsumer tickRecorder = NO_RECORDER;
+    private volatile LongConsumer batchRecorder = NO_RECORDER;
+
+    SimulationMetrics() {
+    }
+
+    /**
+     * Gets the metrics updated by every rover, fleet and factory of the process.
+     *
+     * @return The global metrics.
+     */
+    public static SimulationMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Routes the latency of every fleet tick to the given recorder, such as a histogram.
+     *
+     * @param recorder Receives tick latencies in nanoseconds, or null to stop recording.
+     */
+    public void setTickRecorder(LongConsumer recorder) {
+        this.tickRecorder = recorder == null ? NO_RECORDER : recorder;
+    }
+
+    /**
+     * Routes the size of every batch applied by a pipeline to the given recorder, such as a
+     * distribution summary.
+     *
+     * @param recorder Receives batch sizes in commands, or null to stop recording.
+     */
+    public void setBatchRecorder(LongConsumer recorder) {
+        this.batchRecorder = recorder == null ? NO_RECORDER : recorder;
+    }
+
+    /**
+     * Gets the number of commands executed so far.
+     *
+     * @return The command count.
+     */
+    public long getCommandsExecuted() {
+        return commands.sum();
+    }
+
+    /**
+     * Gets the number of moves blocked for the given reason so far.
+     *
+     * @param reason {@link MoveResult#BOUNDARY}, {@link MoveResult#OBSTACLE} or {@link MoveResult#ROVER}.
+     * @return The number of blocked moves, or 0 for {@link MoveResult#MOVED}.
+     */
+    public long getMovesBlocked(MoveResult reason) {
+        return switch (reason) {
+            case BOUNDARY -> blockedByBoundary.sum();
+            case OBSTACLE -> blockedByObstacle.sum();
+            case ROVER -> blockedByRover.sum();
+            case MOVED -> 0;
+        };
+    }
+
+    /**
+     * Gets the number of cells skipped while placing rovers, because a rover or an obstacle was on
+     * them.
+     *
+     * @return The retry count.
+     */
+    public long getPlacementRetries() {
+        return placementRetries.sum();
+    }
+
+    /**
+     * Gets the number of batches applied by the pipelines so far.
+     *
+     * @return The batch count.
+     */
+    public long getPipelineBatches() {
+        return pipelineBatches.sum();
+    }
+
+    /**
+     * Gets the number of commands applied by the pipelines so far.
+     *
+     * @return The command count.
+     */
+    public long getPipelineCommands() {
+        return pipelineCommands.sum();
+    }
+
+    /**
+     * Gets the number of commands dropped by the pipelines so far, because their rover does not
+     * exist or its program failed.
+     *
+     * @return The dropped command count.
+     */
+    public long getPipelineCommandsDropped() {
+        return pipelineDropped.sum();
+    }
+
+    /**
+     * Gets the number of failures caught by the pipelines so far.
+     *
+     * @return The failure count.
+     */
+    public long getPipelineFailures() {
+        return pipelineFailures.sum();
+    }
+
+    /**
+     * Gets the number of commands waiting in the ring buffers of the open pipelines.
+     *
+     * @return The queue depth.
+     */
+    public long getPipelineQueueDepth() {
+        long depth = 0;
+        for (CommandPipeline pipeline : pipelines) {
+            depth += pipeline.queueDepth();
+        }
+        return depth;
+    }
+
+    void commandExecuted() {
+        commands.increment();
+    }
+
+    void commandsExecuted(long count) {
+        if (count > 0) {
+            commands.add(count);
+        }
+    }
+
+    /**
+     * Adds the commands of a program run several times, saturating instead of overflowing.
+     */
+    void commandsExecuted(long perPass, long passes) {
+        if (perPass > 0 && passes > 0) {
+            commands.add(passes > Long.MAX_VALUE / perPass ? Long.MAX_VALUE : perPass * passes);
+        }
+    }
+
+    /**
+     * Creates a tally of blocked moves, which a loop fills locally and adds with
+     * {@link #movesBlocked(long[])} once it is done. Entries are indexed by {@link MoveResult}
+     * ordinal, so a loop can count every outcome without branching; the {@link MoveResult#MOVED}
+     * entry is ignored.
+     */
+    static long[] newBlockedTally() {
+        return new long[MoveResult.values().length];
+    }
+
+    void movesBlocked(long[] tally) {
+        moveBlocked(MoveResult.BOUNDARY, tally[MoveResult.BOUNDARY.ordinal()]);
+        moveBlocked(MoveResult.OBSTACLE, tally[MoveResult.OBSTACLE.ordinal()]);
+        moveBlocked(MoveResult.ROVER, tally[MoveResult.ROVER.ordinal()]);
+    }
+
+    void moveBlocked(MoveResult reason) {
+        moveBlocked(reason, 1);
+    }
+
+    void moveBlocked(MoveResult reason, long count) {
+        if (count <= 0) {
+            return;
+        }
+        switch (reason) {
+            case BOUNDARY -> blockedByBoundary.add(count);
+            case OBSTACLE -> blockedByObstacle.add(count);
+            case ROVER -> blockedByRover.add(count);
+            case MOVED -> { }
+        }
+    }
+
+    void placementRetried(long count) {
+        if (count > 0) {
+            placementRetries.add(count);
+        }
+    }
+
+    void pipelineOpened(CommandPipeline pipeline) {
+        pipelines.add(pipeline);
+    }
+
+    void pipelineClosed(CommandPipeline pipeline) {
+        pipelines.remove(pipeline);
+    }
+
+    void batchApplied(int size, long dropped) {
+        pipelineBatches.increment();
+        pipelineCommands.add(size - dropped);
+        if (dropped > 0) {
+            pipelineDropped.add(dropped);
+        }
+        batchRecorder.accept(size);
+    }
+
+    void pipelineFailed() {
+        pipelineFailures.increment();
+    }
+
+    /**
+     * Tells whether tick latencies are recorded, so that callers can skip reading the clock.
+     */
+    boolean isRecordingTicks() {
+        return tickRecorder != NO_RECORDER;
+    }
+
+    void tickCompleted(long nanos) {
+        tickRecorder.accept(nanos);
+    }
+}
@@ -0,0 +1,20 @@
+package com.asosa.marsrover.core.domain;
+
+import java.util.List;
+
+/**
+ * Receives the rovers of a {@link MissionControl} that changed during a tick, once per tick rather
+ * than once per move.
+ */
+@FunctionalInterface
+public interface TickListener {
+
+    /**
+     * Called at the end of a tick in which at least one rover was deployed, moved or turned. The
+     * call is made on the thread that ended the tick, so it should hand the update off quickly.
+     *
+     * @param tick    The number of the tick that ended, starting at 1.
+     * @param changed The final state of every rover that changed during the tick, in rover order.
+     */
+    void tickCompleted(long tick, List<RoverSnapshot> changed);
+}
@@ -1,6 +1,6 @@
 package com.asosa.marsrover.core.domain;
 
-import java.util.UUID;
+import com.asosa.marsrover.common.UUIDGenerator;
 
 /**
  * Represents a user with a unique UUID and username.
@@ -15,7 +15,17 @@ public class User {
      * @param username The username of the user.
      */
     public User(String username) {
-        this.uuid = UUID.randomUUID().toString(); // Generating a new UUID
+        this(username, UUIDGenerator.defaultGenerator());
+    }
+
+    /**
+     * Constructor to create a new User whose UUID is taken from the given generator.
+     *
+     * @param username      The username of the user.
+     * @param uuidGenerator The generator of the user's UUID.
+     */
+    public User(String username, UUIDGenerator uuidGenerator) {
+        this.uuid = uuidGenerator.generate(); // Generating a new UUID
         this.username = username;
     }
 
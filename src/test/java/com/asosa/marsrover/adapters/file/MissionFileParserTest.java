@@ -0,0 +1,184 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.core.domain.Rover;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissionFileParserTest {
+
+    private static final String MISSION = "5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n";
+
+    @Test
+    void testParseEvents() {
+        List<String> events = new ArrayList<>();
+        MissionFileParser parser = new MissionFileParser(new RecordingHandler(events));
+
+        parser.feed(ascii(MISSION));
+        parser.finish();
+
+        assertEquals(List.of("plateau 5 5", "rover 0 1 2 N", "commands 0 LMLMLMLMM", "end 0",
+                "rover 1 3 3 E", "commands 1 MMRMMRMRRM", "end 1"), events, "Unexpected parse events");
+        assertEquals(2, parser.getRoverCount(), "Expected two rovers");
+    }
+
+    @Test
+    void testParseAcrossBufferBoundaries() {
+        byte[] mission = MISSION.getBytes(StandardCharsets.US_ASCII);
+        for (int split = 1; split < mission.length; split++) {
+            List<String> events = new ArrayList<>();
+            MissionFileParser parser = new MissionFileParser(new RecordingHandler(events));
+
+            parser.feed(ByteBuffer.wrap(mission, 0, split));
+            parser.feed(ByteBuffer.wrap(mission, split, mission.length - split));
+            parser.finish();
+
+            assertEquals(7, events.size(), "Expected seven events when splitting at " + split);
+            assertEquals("rover 1 3 3 E", events.get(4), "Unexpected second rover when splitting at " + split);
+        }
+    }
+
+    @Test
+    void testParseToleratesCarriageReturnsAndBlankLines() {
+        List<String> events = new ArrayList<>();
+        MissionFileParser parser = new MissionFileParser(new RecordingHandler(events));
+
+        parser.feed(ascii("5 5\r\n\r\n1 2 N\r\nLM\r\n\n3 3 E"));
+        parser.finish();
+
+        assertEquals(List.of("plateau 5 5", "rover 0 1 2 N", "commands 0 LM", "end 0",
+                "rover 1 3 3 E", "end 1"), events, "Unexpected parse events");
+    }
+
+    @Test
+    void testInvalidInput() {
+        Exception direction = assertThrows(IllegalArgumentException.class, () -> parse("5 5\n1 2 X\nM\n"));
+        assertEquals("Line 2: invalid direction code X", direction.getMessage());
+
+        Exception command = assertThrows(IllegalArgumentException.class, () -> parse("5 5\n1 2 N\nMMX\n"));
+        assertEquals("Line 3: invalid command code X", command.getMessage());
+
+        Exception number = assertThrows(IllegalArgumentException.class, () -> parse("5 5\n1 N\n"));
+        assertEquals("Line 2: expected a number", number.getMessage());
+
+        Exception missing = assertThrows(IllegalArgumentException.class, () -> parse(""));
+        assertEquals("Line 1: missing plateau line", missing.getMessage());
+    }
+
+    @Test
+    void testRunMappedFile() throws IOException {
+        Path file = Files.createTempFile("mission", ".txt");
+        List<Rover> rovers = new ArrayList<>();
+        try {
+            Files.writeString(file, MISSION, StandardCharsets.US_ASCII);
+            MissionFileParser.parse(file, new MissionFileRunner(false, (rover, obstructed) -> rovers.add(rover)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals(2, rovers.size(), "Expected two rovers");
+        assertEquals(new Position(1, 3), rovers.get(0).getPosition(), "Expected rover1 position (1, 3)");
+        assertEquals(Direction.NORTH, rovers.get(0).getDirection(), "Expected rover1 direction N");
+        assertEquals(new Position(5, 1), rovers.get(1).getPosition(), "Expected rover2 position (5, 1)");
+        assertEquals(Direction.EAST, rovers.get(1).getDirection(), "Expected rover2 direction E");
+    }
+
+    @Test
+    void testRunLongCommandLineFromChannel() throws IOException {
+        // Longer than the command buffer, so the commands reach the rover in several pieces
+        String commands = "M".repeat(20_000) + "R" + "M".repeat(3);
+        byte[] mission = ("99 99\n0 0 N\n" + commands + "\n").getBytes(StandardCharsets.US_ASCII);
+        List<Rover> rovers = new ArrayList<>();
+        MissionFileRunner runner = new MissionFileRunner(true, (rover, obstructed) -> rovers.add(rover));
+
+        MissionFileParser.parse(Channels.newChannel(new ByteArrayInputStream(mission)), runner);
+
+        assertEquals(new Position(3, 0), rovers.get(0).getPosition(), "Expected rover at (3, 0)");
+        assertEquals(Direction.EAST, rovers.get(0).getDirection(), "Expected rover facing E");
+        assertEquals(1, runner.getMissionControl().getRovers().size(), "Expected one rover in the mission");
+    }
+
+    @Test
+    void testRunRejectsRoverOutsideThePlateau() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            MissionFileParser parser = new MissionFileParser(new MissionFileRunner(false, (rover, obstructed) -> {
+            }));
+            parser.feed(ascii("5 5\n6 2 N\n"));
+        });
+        assertEquals("Invalid position for rover 1", exception.getMessage());
+    }
+
+    @Test
+    void testRunRejectsPlateauTooLarge() {
+        MissionFileParser parser = new MissionFileParser(new MissionFileRunner(false, (rover, obstructed) -> {
+        }));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> parser.feed(ascii("2000000000 2000000000\n")),
+                "Expected a plateau above the cell limit to be rejected");
+        assertTrue(exception.getMessage().startsWith("Plateau too large"), "Unexpected message: " + exception.getMessage());
+    }
+
+    @Test
+    void testRunStopsRoverInFrontOfAnotherRover() {
+        List<String> results = new ArrayList<>();
+        MissionFileParser parser = new MissionFileParser(new MissionFileRunner(false,
+                (rover, obstructed) -> results.add((obstructed ? "O:" : "") + rover.getPosition().getX() + " " + rover.getPosition().getY())));
+
+        // The second rover is stopped by the first one and skips the rest of its commands
+        parser.feed(ascii("5 5\n1 2 N\nMM\n1 0 N\nMMMMRM\n0 0 W\nMRM\n"));
+        parser.finish();
+
+        assertEquals(List.of("1 4", "O:1 3", "0 1"), results, "Unexpected results");
+    }
+
+    private static void parse(String mission) {
+        MissionFileParser parser = new MissionFileParser(new RecordingHandler(new ArrayList<>()));
+        parser.feed(ascii(mission));
+        parser.finish();
+    }
+
+    private static ByteBuffer ascii(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private record RecordingHandler(List<String> events) implements MissionFileHandler {
+
+        @Override
+        public void plateau(int maxX, int maxY) {
+            events.add("plateau " + maxX + " " + maxY);
+        }
+
+        @Override
+        public void rover(int index, int x, int y, Direction direction) {
+            events.add("rover " + index + " " + x + " " + y + " " + direction);
+        }
+
+        @Override
+        public void commands(int index, byte[] commands, int offset, int length) {
+            String text = new String(commands, offset, length, StandardCharsets.US_ASCII);
+            int last = events.size() - 1;
+            if (events.get(last).startsWith("commands " + index + " ")) {
+                events.set(last, events.get(last) + text);
+            } else {
+                events.add("commands " + index + " " + text);
+            }
+        }
+
+        @Override
+        public void roverEnd(int index) {
+            events.add("end " + index);
+        }
+    }
+}
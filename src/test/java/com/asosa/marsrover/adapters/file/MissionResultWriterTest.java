@@ -0,0 +1,46 @@
+package com.asosa.marsrover.adapters.file;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.core.domain.Platform;
+import com.asosa.marsrover.core.domain.Rover;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissionResultWriterTest {
+
+    @Test
+    void testWriteLines() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultWriter writer = new MissionResultWriter(Channels.newChannel(output));
+        Platform platform = new Platform(2_000_000, 10, new ArrayList<>(), false);
+
+        writer.write(new Rover(1, 3, Direction.NORTH, platform), false);
+        writer.roverFinished(new Rover(1_234_567, 0, Direction.WEST, platform), true);
+
+        assertEquals(0, output.size(), "Expected lines to stay buffered until flushed");
+        writer.flush();
+        assertEquals("1 3 N\nO:1234567 0 W\n", output.toString(StandardCharsets.US_ASCII), "Unexpected output");
+        assertEquals(2, writer.getCount(), "Expected two lines written");
+    }
+
+    @Test
+    void testWriteMoreThanTheBuffer() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultWriter writer = new MissionResultWriter(Channels.newChannel(output));
+        Rover rover = new Rover(99_999, 99_999, Direction.SOUTH, new Platform(100_000, 100_000, new ArrayList<>(), false));
+
+        for (int i = 0; i < 100_000; i++) {
+            writer.write(rover, false);
+        }
+        writer.flush();
+
+        assertEquals(100_000 * "99999 99999 S\n".length(), output.size(), "Expected every line to be written");
+    }
+}
@@ -0,0 +1,118 @@
+package com.asosa.marsrover.adapters.file;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMissionRunnerTest {
+
+    private static final String[] TOKENS = {"M", "M", "MM", "LR", "RL", "LL", "RR"};
+
+    @Test
+    void testReadmeMission() throws IOException {
+        String output = runParallel("5 5\n1 2 N\nLMLMLMLMM\n3 3 E\nMMRMMRMRRM\n", 8);
+
+        assertEquals("1 3 N\n5 1 E\n", output, "Unexpected output");
+    }
+
+    @Test
+    void testMatchesSequentialRunInOrder() throws IOException {
+        // Every rover faces E or W and keeps to its own row, so a sequential run sees no collisions either
+        SplittableRandom random = new SplittableRandom(5);
+        StringBuilder mission = new StringBuilder("\n99 2999\n");
+        for (int i = 0; i < 3_000; i++) {
+            mission.append(random.nextInt(100)).append(' ').append(i).append(' ').append(random.nextBoolean() ? 'E' : 'W');
+            mission.append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i % 11 == 0) {
+                mission.append('\n'); // A rover without commands
+                continue;
+            }
+            for (int t = 0; t < 40; t++) {
+                mission.append(TOKENS[random.nextInt(TOKENS.length)]);
+            }
+            mission.append(i % 13 == 0 ? "\n\n" : "\n");
+        }
+        Path file = write(mission.toString());
+        try {
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            MissionResultWriter writer = new MissionResultWriter(Channels.newChannel(sequential));
+            MissionFileParser.parse(file, new MissionFileRunner(true, writer));
+            writer.flush();
+
+            for (long chunkSize : new long[]{1, 100, 4096, 1 << 20}) {
+                ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+                long rovers = new ParallelMissionRunner(ForkJoinPool.commonPool(), true, chunkSize)
+                        .run(file, Channels.newChannel(parallel));
+
+                assertEquals(3_000, rovers, "Expected every rover with chunks of " + chunkSize);
+                assertEquals(sequential.toString(StandardCharsets.US_ASCII), parallel.toString(StandardCharsets.US_ASCII),
+                        "Expected sequential output with chunks of " + chunkSize);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRoversDoNotBlockEachOther() throws IOException {
+        String output = runParallel("5 5\n1 1 E\n\n2 1 W\nM\n", 1);
+
+        assertEquals("1 1 E\n1 1 W\n", output, "Expected the second rover to move onto the first one");
+    }
+
+    @Test
+    void testErrorsCarryFileLineNumbers() {
+        String mission = "5 5\n1 2 N\nLMLM\n3 3 E\nMM\n0 0 N\nMMX\n";
+
+        Exception command = assertThrows(IllegalArgumentException.class, () -> runParallel(mission, 1));
+        assertEquals("Line 7: invalid command code X", command.getMessage());
+
+        Exception position = assertThrows(IllegalArgumentException.class, () -> runParallel("5 5\n1 2 N\nM\n6 0 N\nM\n", 1));
+        assertEquals("Invalid position for rover 2", position.getMessage());
+    }
+
+    @Test
+    void testErrorsInLaterChunksCarryFileNumbers() {
+        StringBuilder mission = new StringBuilder("\n9 9\n");
+        for (int i = 0; i < 500; i++) {
+            mission.append(i % 10).append(' ').append(i % 7).append(" N\n");
+            mission.append(i % 3 == 0 ? "\n\n" : "MRML\n");
+        }
+        String badCommand = mission + "1 1 E\nMMXM\n";
+        String badPosition = mission + "1 1 E\nMM\n12 1 E\nM\n";
+
+        for (long chunkSize : new long[]{1, 64, 1 << 20}) {
+            Exception command = assertThrows(IllegalArgumentException.class, () -> runParallel(badCommand, chunkSize));
+            assertEquals("Line 1171: invalid command code X", command.getMessage(), "Unexpected error with chunks of " + chunkSize);
+
+            Exception position = assertThrows(IllegalArgumentException.class, () -> runParallel(badPosition, chunkSize));
+            assertEquals("Invalid position for rover 502", position.getMessage(), "Unexpected error with chunks of " + chunkSize);
+        }
+    }
+
+    private static String runParallel(String mission, long chunkSize) throws IOException {
+        Path file = write(mission);
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            new ParallelMissionRunner(ForkJoinPool.commonPool(), false, chunkSize).run(file, Channels.newChannel(output));
+            return output.toString(StandardCharsets.US_ASCII);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Path write(String mission) throws IOException {
+        Path file = Files.createTempFile("mission", ".txt");
+        Files.writeString(file, mission, StandardCharsets.US_ASCII);
+        return file;
+    }
+}
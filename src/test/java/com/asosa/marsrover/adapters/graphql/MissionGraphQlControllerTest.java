@@ -0,0 +1,124 @@
+package com.asosa.marsrover.adapters.graphql;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@GraphQlTest(MissionGraphQlController.class)
+@Import(MissionRegistry.class)
+class MissionGraphQlControllerTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Test
+    void testQueryFleetsOfSeveralMissions() {
+        String first = createMission(5, 5);
+        String second = createMission(10, 10);
+        deployRovers(first, "[{x: 1, y: 2, direction: \"N\"}, {x: 3, y: 3, direction: \"E\"}]");
+        deployRovers(second, "[{x: 0, y: 0, direction: \"S\"}]");
+
+        graphQlTester.document("""
+                        query($uuid: ID!) {
+                          mission(uuid: $uuid) {
+                            platform { width height allowWrapAround }
+                            roverCount
+                            rovers { x y direction }
+                          }
+                        }""")
+                .variable("uuid", first)
+                .execute()
+                .path("mission.platform.width").entity(Integer.class).isEqualTo(5)
+                .path("mission.roverCount").entity(Integer.class).isEqualTo(2)
+                .path("mission.rovers[1].x").entity(Integer.class).isEqualTo(3)
+                .path("mission.rovers[1].direction").entity(String.class).isEqualTo("E");
+
+        graphQlTester.document("{ missions { uuid rovers { uuid } } }")
+                .execute()
+                .path("missions[*].rovers[*].uuid").entityList(String.class).hasSizeGreaterThan(2);
+    }
+
+    @Test
+    void testTickReportsOnlyChangedRovers() {
+        String mission = createMission(5, 5);
+        List<String> uuids = deployRovers(mission, "[{x: 1, y: 2, direction: \"N\"}, {x: 3, y: 3, direction: \"E\"}]");
+
+        Flux<Integer> ticks = graphQlTester.document("subscription($uuid: ID!) { roverUpdates(missionUuid: $uuid) { tick rovers { uuid x y direction } } }")
+                .variable("uuid", mission)
+                .executeSubscription()
+                .toFlux("roverUpdates.rovers[0].y", Integer.class);
+
+        StepVerifier.create(ticks)
+                .then(() -> graphQlTester.document("""
+                                mutation($mission: ID!, $rover: ID!) {
+                                  tick(missionUuid: $mission, commands: [{uuid: $rover, command: "M"}])
+                                }""")
+                        .variable("mission", mission)
+                        .variable("rover", uuids.get(0))
+                        .execute()
+                        .path("tick").entity(Integer.class).isEqualTo(1))
+                .expectNext(3) // Along with the deployment of both rovers, reported by the first tick
+                .then(() -> graphQlTester.document("""
+                                mutation($mission: ID!, $rover: ID!) {
+                                  tick(missionUuid: $mission, commands: [{uuid: $rover, command: "M"}])
+                                }""")
+                        .variable("mission", mission)
+                        .variable("rover", uuids.get(0))
+                        .execute()
+                        .path("tick").entity(Integer.class).isEqualTo(2))
+                .expectNext(4)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testUnknownRover() {
+        String mission = createMission(5, 5);
+
+        graphQlTester.document("query($uuid: ID!) { rovers(missionUuid: $uuid, uuids: [\"missing\"]) { x } }")
+                .variable("uuid", mission)
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size(), "Expected one error");
+                    assertEquals("Unknown rover: missing", errors.get(0).getMessage());
+                });
+    }
+
+    @Test
+    void testCreateMissionRejectsPlateauTooLarge() {
+        graphQlTester.document("mutation { createMission(width: 2000000000, height: 2000000000) { uuid } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size(), "Expected one error");
+                    assertEquals(ErrorType.BAD_REQUEST, errors.get(0).getErrorType(), "Expected a bad request");
+                    assertTrue(errors.get(0).getMessage().startsWith("Plateau too large"), "Unexpected message: " + errors.get(0).getMessage());
+                });
+    }
+
+    private String createMission(int width, int height) {
+        return graphQlTester.document("mutation($width: Int!, $height: Int!) { createMission(width: $width, height: $height) { uuid } }")
+                .variable("width", width)
+                .variable("height", height)
+                .execute()
+                .path("createMission.uuid").entity(String.class).get();
+    }
+
+    private List<String> deployRovers(String mission, String rovers) {
+        return graphQlTester.document("mutation($uuid: ID!) { deployRovers(missionUuid: $uuid, rovers: " + rovers + ") { uuid } }")
+                .variable("uuid", mission)
+                .execute()
+                .path("deployRovers[*].uuid").entityList(String.class).get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.asosa.marsrover.adapters.metrics;
+
+import com.asosa.marsrover.adapters.graphql.MissionRegistry;
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.core.domain.CommandPipeline;
+import com.asosa.marsrover.core.domain.FleetState;
+import com.asosa.marsrover.core.domain.MissionControl;
+import com.asosa.marsrover.core.domain.Platform;
+import com.asosa.marsrover.core.domain.Rover;
+import com.asosa.marsrover.core.domain.SimulationMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationMetricsBinderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MissionRegistry missions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        missions = new MissionRegistry();
+        new SimulationMetricsBinder(missions).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SimulationMetrics.global().setTickRecorder(null);
+        SimulationMetrics.global().setBatchRecorder(null);
+    }
+
+    @Test
+    void testCountersFollowTheDomain() {
+        double commands = meterRegistry.get("marsrover.commands.executed").functionCounter().count();
+        double blocked = meterRegistry.get("marsrover.moves.blocked").tag("reason", "boundary").functionCounter().count();
+
+        Rover rover = new Rover(0, 0, Direction.SOUTH, new Platform(5, 5, new ArrayList<>(), false));
+        rover.move();
+        rover.turnLeft();
+
+        assertEquals(commands + 2, meterRegistry.get("marsrover.commands.executed").functionCounter().count(),
+                "Expected both commands to be counted");
+        assertEquals(blocked + 1, meterRegistry.get("marsrover.moves.blocked").tag("reason", "boundary").functionCounter().count(),
+                "Expected the move off the edge to be counted as blocked");
+    }
+
+    @Test
+    void testTickLatencyHistogram() {
+        FleetState fleet = new FleetState(new Platform(5, 5, new ArrayList<>(), false), 1);
+        fleet.add(0, 0, Direction.NORTH);
+
+        fleet.tick(new byte[] {'M'});
+        fleet.tick(new byte[] {'R'});
+
+        Timer ticks = meterRegistry.get("marsrover.tick.latency").timer();
+        assertEquals(2, ticks.count(), "Expected one sample per tick");
+        assertEquals(3, ticks.takeSnapshot().percentileValues().length, "Expected the p50, p95 and p99 percentiles");
+    }
+
+    @Test
+    void testPipelineMeters() throws InterruptedException {
+        double batches = meterRegistry.get("marsrover.pipeline.batches").functionCounter().count();
+        double commands = meterRegistry.get("marsrover.pipeline.commands").functionCounter().count();
+        double dropped = meterRegistry.get("marsrover.pipeline.commands.dropped").functionCounter().count();
+        MissionControl missionControl = new MissionControl(new Platform(5, 5, new ArrayList<>(), false));
+        missionControl.addRover(new Rover(0, 0, Direction.NORTH, missionControl.getPlatform()));
+
+        CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 64);
+        pipeline.submit(0, Command.MOVE);
+        pipeline.submit(0, Command.RIGHT);
+        pipeline.submit(7, Command.MOVE);
+        pipeline.close();
+
+        long applied = pipeline.metrics().batches();
+        assertEquals(batches + applied, meterRegistry.get("marsrover.pipeline.batches").functionCounter().count(),
+                "Expected the batches of the pipeline to be counted");
+        assertEquals(commands + 2, meterRegistry.get("marsrover.pipeline.commands").functionCounter().count(),
+                "Expected the commands to the rover to be counted");
+        assertEquals(dropped + 1, meterRegistry.get("marsrover.pipeline.commands.dropped").functionCounter().count(),
+                "Expected the command to the unknown rover to be dropped");
+        assertEquals(applied, meterRegistry.get("marsrover.pipeline.batch.size").summary().count(),
+                "Expected one batch size per batch");
+        assertEquals(0, meterRegistry.get("marsrover.pipeline.queue.depth").gauge().value(),
+                "Expected no command waiting once the pipeline is closed");
+    }
+
+    @Test
+    void testFleetSizeGauge() {
+        MissionControl first = missions.create(5, 5, false);
+        MissionControl second = missions.create(5, 5, false);
+        first.addRover(new Rover(1, 1, Direction.NORTH, first.getPlatform()));
+        first.addRover(new Rover(2, 2, Direction.NORTH, first.getPlatform()));
+        second.addRover(new Rover(1, 1, Direction.EAST, second.getPlatform()));
+
+        assertEquals(3, meterRegistry.get("marsrover.fleet.size").gauge().value(), "Expected the rovers of every mission");
+        assertEquals(2, meterRegistry.get("marsrover.missions").gauge().value(), "Expected two missions");
+    }
+}
@@ -0,0 +1,90 @@
+package com.asosa.marsrover.adapters.rest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the mission endpoint of a local server with concurrent clients. Run with
+ * {@code ./gradlew loadTest}; it is excluded from the regular test task.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MissionControllerLoadTest {
+
+    private static final int ROVERS = 2_000;
+    private static final int COMMANDS = 256;
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testBatchedCommandThroughput() throws Exception {
+        String mission = mission();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/missions/run"))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(mission))
+                .build();
+        assertResults(client.send(request, HttpResponse.BodyHandlers.ofString()));
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        assertResults(client.send(request, HttpResponse.BodyHandlers.ofString()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double commandsPerSecond = (double) CLIENTS * REQUESTS_PER_CLIENT * ROVERS * COMMANDS / seconds;
+        assertTrue(commandsPerSecond > 100_000, "Expected more than 100k rover-commands/s, got " + commandsPerSecond);
+    }
+
+    /**
+     * Builds a mission in which every rover drives along its own row, so no rover is ever obstructed
+     * and every command is executed.
+     */
+    private static String mission() {
+        StringBuilder mission = new StringBuilder(ROVERS * (COMMANDS + 16));
+        mission.append(999).append(' ').append(ROVERS - 1).append('\n');
+        for (int i = 0; i < ROVERS; i++) {
+            mission.append("0 ").append(i).append(" E\n");
+            for (int c = 0; c < COMMANDS; c++) {
+                mission.append("MMRL".charAt(c & 3));
+            }
+            mission.append('\n');
+        }
+        return mission.toString();
+    }
+
+    private static void assertResults(HttpResponse<String> response) {
+        assertEquals(200, response.statusCode(), "Expected the mission to succeed");
+        String[] lines = response.body().split("\n");
+        assertEquals(ROVERS, lines.length, "Expected one line per rover");
+        assertEquals((COMMANDS / 2) + " 0 E", lines[0], "Expected the first rover to drive along its row");
+    }
+}
@@ -0,0 +1,57 @@
+package com.asosa.marsrover.adapters.rest;
+
+import com.asosa.marsrover.adapters.file.MissionFileRunner;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest.PlatformDimensions;
+import com.asosa.marsrover.adapters.rest.dto.RunMissionRequest.RoverProgram;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissionControllerTest {
+
+    private final MissionController controller = new MissionController();
+
+    @Test
+    void testRunJsonMission() {
+        List<String> results = new ArrayList<>();
+        RunMissionRequest request = request(6, 6);
+        request.setRovers(List.of(rover(1, 2, "N", "LMLMLMLMM"), rover(3, 3, "E", "MMRMMRMRRM")));
+
+        controller.run(request, new MissionFileRunner(false, (rover, obstructed) ->
+                results.add(rover.getPosition().getX() + " " + rover.getPosition().getY() + " " + rover.getDirection())));
+
+        assertEquals(List.of("1 3 N", "5 1 E"), results, "Unexpected results");
+    }
+
+    @Test
+    void testRunRejectsPlateauTooLarge() {
+        RunMissionRequest request = request(Integer.MAX_VALUE, 100_000);
+        MissionFileRunner runner = new MissionFileRunner(false, (rover, obstructed) -> fail("Expected no rover to run"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> controller.run(request, runner),
+                "Expected a plateau above the cell limit to be rejected");
+        assertTrue(exception.getMessage().startsWith("Plateau too large"), "Unexpected message: " + exception.getMessage());
+    }
+
+    private static RunMissionRequest request(int width, int height) {
+        PlatformDimensions platform = new PlatformDimensions();
+        platform.setWidth(width);
+        platform.setHeight(height);
+        RunMissionRequest request = new RunMissionRequest();
+        request.setPlatform(platform);
+        return request;
+    }
+
+    private static RoverProgram rover(int x, int y, String direction, String commands) {
+        RoverProgram rover = new RoverProgram();
+        rover.setX(x);
+        rover.setY(y);
+        rover.setDirection(direction);
+        rover.setCommands(commands);
+        return rover;
+    }
+}
@@ -0,0 +1,73 @@
+package com.asosa.marsrover.adapters.rest;
+
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.core.domain.Platform;
+import com.asosa.marsrover.core.domain.Rover;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissionResultJsonWriterTest {
+
+    @Test
+    void testWriteDocument() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultJsonWriter writer = new MissionResultJsonWriter(Channels.newChannel(output));
+        Platform platform = new Platform(2_000_000, 10, new ArrayList<>(), false);
+
+        writer.write(new Rover(1, 3, Direction.NORTH, platform), false);
+        writer.roverFinished(new Rover(1_234_567, 0, Direction.WEST, platform), true);
+
+        assertEquals(0, output.size(), "Expected entries to stay buffered until finished");
+        writer.finish();
+        assertEquals("{\"rovers\":[{\"x\":1,\"y\":3,\"direction\":\"N\",\"obstructed\":false},"
+                        + "{\"x\":1234567,\"y\":0,\"direction\":\"W\",\"obstructed\":true}]}",
+                output.toString(StandardCharsets.US_ASCII), "Unexpected output");
+        assertEquals(2, writer.getCount(), "Expected two entries written");
+    }
+
+    @Test
+    void testWriteEmptyDocument() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultJsonWriter writer = new MissionResultJsonWriter(Channels.newChannel(output));
+
+        writer.finish();
+
+        assertEquals("{\"rovers\":[]}", output.toString(StandardCharsets.US_ASCII), "Unexpected output");
+    }
+
+    @Test
+    void testFinishWithError() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultJsonWriter writer = new MissionResultJsonWriter(Channels.newChannel(output));
+        writer.write(new Rover(0, 0, Direction.SOUTH, new Platform(5, 5, new ArrayList<>(), false)), false);
+
+        writer.finish("Rover 2: Invalid direction code: \"Q\"\n");
+
+        assertEquals("{\"rovers\":[{\"x\":0,\"y\":0,\"direction\":\"S\",\"obstructed\":false}],"
+                        + "\"error\":\"Rover 2: Invalid direction code: \\\"Q\\\"\\u000a\"}",
+                output.toString(StandardCharsets.US_ASCII), "Expected the error after the entries");
+    }
+
+    @Test
+    void testWriteMoreThanTheBuffer() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        MissionResultJsonWriter writer = new MissionResultJsonWriter(Channels.newChannel(output));
+        Rover rover = new Rover(99_999, 99_999, Direction.SOUTH, new Platform(100_000, 100_000, new ArrayList<>(), false));
+
+        for (int i = 0; i < 100_000; i++) {
+            writer.write(rover, false);
+        }
+        writer.finish();
+
+        String entry = "{\"x\":99999,\"y\":99999,\"direction\":\"S\",\"obstructed\":false}";
+        assertEquals("{\"rovers\":[".length() + 100_000 * entry.length() + 99_999 + 2, output.size(),
+                "Expected every entry to be written");
+    }
+}
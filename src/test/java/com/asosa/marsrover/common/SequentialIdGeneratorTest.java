@@ -0,0 +1,61 @@
+package com.asosa.marsrover.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequentialIdGeneratorTest {
+
+    @Test
+    void testConsecutiveIds() {
+        // Arrange
+        SequentialIdGenerator generator = new SequentialIdGenerator();
+
+        // Act & Assert
+        for (long expected = 1; expected <= 5_000; expected++) {
+            assertEquals(Long.toString(expected), generator.generate(), "Ids should be consecutive");
+        }
+    }
+
+    @Test
+    void testPrefix() {
+        // Arrange
+        SequentialIdGenerator generator = new SequentialIdGenerator("rover-");
+
+        // Act & Assert
+        assertEquals("rover-1", generator.generate(), "Id should carry the prefix");
+        assertEquals("rover-2", generator.generate(), "Id should carry the prefix");
+    }
+
+    @Test
+    void testUniqueAcrossThreads() throws InterruptedException {
+        // Arrange
+        SequentialIdGenerator generator = new SequentialIdGenerator();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.startVirtualThread(() -> {
+                long previous = 0;
+                for (int i = 0; i < 10_000; i++) {
+                    long id = generator.nextId();
+                    assertTrue(id > previous, "Ids should increase within a thread");
+                    previous = id;
+                    ids.add(id);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(40_000, ids.size(), "Ids should be unique across threads");
+    }
+}
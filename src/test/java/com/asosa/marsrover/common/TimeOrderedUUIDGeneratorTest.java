@@ -0,0 +1,52 @@
+package com.asosa.marsrover.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUUIDGeneratorTest {
+
+    @Test
+    void testVersionAndVariant() {
+        // Arrange
+        TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator();
+
+        // Act
+        UUID uuid = UUID.fromString(generator.generate());
+
+        // Assert
+        assertEquals(7, uuid.version(), "Version should be 7");
+        assertEquals(2, uuid.variant(), "Variant should be the RFC 9562 variant");
+    }
+
+    @Test
+    void testTimestamp() {
+        // Arrange
+        TimeOrderedUUIDGenerator generator = new TimeOrderedUUIDGenerator();
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = generator.next();
+        long after = System.currentTimeMillis();
+
+        // Assert
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after, "Timestamp should be the creation time");
+    }
+
+    @Test
+    void testUniqueness() {
+        // Arrange
+        UUIDGenerator generator = UUIDGenerator.defaultGenerator();
+        Set<String> uuids = new HashSet<>();
+
+        // Act & Assert
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(uuids.add(generator.generate()), "UUIDs should be unique");
+        }
+    }
+}
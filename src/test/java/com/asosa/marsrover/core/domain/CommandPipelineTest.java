@@ -0,0 +1,145 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandPipelineTest {
+
+    @Test
+    void testAppliesCommandsPerRoverInOrder() throws InterruptedException {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), false);
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.addRover(new Rover(1, 2, Direction.NORTH, platform));
+        missionControl.addRover(new Rover(3, 3, Direction.EAST, platform));
+
+        try (CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 16)) {
+            String first = "LMLMLMLMM";
+            String second = "MMRMMRMRRM";
+            for (int i = 0; i < Math.max(first.length(), second.length()); i++) {
+                if (i < first.length()) {
+                    pipeline.submit(0, Command.fromCode(first.charAt(i)));
+                }
+                if (i < second.length()) {
+                    pipeline.submit(1, Command.fromCode(second.charAt(i)));
+                }
+            }
+        }
+
+        assertEquals(new Position(1, 3), missionControl.getRovers().get(0).getPosition(), "Expected rover1 position (1, 3)");
+        assertEquals(Direction.NORTH, missionControl.getRovers().get(0).getDirection(), "Expected rover1 direction N");
+        assertEquals(new Position(5, 1), missionControl.getRovers().get(1).getPosition(), "Expected rover2 position (5, 1)");
+        assertEquals(Direction.EAST, missionControl.getRovers().get(1).getDirection(), "Expected rover2 direction E");
+    }
+
+    @Test
+    void testMetricsAndUnknownRovers() throws InterruptedException {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.addRover(new Rover(0, 0, Direction.NORTH, platform));
+
+        CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 8);
+        for (int i = 0; i < 20; i++) {
+            pipeline.submit(0, Command.MOVE);
+        }
+        pipeline.submit(5, Command.MOVE);
+        pipeline.close();
+
+        PipelineMetrics metrics = pipeline.metrics();
+        assertEquals(20, metrics.commands(), "Expected 20 applied commands");
+        assertEquals(1, metrics.rejected(), "Expected the command for an unknown rover to be rejected");
+        assertEquals(0, metrics.queueDepth(), "Expected an empty queue after closing");
+        assertTrue(metrics.batches() >= 3, "Expected at least three batches of at most 8 commands");
+        assertTrue(metrics.maxBatchSize() <= 8, "Expected batches of at most 8 commands");
+        assertTrue(metrics.maxApplyNanos() > 0, "Expected the apply latency to be recorded");
+        assertEquals(new Position(0, 0), missionControl.getRovers().get(0).getPosition(), "Expected 20 moves to wrap back to (0, 0)");
+        assertThrows(IllegalStateException.class, () -> pipeline.offer(0, Command.MOVE));
+    }
+
+    @Test
+    void testBatchesEndTicksWithTheRoversTheyChanged() throws InterruptedException {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), false);
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.addRover(new Rover(1, 1, Direction.NORTH, platform));
+        missionControl.addRover(new Rover(5, 5, Direction.EAST, platform));
+        missionControl.endTick();
+        List<RoverSnapshot> updates = new CopyOnWriteArrayList<>();
+        missionControl.addTickListener((tick, changed) -> updates.addAll(changed));
+
+        try (CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 16)) {
+            pipeline.submit(0, Command.MOVE);
+            pipeline.submit(0, Command.MOVE);
+        }
+
+        String uuid = missionControl.getRovers().get(0).getUuid();
+        assertFalse(updates.isEmpty(), "Expected the listeners to be told about the moves");
+        assertTrue(updates.stream().allMatch(update -> update.uuid().equals(uuid)), "Expected only the first rover to be reported");
+        assertEquals(new RoverSnapshot(uuid, 1, 3, Direction.NORTH), updates.get(updates.size() - 1), "Expected the final state of the first rover");
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopTheApplier() throws InterruptedException {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.addRover(new Rover(0, 0, Direction.NORTH, platform));
+        IllegalStateException failure = new IllegalStateException("Listener failed");
+        missionControl.addTickListener((tick, changed) -> {
+            throw failure;
+        });
+
+        CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 1);
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(0, Command.MOVE);
+        }
+        pipeline.close();
+
+        assertEquals(new Position(0, 5), missionControl.getRovers().get(0).getPosition(), "Expected every command to be applied");
+        assertEquals(5, pipeline.metrics().failures(), "Expected one failure per batch");
+        assertSame(failure, pipeline.getLastFailure(), "Expected the listener failure to be kept");
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        Platform platform = new Platform(100, 100, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        for (int i = 0; i < producers; i++) {
+            missionControl.addRover(new Rover(i * 10, 0, Direction.NORTH, platform));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CommandPipeline pipeline = new CommandPipeline(missionControl, 256, 64);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int rover = p;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_005; i++) {
+                        pipeline.submit(rover, Command.MOVE);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pipeline.close();
+            executor.shutdownNow();
+        }
+
+        assertEquals(4 * 10_005, pipeline.metrics().commands(), "Expected every command to be applied");
+        for (int i = 0; i < producers; i++) {
+            assertEquals(new Position(i * 10, 5), missionControl.getRovers().get(i).getPosition(), "Unexpected position for rover " + i);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.asosa.marsrover.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandProgramTest {
+
+    @Test
+    void testCompile() {
+        CommandProgram program = CommandProgram.compile("MMRMLLM");
+
+        assertEquals(7, program.length(), "Expected seven commands");
+        assertEquals("MMRMLLM", program.toString(), "Expected source program");
+        assertEquals(0, program.deltaX(0), "Expected no net X displacement facing N");
+        assertEquals(2, program.deltaY(0), "Expected net Y displacement of 2 facing N");
+        assertEquals(1, program.maxX(0), "Expected path to reach one cell east");
+        assertEquals(-2, program.deltaX(3), "Expected net X displacement of -2 facing W");
+    }
+
+    @Test
+    void testRotation() {
+        assertEquals(1, CommandProgram.compile("MRM").headingAfter(0), "Expected E after a right turn");
+        assertEquals(3, CommandProgram.compile("L").headingAfter(0), "Expected W after a left turn");
+        assertEquals(2, CommandProgram.compile("RMR").headingAfter(0, 5), "Expected S after five half turns");
+        assertEquals(4, CommandProgram.compile("R").period(), "Expected a period of four passes");
+        assertEquals(2, CommandProgram.compile("LL").period(), "Expected a period of two passes");
+        assertEquals(1, CommandProgram.compile("LMR").period(), "Expected a period of one pass");
+    }
+
+    @Test
+    void testSegments() {
+        CommandProgram program = CommandProgram.compile("MMLLRLMMMMRR");
+
+        assertEquals(3, program.segments(), "Expected three segments");
+        assertEquals(0, program.turn(0), "Expected no turn before the first run");
+        assertEquals(2, program.steps(0), "Expected a first run of two moves");
+        assertEquals(2, program.turn(1), "Expected turns collapsed into a half turn");
+        assertEquals(4, program.steps(1), "Expected a second run of four moves");
+        assertEquals(2, program.turn(2), "Expected trailing half turn");
+        assertEquals(0, program.steps(2), "Expected no moves after the trailing turns");
+    }
+
+    @Test
+    void testCachedPrograms() {
+        CommandProgram first = CommandProgram.of("MMRMMRMRRM");
+        CommandProgram second = CommandProgram.of("MMRMMRMRRM");
+
+        assertSame(first, second, "Expected the cached program to be reused");
+    }
+
+    @Test
+    void testCompileInvalidProgram() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> CommandProgram.compile("MXM"));
+        assertEquals("Invalid command code: X", exception.getMessage());
+    }
+}
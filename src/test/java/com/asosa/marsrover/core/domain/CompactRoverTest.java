@@ -0,0 +1,108 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CompactRoverTest {
+
+    private Platform setupTestPlatform() {
+        return new Platform(10, 10, new ArrayList<>(), false);
+    }
+
+    @Test
+    void testMoveAndTurn() {
+        Platform platform = setupTestPlatform();
+        CompactRover rover = new CompactRover(0, 0, Direction.NORTH, platform);
+        rover.move();
+        rover.turnRight();
+        rover.move();
+        assertEquals(new Position(1, 1), rover.getPosition(), "Expected position (1, 1)");
+        assertEquals(Direction.EAST, rover.getDirection(), "Expected direction E");
+    }
+
+    @Test
+    void testTurnLeftFullCircle() {
+        CompactRover rover = new CompactRover(0, 0, Direction.NORTH, setupTestPlatform());
+
+        rover.turnLeft();
+        assertEquals(Direction.WEST, rover.getDirection(), "Expected direction W");
+        rover.turnLeft();
+        assertEquals(Direction.SOUTH, rover.getDirection(), "Expected direction S");
+        rover.turnLeft();
+        assertEquals(Direction.EAST, rover.getDirection(), "Expected direction E");
+        rover.turnLeft();
+        assertEquals(Direction.NORTH, rover.getDirection(), "Expected direction N");
+    }
+
+    @Test
+    void testMatchesRover() {
+        Platform platform = new Platform(10, 10, List.of(new Position(4, 4), new Position(2, 7)), true);
+        String program = "MMRMMMLMMMMMMRMMRMMMMMMMMMMMLLMRMRMMMMM";
+        CompactRover compact = new CompactRover(3, 3, Direction.NORTH, platform);
+        Rover rover = new Rover(3, 3, Direction.NORTH, platform);
+
+        for (char cmd : program.toCharArray()) {
+            compact.executeCommand(Command.fromCode(cmd));
+            rover.executeCommand(Command.fromCode(cmd));
+        }
+
+        assertEquals(rover.getPosition(), compact.getPosition(), "Expected same position as Rover");
+        assertEquals(rover.getDirection(), compact.getDirection(), "Expected same direction as Rover");
+    }
+
+    @Test
+    void testNoWrapAroundAndObstacles() {
+        Platform platform = setupTestPlatform();
+        CompactRover rover = new CompactRover(0, 0, Direction.SOUTH, platform);
+        rover.setObstacles(new Position[]{new Position(1, 0)});
+
+        assertEquals(MoveResult.BOUNDARY, rover.move(), "Expected the move to be blocked by the boundary");
+        assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0) due to grid boundary");
+
+        rover.turnLeft();
+        assertEquals(MoveResult.OBSTACLE, rover.move(), "Expected the move to be blocked by the obstacle");
+        assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0) due to obstacle");
+    }
+
+    @Test
+    void testMovementDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean, "Allocation counters are not available");
+        ThreadMXBean allocations = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(allocations.isThreadAllocatedMemorySupported(), "Allocation counters are not supported");
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        Platform platform = new Platform(100, 100, List.of(new Position(50, 50)), true);
+        CompactRover rover = new CompactRover(0, 0, Direction.NORTH, platform);
+        int steps = 1_000_000;
+
+        // Warm up so that class loading and compilation do not count
+        drive(rover, steps);
+
+        long threadId = Thread.currentThread().threadId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        drive(rover, steps);
+        long allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 1024, "Expected no allocation per step, but " + allocated + " bytes were allocated");
+    }
+
+    private static void drive(CompactRover rover, int steps) {
+        for (int i = 0; i < steps; i++) {
+            if ((i & 15) == 15) {
+                rover.turnRight();
+            } else {
+                rover.move();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentMissionControlTest {
+
+    @Test
+    void testAddAndCommandRover() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, new ArrayList<>(), false));
+        RoverSnapshot rover = missionControl.addRover(1, 2, Direction.NORTH);
+
+        RoverSnapshot moved = missionControl.commandRover(rover.uuid(), Command.MOVE);
+        RoverSnapshot program = missionControl.execute(rover.uuid(), "RMM");
+
+        assertEquals(new Position(1, 3), moved.position(), "Expected position (1, 3)");
+        assertEquals(new Position(3, 3), program.position(), "Expected position (3, 3)");
+        assertEquals(Direction.EAST, missionControl.getRover(rover.uuid()).direction(), "Expected direction E");
+        assertTrue(missionControl.isPositionOccupied(3, 3), "Expected (3, 3) to be claimed");
+        assertFalse(missionControl.isPositionOccupied(1, 2), "Expected (1, 2) to be released");
+    }
+
+    @Test
+    void testMoveAcrossOneCellWideWrappingPlatform() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(1, 5, new ArrayList<>(), true));
+        RoverSnapshot rover = missionControl.addRover(0, 2, Direction.WEST);
+
+        assertEquals(MoveResult.MOVED, missionControl.getRoverControl(rover.uuid()).move(), "Expected the lone rover not to be blocked by itself");
+        assertEquals(new Position(0, 2), missionControl.getRover(rover.uuid()).position(), "Expected the rover to wrap back onto its cell");
+        assertTrue(missionControl.isPositionOccupied(0, 2), "Expected the cell to stay claimed");
+    }
+
+    @Test
+    void testAddRoverInOccupiedPosition() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, new ArrayList<>(), false));
+        missionControl.addRover(0, 0, Direction.NORTH);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> missionControl.addRover(0, 0, Direction.EAST));
+        assertEquals("Position already occupied", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> missionControl.addRover(10, 0, Direction.EAST));
+    }
+
+    @Test
+    void testRoverBlockedByRover() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, new ArrayList<>(), false));
+        missionControl.addRover(0, 0, Direction.NORTH);
+        missionControl.addRover(0, 1, Direction.NORTH);
+
+        assertEquals(new Position(0, 0), missionControl.commandRover(0, Command.MOVE).position(), "Expected position (0, 0) due to another rover");
+        assertThrows(IndexOutOfBoundsException.class, () -> missionControl.commandRover(2, Command.MOVE));
+        assertThrows(IllegalArgumentException.class, () -> missionControl.commandRover("missing", Command.MOVE));
+    }
+
+    @Test
+    void testRoverControlReportsMoveResult() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, List.of(new Position(1, 1)), false));
+        RoverControl rover = missionControl.getRoverControl(missionControl.addRover(1, 0, Direction.NORTH).uuid());
+        missionControl.addRover(2, 0, Direction.NORTH);
+
+        assertEquals(MoveResult.OBSTACLE, rover.move(), "Expected the move to be blocked by the obstacle");
+        rover.turnRight();
+        assertEquals(MoveResult.ROVER, rover.move(), "Expected the move to be blocked by the other rover");
+        rover.turnRight();
+        assertEquals(MoveResult.BOUNDARY, rover.move(), "Expected the move to be blocked by the boundary");
+        rover.turnRight();
+        assertEquals(MoveResult.MOVED, rover.move(), "Expected the rover to move");
+        assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0)");
+    }
+
+    @Test
+    void testRoverControlSetsObstacles() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, List.of(new Position(0, 1)), false));
+        RoverControl rover = missionControl.getRoverControl(missionControl.addRover(0, 0, Direction.NORTH).uuid());
+        missionControl.addRover(5, 0, Direction.NORTH);
+
+        rover.setObstacles(new Position[]{new Position(5, 1)});
+
+        assertEquals(MoveResult.MOVED, rover.move(), "Expected the old obstacle to be gone");
+        assertEquals(new Position(5, 0), missionControl.commandRover(1, Command.MOVE).position(), "Expected the other rover to be blocked by the new obstacle");
+        assertThrows(IllegalArgumentException.class, () -> missionControl.addRover(5, 1, Direction.EAST), "Expected no rover to be deployed on the new obstacle");
+    }
+
+    @Test
+    void testSnapshotsAreImmutable() {
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(10, 10, new ArrayList<>(), false));
+        missionControl.addRover(0, 0, Direction.NORTH);
+
+        List<RoverSnapshot> snapshots = missionControl.getRovers();
+        missionControl.commandRover(0, Command.MOVE);
+
+        assertEquals(new Position(0, 0), snapshots.get(0).position(), "Expected the snapshot to keep position (0, 0)");
+        assertThrows(UnsupportedOperationException.class, () -> snapshots.add(snapshots.get(0)));
+    }
+
+    @Test
+    void testConcurrentCommandsNeverShareACell() throws Exception {
+        int threads = 8;
+        int roversCount = 300;
+        // A crowded, wrap-around platform makes rovers race for the same cells constantly
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(
+                new Platform(20, 20, List.of(new Position(10, 10)), true), 4);
+        for (int i = 0; i < roversCount; i++) {
+            missionControl.addRover(i % 20, (i / 20) + (i / 20 >= 10 ? 1 : 0), Direction.values()[i % 4]);
+        }
+        String[] uuids = missionControl.getRovers().stream().map(RoverSnapshot::uuid).toArray(String[]::new);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = t;
+                workers.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    Command[] commands = {Command.MOVE, Command.MOVE, Command.LEFT, Command.RIGHT};
+                    start.await();
+                    for (int i = 0; i < 50_000; i++) {
+                        String rover = uuids[random.nextInt(uuids.length)];
+                        if (i % 100 == 0) {
+                            missionControl.execute(rover, "MMLMRM");
+                        } else {
+                            missionControl.commandRover(rover, commands[random.nextInt(commands.length)]);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> checker = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    assertDistinctCells(missionControl.getRovers());
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            checker.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<RoverSnapshot> snapshots = missionControl.getRovers();
+        assertDistinctCells(snapshots);
+        int occupied = 0;
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 20; y++) {
+                occupied += missionControl.isPositionOccupied(x, y) ? 1 : 0;
+            }
+        }
+        assertEquals(roversCount, occupied, "Expected exactly one claimed cell per rover");
+        for (RoverSnapshot snapshot : snapshots) {
+            assertTrue(missionControl.isPositionOccupied(snapshot.x(), snapshot.y()), "Expected cell of " + snapshot.uuid() + " to be claimed");
+            assertNotEquals(new Position(10, 10), snapshot.position(), "Expected no rover on the obstacle");
+        }
+    }
+
+    private static void assertDistinctCells(List<RoverSnapshot> snapshots) {
+        Set<Long> cells = new HashSet<>();
+        for (RoverSnapshot snapshot : snapshots) {
+            assertTrue(cells.add(OccupancyIndex.key(snapshot.x(), snapshot.y())),
+                    "Expected no other rover on (" + snapshot.x() + ", " + snapshot.y() + ")");
+        }
+    }
+}
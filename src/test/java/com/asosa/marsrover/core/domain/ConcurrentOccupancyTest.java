@@ -0,0 +1,31 @@
+package com.asosa.marsrover.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentOccupancyTest {
+
+    @Test
+    void testClaimAndRelease() {
+        ConcurrentOccupancy occupancy = new ConcurrentOccupancy(100, 100);
+
+        assertTrue(occupancy.claim(5, 50, 0), "Expected free cell to be claimed");
+        assertFalse(occupancy.claim(5, 50, 1), "Expected claimed cell to be refused");
+        assertEquals(0, occupancy.get(5, 50), "Expected slot 0 on (5, 50)");
+
+        occupancy.release(5, 50, 1);
+        assertEquals(0, occupancy.get(5, 50), "Expected release by another slot to be ignored");
+
+        occupancy.release(5, 50, 0);
+        assertEquals(OccupancyIndex.NO_SLOT, occupancy.get(5, 50), "Expected (5, 50) to be free");
+    }
+
+    @Test
+    void testCellsOutsideThePlatform() {
+        ConcurrentOccupancy occupancy = new ConcurrentOccupancy(10, 10);
+
+        assertFalse(occupancy.claim(-1, 0, 0), "Expected cells outside the platform to be refused");
+        assertEquals(OccupancyIndex.NO_SLOT, occupancy.get(10, 10), "Expected no slot outside the platform");
+    }
+}
@@ -0,0 +1,274 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetStateTest {
+
+    private Platform platform;
+    private FleetState fleet;
+
+    @BeforeEach
+    void setUp() {
+        platform = new Platform(10, 10, new ArrayList<>(), false);
+        fleet = new FleetState(platform, 2);
+    }
+
+    @Test
+    void testAdd() {
+        int first = fleet.add(1, 2, Direction.NORTH);
+        int second = fleet.add(3, 3, Direction.EAST);
+
+        assertEquals(0, first, "Expected first rover in slot 0");
+        assertEquals(1, second, "Expected second rover in slot 1");
+        assertEquals(2, fleet.size(), "Expected two rovers in the fleet");
+        assertEquals(new Position(3, 3), fleet.getPosition(1), "Expected position (3, 3)");
+        assertEquals(Direction.EAST, fleet.getDirection(1), "Expected direction E");
+        assertTrue(platform.isPositionOccupied(1, 2), "Expected (1, 2) to be claimed");
+    }
+
+    @Test
+    void testAddInOccupiedPosition() {
+        fleet.add(1, 2, Direction.NORTH);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> fleet.add(1, 2, Direction.EAST));
+        assertEquals("Position already occupied", exception.getMessage());
+    }
+
+    @Test
+    void testGrowsBeyondExpectedSize() {
+        for (int i = 0; i < 100; i++) {
+            fleet.add(i % 10, i / 10, Direction.NORTH);
+        }
+
+        assertEquals(100, fleet.size(), "Expected 100 rovers in the fleet");
+        assertEquals(new Position(9, 9), fleet.getPosition(99), "Expected last rover at (9, 9)");
+    }
+
+    @Test
+    void testTickInSlotOrder() {
+        fleet.add(0, 0, Direction.NORTH);
+        fleet.add(0, 1, Direction.NORTH);
+
+        // The first rover is blocked by the second one, which only moves afterwards
+        fleet.tick(new byte[]{'M', 'M'});
+
+        assertEquals(new Position(0, 0), fleet.getPosition(0), "Expected first rover to stay at (0, 0)");
+        assertEquals(new Position(0, 2), fleet.getPosition(1), "Expected second rover at (0, 2)");
+
+        fleet.tick(new byte[]{'M', FleetState.IDLE});
+        assertEquals(new Position(0, 1), fleet.getPosition(0), "Expected first rover at (0, 1)");
+    }
+
+    @Test
+    void testRunMatchesRovers() {
+        fleet.add(1, 2, Direction.NORTH);
+        fleet.add(3, 3, Direction.EAST);
+
+        fleet.run(new byte[][]{
+                "LMLMLMLMM".getBytes(StandardCharsets.US_ASCII),
+                "MMRMMRMRRM".getBytes(StandardCharsets.US_ASCII)
+        });
+
+        assertEquals(new Position(1, 3), fleet.getPosition(0), "Expected rover1 position (1, 3)");
+        assertEquals(Direction.NORTH, fleet.getDirection(0), "Expected rover1 direction N");
+        assertEquals(new Position(5, 1), fleet.getPosition(1), "Expected rover2 position (5, 1)");
+        assertEquals(Direction.EAST, fleet.getDirection(1), "Expected rover2 direction E");
+    }
+
+    @Test
+    void testTickRejectsWrongCommandCount() {
+        fleet.add(0, 0, Direction.NORTH);
+
+        assertThrows(IllegalArgumentException.class, () -> fleet.tick(new byte[]{'M', 'M'}));
+        assertThrows(IllegalArgumentException.class, () -> fleet.tick(new byte[]{'X'}));
+    }
+
+    @Test
+    void testInvalidSlot() {
+        Exception exception = assertThrows(IndexOutOfBoundsException.class, () -> fleet.getPosition(0));
+        assertEquals("Rover index out of bounds", exception.getMessage());
+    }
+
+    @Test
+    void testMatchesSingleRover() {
+        Platform wrapping = new Platform(10, 10, new ArrayList<>(), true);
+        FleetState single = new FleetState(wrapping, 1);
+        single.add(4, 4, Direction.WEST);
+        Rover rover = new Rover(4, 4, Direction.WEST, new Platform(10, 10, new ArrayList<>(), true));
+
+        for (char cmd : "MMMMMMMRMMMMMMMMMMMMLMMLMMMMMMR".toCharArray()) {
+            single.tick(new byte[]{(byte) cmd});
+            rover.executeCommand(Command.fromCode(cmd));
+        }
+
+        assertEquals(rover.getPosition(), single.getPosition(0), "Expected same position as Rover");
+        assertEquals(rover.getDirection(), single.getDirection(0), "Expected same direction as Rover");
+    }
+
+    @Test
+    void testSimultaneousTickResolvesConflictsBySlot() {
+        fleet.add(2, 1, Direction.EAST);  // Targets (3, 1)
+        fleet.add(4, 1, Direction.WEST);  // Targets (3, 1) as well
+        fleet.add(5, 5, Direction.NORTH); // Moves away from (5, 5)
+        fleet.add(5, 4, Direction.NORTH); // Targets (5, 5), occupied at the start of the tick
+
+        fleet.tickSimultaneous(new byte[]{'M', 'M', 'M', 'M'});
+
+        assertEquals(new Position(3, 1), fleet.getPosition(0), "Expected lowest slot to win (3, 1)");
+        assertEquals(new Position(4, 1), fleet.getPosition(1), "Expected higher slot to stay in place");
+        assertEquals(new Position(5, 6), fleet.getPosition(2), "Expected third rover at (5, 6)");
+        assertEquals(new Position(5, 4), fleet.getPosition(3), "Expected fourth rover to stay in place");
+        assertTrue(platform.isPositionOccupied(3, 1), "Expected (3, 1) to be claimed");
+        assertFalse(platform.isPositionOccupied(2, 1), "Expected (2, 1) to be released");
+    }
+
+    @Test
+    void testParallelTickMatchesSequentialTick() {
+        int rovers = 50_000;
+        Platform sequentialPlatform = new Platform(300, 300, List.of(new Position(10, 10)), true);
+        Platform parallelPlatform = new Platform(300, 300, List.of(new Position(10, 10)), true);
+        FleetState sequential = new FleetState(sequentialPlatform, rovers);
+        FleetState parallel = new FleetState(parallelPlatform, rovers);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < rovers; i++) {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            sequential.add(i % 300, (i / 300) + 11, direction);
+            parallel.add(i % 300, (i / 300) + 11, direction);
+        }
+
+        byte[] codes = {'M', 'M', 'L', 'R', FleetState.IDLE};
+        byte[] commands = new byte[rovers];
+        for (int tick = 0; tick < 20; tick++) {
+            for (int i = 0; i < rovers; i++) {
+                commands[i] = codes[random.nextInt(codes.length)];
+            }
+            sequential.tickSimultaneous(commands);
+            parallel.tickParallel(commands, ForkJoinPool.commonPool());
+        }
+
+        for (int i = 0; i < rovers; i++) {
+            assertEquals(sequential.getX(i), parallel.getX(i), "Unexpected X for rover " + i);
+            assertEquals(sequential.getY(i), parallel.getY(i), "Unexpected Y for rover " + i);
+            assertEquals(sequential.getDirection(i), parallel.getDirection(i), "Unexpected direction for rover " + i);
+            assertTrue(parallelPlatform.isPositionOccupied(parallel.getX(i), parallel.getY(i)), "Expected cell of rover " + i + " to be claimed");
+        }
+    }
+
+    @Test
+    void testShardedRunHandsRoversAcrossTiles() {
+        Platform wrapping = new Platform(40, 40, List.of(new Position(30, 5)), true);
+        FleetState sharded = new FleetState(wrapping, 3);
+        sharded.add(5, 5, Direction.EAST);
+        sharded.add(5, 25, Direction.NORTH);
+        sharded.add(35, 35, Direction.EAST);
+
+        sharded.runSharded(new byte[][]{
+                "MMMMMMMMMMMMMMMMMMMMMMMMMMMMMM".getBytes(StandardCharsets.US_ASCII),
+                "MMMMMMMMMMMMMMMMMMMMRMMMMMMMMMMMMMMMMMMMMM".getBytes(StandardCharsets.US_ASCII),
+                "MMMMMMMMMMLMMMMMMMMMM".getBytes(StandardCharsets.US_ASCII)
+        }, 4);
+
+        assertEquals(new Position(29, 5), sharded.getPosition(0), "Expected first rover to stop before the obstacle");
+        assertEquals(new Position(26, 5), sharded.getPosition(1), "Expected second rover to wrap into (26, 5)");
+        assertEquals(Direction.EAST, sharded.getDirection(1), "Expected second rover to face E");
+        assertEquals(new Position(4, 5), sharded.getPosition(2), "Expected third rover to wrap into (4, 5)");
+        for (int slot = 0; slot < sharded.size(); slot++) {
+            assertTrue(wrapping.isPositionOccupied(sharded.getX(slot), sharded.getY(slot)), "Expected final cell of rover " + slot + " to be claimed");
+        }
+        assertFalse(wrapping.isPositionOccupied(5, 5), "Expected initial cell of the first rover to be released");
+    }
+
+    @Test
+    void testShardedRunRestoresTheFleetWhenATileFails() {
+        Platform failing = new Platform(40, 40, new ArrayList<>(), false) {
+            @Override
+            long nextCell(int x, int y, int heading) {
+                if (x == 30) {
+                    throw new IllegalStateException("Tile failure");
+                }
+                return super.nextCell(x, y, heading);
+            }
+        };
+        FleetState sharded = new FleetState(failing, 3);
+        sharded.add(25, 25, Direction.EAST);
+        sharded.add(5, 5, Direction.NORTH);
+        sharded.add(5, 25, Direction.SOUTH);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> sharded.runSharded(new byte[][]{
+                "MMMMMMMMMM".getBytes(StandardCharsets.US_ASCII),
+                "MRMRMLMLMMMMMMMMMMMMMMMMMMMM".getBytes(StandardCharsets.US_ASCII),
+                "MMMMMMMMMMMMMMMMMMMMMMMMMMMM".getBytes(StandardCharsets.US_ASCII)
+        }, 4));
+
+        assertEquals("Tile failure", e.getMessage(), "Expected the failure of the tile to be rethrown");
+        assertEquals(new Position(25, 25), sharded.getPosition(0), "Expected first rover back in its initial cell");
+        assertEquals(new Position(5, 5), sharded.getPosition(1), "Expected second rover back in its initial cell");
+        assertEquals(Direction.NORTH, sharded.getDirection(1), "Expected second rover back to its initial direction");
+        assertEquals(new Position(5, 25), sharded.getPosition(2), "Expected third rover back in its initial cell");
+        for (int slot = 0; slot < sharded.size(); slot++) {
+            assertTrue(failing.isPositionOccupied(sharded.getX(slot), sharded.getY(slot)), "Expected initial cell of rover " + slot + " to be claimed");
+        }
+        assertFalse(failing.isPositionOccupied(29, 25), "Expected no claim on the cells reached during the run");
+        assertTrue(sharded.add(29, 25, Direction.EAST) >= 0, "Expected a reached cell to be free again");
+    }
+
+    @Test
+    void testMoveAcrossOneCellHighWrappingPlatform() {
+        Platform flat = new Platform(5, 1, new ArrayList<>(), true);
+        FleetState lone = new FleetState(flat, 1);
+        lone.add(3, 0, Direction.NORTH);
+
+        lone.tick(new byte[] {'M'});
+        lone.tickSimultaneous(new byte[] {'M'});
+
+        assertEquals(new Position(3, 0), lone.getPosition(0), "Expected the rover to wrap back onto its cell");
+        assertTrue(flat.isPositionOccupied(3, 0), "Expected the cell to stay claimed");
+    }
+
+    @Test
+    void testShardedRunIsDeterministic() {
+        int rovers = 2_000;
+        byte[][] programs = new byte[rovers][];
+        SplittableRandom random = new SplittableRandom(11);
+        byte[] codes = {'M', 'M', 'M', 'L', 'R'};
+        for (int i = 0; i < rovers; i++) {
+            programs[i] = new byte[50];
+            for (int t = 0; t < programs[i].length; t++) {
+                programs[i][t] = codes[random.nextInt(codes.length)];
+            }
+        }
+
+        FleetState first = shardedFleet(rovers, programs);
+        FleetState second = shardedFleet(rovers, programs);
+
+        for (int i = 0; i < rovers; i++) {
+            assertEquals(first.getPosition(i), second.getPosition(i), "Unexpected position for rover " + i);
+            assertEquals(first.getDirection(i), second.getDirection(i), "Unexpected direction for rover " + i);
+            for (int j = i + 1; j < Math.min(rovers, i + 64); j++) {
+                assertNotEquals(first.getPosition(i), first.getPosition(j), "Expected rovers " + i + " and " + j + " on different cells");
+            }
+        }
+    }
+
+    private static FleetState shardedFleet(int rovers, byte[][] programs) {
+        Platform wrapping = new Platform(64, 64, List.of(new Position(20, 20), new Position(40, 40)), true);
+        FleetState sharded = new FleetState(wrapping, rovers);
+        for (int i = 0; i < rovers; i++) {
+            sharded.add((i * 2) % 64, (i * 2) / 64, Direction.values()[i % 4]);
+        }
+        sharded.runSharded(programs, 16);
+        return sharded;
+    }
+}
@@ -0,0 +1,57 @@
+package com.asosa.marsrover.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeCellIndexTest {
+
+    @Test
+    void testNextFree() {
+        FreeCellIndex index = new FreeCellIndex(10, 10);
+        index.set(0, 0, true);
+        index.set(1, 0, true);
+
+        assertEquals(2, index.nextFree(0), "Expected first free cell at index 2");
+        assertEquals(5, index.nextFree(5), "Expected free starting cell to be returned");
+
+        index.set(0, 0, false);
+        assertEquals(0, index.nextFree(0), "Expected released cell to be free again");
+    }
+
+    @Test
+    void testSkipsFullWords() {
+        FreeCellIndex index = new FreeCellIndex(100, 100);
+        for (int y = 0; y < 99; y++) {
+            for (int x = 0; x < 100; x++) {
+                index.set(x, y, true);
+            }
+        }
+        index.set(42, 99, true);
+
+        assertEquals(9_900, index.nextFree(0), "Expected first free cell on the last row");
+        assertEquals(9_943, index.nextFree(9_942), "Expected blocked cell to be skipped");
+    }
+
+    @Test
+    void testFullIndex() {
+        FreeCellIndex index = new FreeCellIndex(3, 3);
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                index.set(x, y, true);
+            }
+        }
+
+        assertEquals(-1, index.nextFree(0), "Expected no free cell, including the padding bits");
+        assertEquals(-1, index.nextFree(9), "Expected no cell past the platform");
+    }
+
+    @Test
+    void testCellsOutsideThePlatformAreIgnored() {
+        FreeCellIndex index = new FreeCellIndex(3, 3);
+        index.set(-1, 0, true);
+        index.set(3, 0, true);
+
+        assertEquals(0, index.nextFree(0), "Expected (0, 0) to stay free");
+    }
+}
@@ -3,10 +3,15 @@ package com.asosa.marsrover.core.domain;
 import com.asosa.marsrover.common.Command;
 import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.SequentialIdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +38,115 @@ class MissionControlTest {
         assertEquals("Position already occupied", exception.getMessage());
     }
 
+    @Test
+    void testDeployFleetUsesMissionUuidGenerator() {
+        MissionControl sequentialMission = new MissionControl(platform, new SequentialIdGenerator());
+
+        List<Rover> deployed = sequentialMission.deployFleet(List.of(
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(1, 0, Direction.EAST)));
+
+        assertEquals("1", sequentialMission.getUuid(), "Expected the mission UUID from the generator");
+        assertEquals("2", deployed.get(0).getUuid(), "Expected the first rover UUID from the generator");
+        assertEquals("3", deployed.get(1).getUuid(), "Expected the second rover UUID from the generator");
+    }
+
+    @Test
+    void testDeployFleet() {
+        missionControl.addRover(new Rover(1, 1, Direction.NORTH, platform));
+
+        List<Rover> deployed = missionControl.deployFleet(List.of(
+                new RoverDeployment(1, 1, Direction.EAST),
+                new RoverDeployment(1, 1, Direction.SOUTH),
+                new RoverDeployment(9, 1, Direction.WEST)));
+
+        assertEquals(3, deployed.size(), "Expected three deployed rovers");
+        assertEquals(new Position(2, 1), deployed.get(0).getPosition(), "Expected collision to move the rover to (2, 1)");
+        assertEquals(new Position(3, 1), deployed.get(1).getPosition(), "Expected second collision to move the rover to (3, 1)");
+        assertEquals(new Position(9, 1), deployed.get(2).getPosition(), "Expected rover at the requested (9, 1)");
+        assertEquals(Direction.SOUTH, deployed.get(1).getDirection(), "Expected direction S");
+        assertEquals(4, missionControl.getRovers().size(), "Expected four rovers in the mission");
+        assertTrue(platform.isPositionOccupied(3, 1), "Expected (3, 1) to be claimed");
+    }
+
+    @Test
+    void testDeployLargeFleet() {
+        Platform large = new Platform(500, 500, List.of(new Position(250, 250)), false);
+        MissionControl largeMission = new MissionControl(large);
+        List<RoverDeployment> deployments = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            deployments.add(new RoverDeployment(i % 500, (i / 500) * 2, Direction.NORTH));
+        }
+        deployments.add(new RoverDeployment(250, 250, Direction.NORTH));
+
+        List<Rover> deployed = largeMission.deployFleet(deployments);
+
+        assertEquals(50_001, deployed.size(), "Expected the whole fleet to be deployed");
+        assertEquals(new Position(251, 250), deployed.get(50_000).getPosition(), "Expected rover to skip the obstacle at (250, 250)");
+    }
+
+    @Test
+    void testDeployFleetWithoutRoom() {
+        Platform small = new Platform(2, 1, new ArrayList<>(), false);
+        MissionControl smallMission = new MissionControl(small);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> smallMission.deployFleet(List.of(
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(0, 0, Direction.NORTH))));
+
+        assertEquals("No available positions for the rover", exception.getMessage());
+        assertTrue(smallMission.getRovers().isEmpty(), "Expected the partial fleet to be withdrawn");
+        assertFalse(small.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+    }
+
+    @Test
+    void testDeployFleetRollbackReleasesSlots() {
+        Platform small = new Platform(2, 1, new ArrayList<>(), false);
+        MissionControl smallMission = new MissionControl(small);
+        List<Rover> placed = new ArrayList<>();
+        RoverFactory factory = new RoverFactory() {
+            @Override
+            public Rover newRoverControl(int x, int y, Direction direction, Platform platform) {
+                Rover rover = super.newRoverControl(x, y, direction, platform);
+                placed.add(rover);
+                return rover;
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> smallMission.deployFleet(List.of(
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(0, 0, Direction.NORTH)), factory));
+
+        assertEquals(2, placed.size(), "Expected two rovers to be placed before the platform ran out of cells");
+        for (Rover rover : placed) {
+            assertEquals(OccupancyIndex.NO_SLOT, rover.getSlot(), "Expected the withdrawn rover to lose its slot");
+        }
+    }
+
+    @Test
+    void testDeployFleetWithoutDirection() {
+        assertThrows(IllegalArgumentException.class, () -> missionControl.deployFleet(List.of(
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(1, 0, null))));
+        assertTrue(missionControl.getRovers().isEmpty(), "Expected no rover to be deployed");
+    }
+
+    @Test
+    void testAddRoverOnCellVacatedByMove() {
+        Rover firstRover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(firstRover);
+        missionControl.moveRover(0);
+
+        Rover secondRover = new Rover(0, 0, Direction.NORTH, platform);
+        assertDoesNotThrow(() -> missionControl.addRover(secondRover), "Expected vacated cell to be available");
+
+        Rover thirdRover = new Rover(0, 1, Direction.NORTH, platform);
+        assertThrows(IllegalStateException.class, () -> missionControl.addRover(thirdRover),
+                "Expected exception for adding rover where the first rover moved to");
+    }
+
     @Test
     void testAddRover() {
         Rover rover = new Rover(0, 0, Direction.NORTH, platform);
@@ -47,12 +161,80 @@ class MissionControlTest {
         Rover rover = new Rover(0, 0, Direction.NORTH, platform);
         missionControl.addRover(rover);
 
-        missionControl.moveRover(0);
+        assertEquals(MoveResult.MOVED, missionControl.moveRover(0), "Expected the rover to move");
 
         assertEquals(0, missionControl.getRovers().getFirst().getPosition().getX(), "Expected X position to remain 0");
         assertEquals(1, missionControl.getRovers().getFirst().getPosition().getY(), "Expected Y position to increase by 1");
     }
 
+    @Test
+    void testCommandRoverByUuid() {
+        Rover rover = new Rover(1, 2, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+
+        missionControl.commandRover(rover.getUuid(), Command.RIGHT);
+        assertEquals(MoveResult.MOVED, missionControl.moveRover(rover.getUuid()), "Expected the rover to move");
+
+        assertEquals(new Position(2, 2), rover.getPosition(), "Expected position (2, 2)");
+        assertSame(rover, missionControl.getRover(rover.getUuid()), "Expected the rover to be found by UUID");
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> missionControl.commandRover("missing", Command.MOVE));
+        assertEquals("Unknown rover: missing", exception.getMessage());
+    }
+
+    @Test
+    void testAddRoverWithDeployedUuid() {
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform, new SequentialIdGenerator());
+        missionControl.addRover(rover);
+
+        Rover twin = new Rover(5, 5, Direction.NORTH, platform, new SequentialIdGenerator());
+        Exception exception = assertThrows(IllegalStateException.class, () -> missionControl.addRover(twin));
+        assertEquals("Rover already deployed: 1", exception.getMessage());
+        assertFalse(platform.isPositionOccupied(5, 5), "Expected (5, 5) to stay free");
+    }
+
+    @Test
+    void testRemoveRoverSwapsLastRoverIn() {
+        Rover first = new Rover(0, 0, Direction.NORTH, platform);
+        Rover second = new Rover(1, 0, Direction.NORTH, platform);
+        Rover third = new Rover(2, 0, Direction.WEST, platform);
+        missionControl.addRover(first);
+        missionControl.addRover(second);
+        missionControl.addRover(third);
+
+        assertSame(first, missionControl.removeRover(first.getUuid()), "Expected the removed rover");
+
+        assertEquals(List.of(third, second), missionControl.getRovers(), "Expected the last rover to take the freed index");
+        assertFalse(platform.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+        assertEquals(0, platform.occupantAt(2, 0), "Expected the cell of the moved rover to follow its new index");
+        assertSame(third, missionControl.getRover(third.getUuid()), "Expected the moved rover to be found by UUID");
+        assertThrows(IllegalArgumentException.class, () -> missionControl.getRover(first.getUuid()));
+
+        // The moved rover keeps carrying its claim, and the removed rover no longer holds one
+        missionControl.moveRover(0);
+        assertTrue(platform.isPositionOccupied(1, 0), "Expected the moved rover to be blocked by the second rover");
+        assertEquals(new Position(2, 0), third.getPosition(), "Expected the moved rover to stay at (2, 0)");
+        first.move();
+        assertFalse(platform.isPositionOccupied(0, 1), "Expected the removed rover to move without a claim");
+
+        missionControl.removeRover(second.getUuid());
+        missionControl.removeRover(third.getUuid());
+        assertTrue(missionControl.getRovers().isEmpty(), "Expected no rover left");
+        assertFalse(platform.isPositionOccupied(2, 0), "Expected (2, 0) to be released");
+    }
+
+    @Test
+    void testDeployFleetRollbackForgetsUuids() {
+        Platform small = new Platform(1, 1, new ArrayList<>(), false);
+        MissionControl smallMission = new MissionControl(small, new SequentialIdGenerator());
+
+        assertThrows(IllegalStateException.class, () -> smallMission.deployFleet(List.of(
+                new RoverDeployment(0, 0, Direction.NORTH),
+                new RoverDeployment(0, 0, Direction.NORTH))));
+
+        assertThrows(IllegalArgumentException.class, () -> smallMission.getRover("2"), "Expected the withdrawn rover to be forgotten");
+        assertDoesNotThrow(() -> smallMission.deployFleet(List.of(new RoverDeployment(0, 0, Direction.NORTH))));
+    }
+
     @Test
     void testCommandRover() {
         Rover rover = new Rover(0, 0, Direction.NORTH, platform);
@@ -71,4 +253,180 @@ class MissionControlTest {
 
         assertEquals("Rover index out of bounds", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRunPrograms() {
+        missionControl.addRover(new Rover(1, 2, Direction.NORTH, platform));
+        missionControl.addRover(new Rover(3, 3, Direction.EAST, platform));
+
+        missionControl.runPrograms(List.of("LMLMLMLMM", "MMRMMRMRRM"));
+
+        Rover first = missionControl.getRovers().get(0);
+        Rover second = missionControl.getRovers().get(1);
+        assertEquals(new Position(1, 3), first.getPosition(), "Expected rover1 position (1, 3)");
+        assertEquals(Direction.NORTH, first.getDirection(), "Expected rover1 direction N");
+        assertEquals(new Position(5, 1), second.getPosition(), "Expected rover2 position (5, 1)");
+        assertEquals(Direction.EAST, second.getDirection(), "Expected rover2 direction E");
+        assertTrue(platform.isPositionOccupied(5, 1), "Expected final cell of rover2 to be claimed");
+        assertFalse(platform.isPositionOccupied(3, 3), "Expected initial cell of rover2 to be released");
+    }
+
+    @Test
+    void testRunPrograms_WrongProgramCount() {
+        missionControl.addRover(new Rover(1, 2, Direction.NORTH, platform));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                missionControl.runPrograms(List.of("M", "M")));
+
+        assertEquals("Expected one program per rover", exception.getMessage());
+    }
+
+    @Test
+    void testTick() {
+        Rover first = new Rover(0, 0, Direction.EAST, platform);
+        Rover second = new Rover(2, 0, Direction.WEST, platform);
+        Rover third = new Rover(5, 5, Direction.NORTH, platform);
+        missionControl.addRover(first);
+        missionControl.addRover(second);
+        missionControl.addRover(third);
+
+        missionControl.tick(Map.of(first, Command.MOVE, second, Command.MOVE));
+
+        assertEquals(new Position(1, 0), first.getPosition(), "Expected first rover to win (1, 0)");
+        assertEquals(new Position(2, 0), second.getPosition(), "Expected second rover to stay in place");
+        assertEquals(new Position(5, 5), third.getPosition(), "Expected idle rover to stay in place");
+
+        missionControl.tick(Map.of(second, Command.LEFT));
+        assertEquals(Direction.SOUTH, second.getDirection(), "Expected second rover to face S");
+    }
+
+    @Test
+    void testTickListenerCoalescesChanges() {
+        Rover first = new Rover(0, 0, Direction.NORTH, platform);
+        Rover second = new Rover(5, 5, Direction.EAST, platform);
+        Rover third = new Rover(9, 9, Direction.NORTH, platform);
+        missionControl.addRover(first);
+        missionControl.addRover(second);
+        missionControl.addRover(third);
+        List<Long> ticks = new ArrayList<>();
+        List<List<RoverSnapshot>> updates = new ArrayList<>();
+        missionControl.addTickListener((tick, changed) -> {
+            ticks.add(tick);
+            updates.add(changed);
+        });
+        missionControl.endTick(); // Reports the deployment
+
+        missionControl.moveRover(0);
+        missionControl.moveRover(first.getUuid());
+        missionControl.commandRover(1, Command.LEFT);
+        missionControl.moveRover(2); // Blocked by the edge, so nothing changes
+        assertEquals(1, updates.size(), "Expected no update before the end of the tick");
+        missionControl.endTick();
+        missionControl.endTick();
+
+        assertEquals(List.of(1L, 2L), ticks, "Expected one update per tick with changes");
+        assertEquals(3, missionControl.getTick(), "Expected three ticks ended");
+        assertEquals(3, updates.get(0).size(), "Expected every deployed rover in the first update");
+        assertEquals(List.of(new RoverSnapshot(first.getUuid(), 0, 2, Direction.NORTH),
+                        new RoverSnapshot(second.getUuid(), 5, 5, Direction.NORTH)),
+                updates.get(1), "Expected the final state of the changed rovers only");
+    }
+
+    @Test
+    void testTickNotifiesListenerOnce() {
+        Rover first = new Rover(0, 0, Direction.EAST, platform);
+        Rover second = new Rover(2, 0, Direction.WEST, platform);
+        missionControl.addRover(first);
+        missionControl.addRover(second);
+        missionControl.endTick();
+        List<List<RoverSnapshot>> updates = new ArrayList<>();
+        missionControl.addTickListener((tick, changed) -> updates.add(changed));
+
+        missionControl.tick(Map.of(first, Command.MOVE, second, Command.MOVE));
+        missionControl.runPrograms(List.of("MR", "L"));
+
+        assertEquals(2, updates.size(), "Expected one update per tick");
+        assertEquals(List.of(new RoverSnapshot(first.getUuid(), 1, 0, Direction.EAST)), updates.get(0),
+                "Expected only the rover that moved, the blocked one being left out");
+        assertEquals(2, updates.get(1).size(), "Expected both rovers after the program run");
+        assertEquals(new RoverSnapshot(first.getUuid(), 1, 0, Direction.SOUTH), updates.get(1).get(0), "Expected first rover to be blocked then turn");
+    }
+
+    @Test
+    void testTickOnLargeFleetMatchesSimultaneousTick() {
+        int count = 20_000;
+        Platform large = new Platform(300, 300, List.of(new Position(150, 150)), true);
+        MissionControl mission = new MissionControl(large);
+        FleetState expected = new FleetState(new Platform(300, 300, List.of(new Position(150, 150)), true), count);
+        SplittableRandom random = new SplittableRandom(5);
+        Command[] values = Command.values();
+        for (int i = 0; i < count; i++) {
+            Direction direction = Direction.values()[random.nextInt(4)];
+            mission.addRover(new Rover(i % 300, i / 300, direction, large));
+            expected.add(i % 300, i / 300, direction);
+        }
+        mission.endTick();
+        List<Integer> updates = new ArrayList<>();
+        mission.addTickListener((tick, changed) -> updates.add(changed.size()));
+
+        for (int tick = 0; tick < 5; tick++) {
+            Map<Rover, Command> commands = new HashMap<>();
+            byte[] codes = new byte[count];
+            for (int i = 0; i < count; i++) {
+                if (random.nextInt(4) != 0) {
+                    Command command = values[random.nextInt(values.length)];
+                    commands.put(mission.getRovers().get(i), command);
+                    codes[i] = (byte) command.getCode().charAt(0);
+                }
+            }
+            mission.tick(commands);
+            expected.tickSimultaneous(codes);
+        }
+
+        assertEquals(5, updates.size(), "Expected one update per tick");
+        for (int i = 0; i < count; i++) {
+            Rover rover = mission.getRovers().get(i);
+            assertEquals(expected.getPosition(i), rover.getPosition(), "Unexpected position for rover " + i);
+            assertEquals(expected.getDirection(i), rover.getDirection(), "Unexpected direction for rover " + i);
+            assertTrue(large.isPositionOccupied(rover.getPosition().getX(), rover.getPosition().getY()), "Expected cell of rover " + i + " to be claimed");
+        }
+    }
+
+    @Test
+    void testTick_UnknownRover() {
+        Rover stranger = new Rover(0, 0, Direction.NORTH, platform);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                missionControl.tick(Map.of(stranger, Command.MOVE)));
+
+        assertEquals("Unknown rover in tick commands", exception.getMessage());
+    }
+
+    @Test
+    void testRunProgramsSharded() {
+        missionControl.addRover(new Rover(1, 2, Direction.NORTH, platform));
+        missionControl.addRover(new Rover(8, 8, Direction.EAST, platform));
+
+        missionControl.runPrograms(List.of("LMLMLMLMM", "RMMMMMMLMM"), 4);
+
+        Rover first = missionControl.getRovers().get(0);
+        Rover second = missionControl.getRovers().get(1);
+        assertEquals(new Position(1, 3), first.getPosition(), "Expected rover1 position (1, 3)");
+        assertEquals(new Position(9, 2), second.getPosition(), "Expected rover2 position (9, 2)");
+        assertEquals(Direction.EAST, second.getDirection(), "Expected rover2 direction E");
+        assertTrue(platform.isPositionOccupied(9, 2), "Expected final cell of rover2 to be claimed");
+    }
+
+    @Test
+    void testRunProgramsShardedEndsTheTickOnFailure() {
+        missionControl.addRover(new Rover(1, 2, Direction.NORTH, platform));
+        List<Long> ticks = new ArrayList<>();
+        missionControl.addTickListener((tick, changed) -> ticks.add(tick));
+
+        assertThrows(IllegalArgumentException.class, () -> missionControl.runPrograms(List.of("M", "M"), 4));
+
+        assertEquals(1, missionControl.getTick(), "Expected the tick to be ended despite the failure");
+        assertEquals(List.of(1L), ticks, "Expected the deployment to be reported");
+        assertEquals(new Position(1, 2), missionControl.getRovers().get(0).getPosition(), "Expected the rover to stay in place");
+    }
+}
@@ -0,0 +1,72 @@
+package com.asosa.marsrover.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingBufferTest {
+
+    @Test
+    void testOfferAndDrainInOrder() {
+        MpscRingBuffer ring = new MpscRingBuffer(3);
+        long[] target = new long[8];
+
+        assertEquals(4, ring.capacity(), "Expected capacity rounded up to 4");
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(ring.offer(i), "Expected room for value " + i);
+        }
+        assertFalse(ring.offer(5), "Expected the full buffer to refuse a value");
+        assertEquals(4, ring.size(), "Expected four queued values");
+
+        assertEquals(3, ring.drain(target, 3), "Expected three drained values");
+        assertArrayEquals(new long[]{1, 2, 3}, new long[]{target[0], target[1], target[2]}, "Expected values in order");
+        assertTrue(ring.offer(5), "Expected room after draining");
+        assertEquals(2, ring.drain(target, 8), "Expected the remaining values");
+        assertEquals(5, target[1], "Expected the value added after the wrap");
+        assertEquals(0, ring.size(), "Expected an empty buffer");
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 200_000;
+        MpscRingBuffer ring = new MpscRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p << 32;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base | i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+
+            long[] target = new long[256];
+            long[] next = new long[producers];
+            long received = 0;
+            while (received < (long) producers * perProducer) {
+                int count = ring.drain(target, target.length);
+                for (int i = 0; i < count; i++) {
+                    int producer = (int) (target[i] >>> 32);
+                    assertEquals(next[producer]++, target[i] & 0xFFFFFFFFL, "Expected values of one producer in order");
+                }
+                received += count;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObstacleGridTest {
+
+    @Test
+    void testContains() {
+        ObstacleGrid grid = ObstacleGrid.of(10, 10, List.of(new Position(2, 3), new Position(9, 9)));
+
+        assertTrue(grid.contains(2, 3), "Expected obstacle at (2, 3)");
+        assertTrue(grid.contains(9, 9), "Expected obstacle at (9, 9)");
+        assertFalse(grid.contains(3, 2), "Expected no obstacle at (3, 2)");
+        assertFalse(grid.contains(0, 0), "Expected no obstacle at (0, 0)");
+    }
+
+    @Test
+    void testDuplicateObstaclesAreCountedOnce() {
+        ObstacleGrid grid = ObstacleGrid.of(10, 10, List.of(new Position(1, 1), new Position(1, 1)));
+
+        assertEquals(1, grid.count(), "Expected duplicated obstacle to be counted once");
+    }
+
+    @Test
+    void testObstaclesOutsideThePlatformAreIgnored() {
+        ObstacleGrid grid = ObstacleGrid.of(10, 10, List.of(new Position(-1, 0), new Position(10, 3)));
+
+        assertEquals(0, grid.count(), "Expected obstacles outside the platform to be ignored");
+    }
+
+    @Test
+    void testSparseLargeGrid() {
+        ObstacleGrid grid = new ObstacleGrid(100_000, 100_000);
+        grid.add(99_999, 99_999);
+        grid.add(0, 50_000);
+
+        assertTrue(grid.contains(99_999, 99_999), "Expected obstacle in the last cell");
+        assertTrue(grid.contains(0, 50_000), "Expected obstacle at (0, 50000)");
+        assertFalse(grid.contains(1, 50_000), "Expected no obstacle at (1, 50000)");
+        assertEquals(2, grid.count(), "Expected two obstacles");
+    }
+
+    @Test
+    void testDenseGrid() {
+        ObstacleGrid grid = new ObstacleGrid(64, 64);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                if ((x + y) % 2 == 0) {
+                    grid.add(x, y);
+                }
+            }
+        }
+
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                assertEquals((x + y) % 2 == 0, grid.contains(x, y), "Unexpected state at (" + x + ", " + y + ")");
+            }
+        }
+        assertEquals(64 * 64 / 2, grid.count(), "Expected half of the cells to be obstacles");
+    }
+
+    @Test
+    void testRowScansAcrossChunks() {
+        ObstacleGrid grid = ObstacleGrid.of(10_000, 3, List.of(new Position(70, 1), new Position(5_000, 1), new Position(9_999, 1)));
+
+        assertEquals(70, grid.firstInRow(1, 0, 9_999), "Expected first obstacle at 70");
+        assertEquals(5_000, grid.firstInRow(1, 71, 9_999), "Expected next obstacle at 5000 in a later chunk");
+        assertEquals(-1, grid.firstInRow(1, 71, 4_999), "Expected no obstacle between 71 and 4999");
+        assertEquals(9_999, grid.lastInRow(1, 0, 9_999), "Expected last obstacle at 9999");
+        assertEquals(70, grid.lastInRow(1, 0, 4_999), "Expected last obstacle before 5000 at 70");
+        assertEquals(-1, grid.firstInRow(0, 0, 9_999), "Expected no obstacle on row 0");
+    }
+
+    @Test
+    void testColumnsOfTransposesTheGrid() {
+        ObstacleGrid columns = ObstacleGrid.columnsOf(10, 20, List.of(new Position(3, 17)));
+
+        assertTrue(columns.contains(17, 3), "Expected obstacle at row 3, position 17 of the transposed grid");
+        assertEquals(17, columns.firstInRow(3, 0, 19), "Expected column 3 to hit the obstacle at y = 17");
+    }
+
+    @Test
+    void testHugeGridScansOnlyItsChunks() {
+        ObstacleGrid grid = ObstacleGrid.of(2_000_000_001, 2_000_000_001,
+                List.of(new Position(1_999_999_999, 7), new Position(3, 2_000_000_000)));
+
+        assertTrue(grid.contains(1_999_999_999, 7), "Expected obstacle at (1999999999, 7)");
+        assertFalse(grid.contains(1_999_999_999, 8), "Expected no obstacle at (1999999999, 8)");
+        assertEquals(1_999_999_999, grid.firstInRow(7, 0, 2_000_000_000), "Expected a row scan to jump to the far chunk");
+        assertEquals(-1, grid.lastInRow(7, 0, 1_999_999_998), "Expected no obstacle before the far chunk");
+        assertTrue(grid.anyInRect(0, 0, 2_000_000_000, 2_000_000_000), "Expected the whole grid to hold obstacles");
+        assertFalse(grid.anyInRect(0, 8, 2_000_000_000, 1_999_999_999), "Expected no obstacle between the two rows");
+    }
+}
@@ -0,0 +1,101 @@
+package com.asosa.marsrover.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyIndexTest {
+
+    @Test
+    void testClaimAndGet() {
+        OccupancyIndex index = new OccupancyIndex();
+
+        assertTrue(index.claim(3, 4, 7), "Expected free cell to be claimed");
+        assertFalse(index.claim(3, 4, 8), "Expected occupied cell to be refused");
+
+        assertEquals(7, index.get(3, 4), "Expected slot 7 at (3, 4)");
+        assertEquals(OccupancyIndex.NO_SLOT, index.get(4, 3), "Expected (4, 3) to be free");
+        assertEquals(1, index.size(), "Expected one occupied cell");
+    }
+
+    @Test
+    void testRelease() {
+        OccupancyIndex index = new OccupancyIndex();
+        index.claim(1, 1, 0);
+
+        assertEquals(0, index.release(1, 1), "Expected released slot to be returned");
+        assertFalse(index.contains(1, 1), "Expected (1, 1) to be free after release");
+        assertEquals(OccupancyIndex.NO_SLOT, index.release(1, 1), "Expected nothing to release");
+    }
+
+    @Test
+    void testMove() {
+        OccupancyIndex index = new OccupancyIndex();
+        index.claim(0, 0, 0);
+        index.claim(0, 1, 1);
+
+        assertFalse(index.move(0, 0, 0, 0, 1), "Expected move onto an occupied cell to be refused");
+        assertTrue(index.move(0, 0, 0, 1, 0), "Expected move onto a free cell to succeed");
+
+        assertFalse(index.contains(0, 0), "Expected source cell to be released");
+        assertEquals(0, index.get(1, 0), "Expected claim to follow the rover");
+    }
+
+    @Test
+    void testMoveOntoOwnCell() {
+        OccupancyIndex index = new OccupancyIndex();
+        index.claim(0, 3, 0);
+
+        assertTrue(index.move(0, 0, 3, 0, 3), "Expected a move onto the own cell to succeed");
+        assertEquals(0, index.get(0, 3), "Expected the claim to stay in place");
+        assertEquals(1, index.size(), "Expected a single claim");
+    }
+
+    @Test
+    void testMoveOfUndeployedRoverKeepsClaims() {
+        OccupancyIndex index = new OccupancyIndex();
+        index.claim(0, 0, 0);
+
+        assertTrue(index.move(OccupancyIndex.NO_SLOT, 0, 0, 1, 0), "Expected move onto a free cell to succeed");
+        assertEquals(0, index.get(0, 0), "Expected the deployed rover's claim to stay in place");
+        assertFalse(index.contains(1, 0), "Expected no claim for an undeployed rover");
+    }
+
+    @Test
+    void testAgainstReferenceUnderChurn() {
+        OccupancyIndex index = new OccupancyIndex();
+        int size = 64;
+        int[] reference = new int[size * size];
+        Arrays.fill(reference, OccupancyIndex.NO_SLOT);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            if (random.nextBoolean()) {
+                boolean claimed = index.claim(x, y, i);
+                assertEquals(reference[y * size + x] == OccupancyIndex.NO_SLOT, claimed, "Unexpected claim result");
+                if (claimed) {
+                    reference[y * size + x] = i;
+                }
+            } else {
+                assertEquals(reference[y * size + x], index.release(x, y), "Unexpected released slot");
+                reference[y * size + x] = OccupancyIndex.NO_SLOT;
+            }
+        }
+
+        int occupied = 0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                assertEquals(reference[y * size + x], index.get(x, y), "Unexpected slot at (" + x + ", " + y + ")");
+                if (reference[y * size + x] != OccupancyIndex.NO_SLOT) {
+                    occupied++;
+                }
+            }
+        }
+        assertEquals(occupied, index.size(), "Unexpected number of occupied cells");
+    }
+}
@@ -4,7 +4,9 @@ import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,6 +58,14 @@ class PlatformTest {
         assertTrue(platform.isValidPosition(2, 2), "Expected position (2, 2) to be valid after removing obstacles");
     }
 
+    @Test
+    void testGetObstaclesKeepsOriginalList() {
+        List<Position> obstacles = List.of(new Position(1, 1), new Position(12, 12));
+        Platform platform = new Platform(10, 10, obstacles, false);
+
+        assertEquals(obstacles, platform.getObstacles(), "Expected obstacles to be returned as provided");
+    }
+
     @Test
     void testAllowWrapAroundTrue() {
         Platform platform = new Platform(10, 10, List.of(), true);
@@ -87,4 +97,80 @@ class PlatformTest {
         // Test no wrap-around on the Y-axis
         assertFalse(platform.isValidPosition(5, 10), "Expected position (5, 10) to not be valid beyond the boundary");
     }
+
+    @Test
+    void testClearSteps() {
+        Platform platform = new Platform(100, 50, List.of(new Position(80, 10), new Position(10, 40)), false);
+
+        assertEquals(69, platform.clearSteps(10, 10, Direction.EAST.ordinal(), 1_000), "Expected ray to stop before (80, 10)");
+        assertEquals(5, platform.clearSteps(10, 10, Direction.EAST.ordinal(), 5), "Expected all five steps to be clear");
+        assertEquals(10, platform.clearSteps(10, 10, Direction.WEST.ordinal(), 1_000), "Expected ray to stop at the west edge");
+        assertEquals(29, platform.clearSteps(10, 10, Direction.NORTH.ordinal(), 1_000), "Expected ray to stop before (10, 40)");
+        assertEquals(10, platform.clearSteps(10, 10, Direction.SOUTH.ordinal(), 1_000), "Expected ray to stop at the south edge");
+    }
+
+    @Test
+    void testClearStepsAlongColumnsFollowsNewObstacles() {
+        Platform platform = new Platform(20, 20, List.of(new Position(4, 12)), false);
+        assertEquals(11, platform.clearSteps(4, 0, Direction.NORTH.ordinal(), 100), "Expected ray to stop before (4, 12)");
+
+        platform.setObstacles(List.of(new Position(4, 6)));
+
+        assertEquals(5, platform.clearSteps(4, 0, Direction.NORTH.ordinal(), 100), "Expected ray to stop before the new obstacle");
+    }
+
+    @Test
+    void testClearStepsMatchesSingleSteps() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (boolean wrapAround : new boolean[]{true, false}) {
+            List<Position> obstacles = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                obstacles.add(new Position(random.nextInt(150), random.nextInt(90)));
+            }
+            Platform platform = new Platform(150, 90, obstacles, wrapAround);
+
+            for (int i = 0; i < 2_000; i++) {
+                int x = random.nextInt(150);
+                int y = random.nextInt(90);
+                int heading = random.nextInt(4);
+                int steps = random.nextInt(400);
+                int expected = 0;
+                long cell = OccupancyIndex.key(x, y);
+                while (expected < steps) {
+                    cell = platform.nextCell(Platform.cellX(cell), Platform.cellY(cell), heading);
+                    if (cell == Platform.BLOCKED) {
+                        break;
+                    }
+                    expected++;
+                }
+
+                assertEquals(expected, platform.clearSteps(x, y, heading, steps),
+                        "Unexpected reach from (" + x + ", " + y + ") heading " + heading + " for " + steps + " steps");
+            }
+        }
+    }
+
+    @Test
+    void testIsAreaClearFoldsWrappedRanges() {
+        Platform platform = new Platform(10, 8, List.of(new Position(1, 6)), true);
+
+        assertFalse(platform.isAreaClear(8, 5, 11, 6), "Expected the columns past the east edge to reach (1, 6)");
+        assertFalse(platform.isAreaClear(-9, -2, -9, -2), "Expected (-9, -2) to fold onto (1, 6)");
+        assertTrue(platform.isAreaClear(2, -1, 12, 5), "Expected the folded rows to miss row 6");
+        assertFalse(platform.isAreaClear(5, 3, 25, 3 + 8), "Expected a range longer than the platform to cover it all");
+        assertTrue(platform.isAreaClear(8, 7, 10, 12), "Expected the wrapped rectangle to miss (1, 6)");
+    }
+
+    @Test
+    void testHugePlatform() {
+        Platform platform = new Platform(2_000_000_001, 2_000_000_001, List.of(new Position(5, 1_000_000_000)), false);
+
+        assertFalse(platform.isValidPosition(5, 1_000_000_000), "Expected obstacle at (5, 1000000000)");
+        assertTrue(platform.isValidPosition(2_000_000_000, 2_000_000_000), "Expected the last cell to be valid");
+        assertEquals(999_999_999, platform.clearSteps(5, 0, Direction.NORTH.ordinal(), Integer.MAX_VALUE),
+                "Expected the ray to stop before the obstacle");
+
+        platform.setObstacles(List.of());
+        assertTrue(platform.isValidPosition(5, 1_000_000_000), "Expected the obstacle to be removed");
+    }
 }
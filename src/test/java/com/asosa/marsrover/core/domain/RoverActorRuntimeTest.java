@@ -0,0 +1,75 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoverActorRuntimeTest {
+
+    @Test
+    void testActorsApplyCommandsInOrder() throws InterruptedException {
+        int rovers = 20_000;
+        ConcurrentMissionControl missionControl = new ConcurrentMissionControl(new Platform(200, 800, new ArrayList<>(), false));
+        List<String> uuids = new ArrayList<>();
+        for (int i = 0; i < rovers; i++) {
+            uuids.add(missionControl.addRover((i % 100) * 2, (i / 100) * 4, Direction.NORTH).uuid());
+        }
+
+        try (RoverActorRuntime runtime = new RoverActorRuntime(missionControl, 4)) {
+            for (Command command : new Command[]{Command.MOVE, Command.MOVE, Command.RIGHT, Command.MOVE}) {
+                for (String uuid : uuids) {
+                    runtime.send(uuid, command);
+                }
+            }
+        }
+
+        for (int i = 0; i < rovers; i++) {
+            RoverSnapshot rover = missionControl.getRover(uuids.get(i));
+            assertEquals(new Position((i % 100) * 2 + 1, (i / 100) * 4 + 2), rover.position(), "Unexpected position for rover " + i);
+            assertEquals(Direction.EAST, rover.direction(), "Unexpected direction for rover " + i);
+        }
+    }
+
+    @Test
+    void testBackpressureWhenMailboxIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Platform platform = new Platform(10, 10, new ArrayList<>(), false);
+        CompactRover blocking = new CompactRover(0, 0, Direction.NORTH, platform) {
+            @Override
+            public void executeCommand(Command command) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.executeCommand(command);
+            }
+        };
+
+        RoverActorRuntime runtime = new RoverActorRuntime(uuid -> blocking, 2);
+        assertTrue(runtime.offer("rover", Command.MOVE), "Expected first command to be taken by the actor");
+        assertTrue(started.await(10, TimeUnit.SECONDS), "Expected the actor to start the first command");
+        assertTrue(runtime.offer("rover", Command.MOVE), "Expected room for a second command");
+        assertTrue(runtime.offer("rover", Command.MOVE), "Expected room for a third command");
+        assertFalse(runtime.offer("rover", Command.MOVE), "Expected the full mailbox to refuse the command");
+        assertFalse(runtime.offer("rover", Command.MOVE, 10, TimeUnit.MILLISECONDS), "Expected the full mailbox to time out");
+        assertEquals(2, runtime.pending("rover"), "Expected two pending commands");
+
+        release.countDown();
+        runtime.close();
+
+        assertEquals(3, runtime.processed(), "Expected three applied commands");
+        assertEquals(new Position(0, 3), blocking.getPosition(), "Expected position (0, 3)");
+        assertThrows(IllegalStateException.class, () -> runtime.offer("rover", Command.MOVE));
+    }
+}
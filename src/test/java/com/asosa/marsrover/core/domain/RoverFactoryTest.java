@@ -1,6 +1,7 @@
 package com.asosa.marsrover.core.domain;
 
 import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -51,6 +52,17 @@ class RoverFactoryTest {
         rovers.add(newRover);
     }
 
+    @Test
+    void testNewRoverControl_PositionOccupiedByDeployedRover() {
+        MissionControl missionControl = new MissionControl(platform);
+        missionControl.addRover(new Rover(2, 3, Direction.NORTH, platform));
+
+        Rover newRover = roverFactory.newRoverControl(2, 3, Direction.EAST, platform, rovers);
+
+        assertEquals(3, newRover.getPosition().getX(), "Expected X position to be 3");
+        assertEquals(3, newRover.getPosition().getY(), "Expected Y position to be 3");
+    }
+
     @Test
     void testNewRoverControl_NoAvailablePositions() {
         // Fill the platform completely with rovers
@@ -68,4 +80,29 @@ class RoverFactoryTest {
         // Assertion
         assertEquals("No available positions for the rover", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testNewRoverControl_CrowdedPlatform() {
+        Platform crowded = new Platform(1_000, 1_000, List.of(new Position(0, 100)), false);
+        MissionControl missionControl = new MissionControl(crowded);
+        for (int i = 0; i < 100_001; i++) {
+            missionControl.addRover(roverFactory.newRoverControl(0, 0, Direction.NORTH, crowded));
+        }
+
+        Rover last = missionControl.getRovers().get(100_000);
+        assertEquals(new Position(1, 100), last.getPosition(), "Expected the last rover to skip the obstacle at (0, 100)");
+    }
+
+    @Test
+    void testNewRoverControl_FollowsMovingRovers() {
+        MissionControl missionControl = new MissionControl(platform);
+        Rover mover = roverFactory.newRoverControl(0, 0, Direction.EAST, platform);
+        missionControl.addRover(mover);
+        assertEquals(new Position(1, 0), roverFactory.newRoverControl(0, 0, Direction.NORTH, platform).getPosition(), "Expected (1, 0) while (0, 0) is taken");
+
+        mover.move();
+
+        assertEquals(new Position(0, 0), roverFactory.newRoverControl(0, 0, Direction.NORTH, platform).getPosition(), "Expected (0, 0) once the rover moved away");
+        assertEquals(new Position(2, 0), roverFactory.newRoverControl(1, 0, Direction.NORTH, platform).getPosition(), "Expected (2, 0) while (1, 0) is taken");
+    }
+}
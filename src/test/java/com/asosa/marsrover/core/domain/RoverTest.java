@@ -3,8 +3,10 @@ package com.asosa.marsrover.core.domain;
 import com.asosa.marsrover.common.Command;
 import com.asosa.marsrover.common.Direction;
 import com.asosa.marsrover.common.Position;
+import com.asosa.marsrover.common.SequentialIdGenerator;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,10 +27,54 @@ class RoverTest {
     void testMove() {
         Platform platform = setupTestPlatform();
         Rover rover = new Rover(0, 0, Direction.NORTH, platform);
-        rover.move();
+        assertEquals(MoveResult.MOVED, rover.move(), "Expected the rover to move");
         assertEquals(new Position(0, 1), rover.getPosition(), "Expected position (0, 1)");
     }
 
+    @Test
+    void testUuidFromGenerator() {
+        Rover rover = new Rover(0, 0, Direction.NORTH, setupTestPlatform(), new SequentialIdGenerator("rover-"));
+
+        assertEquals("rover-1", rover.getUuid(), "Expected the UUID from the generator");
+    }
+
+    @Test
+    void testMoveAtBoundary() {
+        Rover rover = new Rover(0, 0, Direction.SOUTH, setupTestPlatform());
+
+        assertEquals(MoveResult.BOUNDARY, rover.move(), "Expected the move to be blocked by the boundary");
+        assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0)");
+    }
+
+    @Test
+    void testMoveForward() {
+        Platform platform = new Platform(2_000, 10, List.of(new Position(1_500, 0)), false);
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.EAST, platform);
+        missionControl.addRover(rover);
+
+        rover.moveForward(1_000);
+        assertEquals(new Position(1_000, 0), rover.getPosition(), "Expected position (1000, 0)");
+
+        rover.moveForward(1_000);
+        assertEquals(new Position(1_499, 0), rover.getPosition(), "Expected rover to stop before the obstacle");
+        assertTrue(platform.isPositionOccupied(1_499, 0), "Expected (1499, 0) to be claimed");
+        assertFalse(platform.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+    }
+
+    @Test
+    void testMoveForwardStopsBehindRover() {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(2, 0, Direction.WEST, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(6, 0, Direction.NORTH, platform));
+
+        rover.moveForward(100);
+
+        assertEquals(new Position(7, 0), rover.getPosition(), "Expected rover to wrap and stop behind (6, 0)");
+    }
+
     @Test
     void testTurnLeft() {
         Platform platform = setupTestPlatform();
@@ -118,13 +164,170 @@ class RoverTest {
         assertEquals(Direction.EAST, rover2.getDirection(), "Expected rover2 direction E");
     }
 
+    @Test
+    void testExecuteProgram() {
+        Platform platform = setupTestPlatform();
+        Rover rover1 = new Rover(1, 2, Direction.NORTH, platform);
+        Rover rover2 = new Rover(3, 3, Direction.EAST, platform);
+
+        rover1.execute("LMLMLMLMM");
+        rover2.execute("MMRMMRMRRM".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(new Position(1, 3), rover1.getPosition(), "Expected rover1 position (1, 3)");
+        assertEquals(Direction.NORTH, rover1.getDirection(), "Expected rover1 direction N");
+        assertEquals(new Position(5, 1), rover2.getPosition(), "Expected rover2 position (5, 1)");
+        assertEquals(Direction.EAST, rover2.getDirection(), "Expected rover2 direction E");
+    }
+
+    @Test
+    void testExecuteProgramMatchesSingleCommands() {
+        Platform platform = new Platform(10, 10, List.of(new Position(4, 4), new Position(2, 7)), true);
+        String program = "MMRMMMLMMMMMMRMMRMMMMMMMMMMMLLMRMRMMMMM";
+        Rover batched = new Rover(3, 3, Direction.NORTH, platform);
+        Rover stepped = new Rover(3, 3, Direction.NORTH, platform);
+
+        batched.execute(program);
+        for (char cmd : program.toCharArray()) {
+            stepped.executeCommand(Command.fromCode(cmd));
+        }
+
+        assertEquals(stepped.getPosition(), batched.getPosition(), "Expected same position as single commands");
+        assertEquals(stepped.getDirection(), batched.getDirection(), "Expected same direction as single commands");
+    }
+
+    @Test
+    void testExecuteProgramAroundDeployedRovers() {
+        Platform platform = setupTestPlatform();
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(0, 2, Direction.NORTH, platform));
+
+        rover.execute("MMRRMLM");
+
+        assertEquals(new Position(1, 0), rover.getPosition(), "Expected position (1, 0)");
+        assertFalse(platform.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+        assertTrue(platform.isPositionOccupied(1, 0), "Expected (1, 0) to be claimed");
+    }
+
+    @Test
+    void testExecuteProgramWithInvalidCommand() {
+        Platform platform = setupTestPlatform();
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> rover.execute("MMXM"));
+
+        assertEquals("Invalid command code: X", exception.getMessage());
+        assertEquals(new Position(0, 2), rover.getPosition(), "Expected commands before the invalid one to be applied");
+    }
+
+    @Test
+    void testExecuteCompiledProgramMatchesSingleCommands() {
+        String program = "MMRMMMLMMMMMMRMMRMMMMMMMMMMMMMMMMMMMMMMLLMRMRMMMMM";
+
+        for (boolean wrapAround : new boolean[]{true, false}) {
+            List<Position> obstacles = List.of(new Position(4, 4), new Position(2, 7), new Position(9, 3));
+            Platform platform = new Platform(10, 10, obstacles, wrapAround);
+            Platform stepPlatform = new Platform(10, 10, obstacles, wrapAround);
+            Rover compiled = new Rover(3, 3, Direction.NORTH, platform);
+            Rover stepped = new Rover(3, 3, Direction.NORTH, stepPlatform);
+            MissionControl missionControl = new MissionControl(platform);
+            missionControl.addRover(compiled);
+            missionControl.addRover(new Rover(6, 3, Direction.NORTH, platform));
+            MissionControl stepMissionControl = new MissionControl(stepPlatform);
+            stepMissionControl.addRover(stepped);
+            stepMissionControl.addRover(new Rover(6, 3, Direction.NORTH, stepPlatform));
+
+            compiled.execute(CommandProgram.of(program));
+            for (char cmd : program.toCharArray()) {
+                stepped.executeCommand(Command.fromCode(cmd));
+            }
+
+            assertEquals(stepped.getPosition(), compiled.getPosition(), "Expected same position as single commands");
+            assertEquals(stepped.getDirection(), compiled.getDirection(), "Expected same direction as single commands");
+            assertTrue(platform.isPositionOccupied(compiled.getPosition().getX(), compiled.getPosition().getY()), "Expected final cell to be claimed");
+        }
+    }
+
+    @Test
+    void testExecuteCompiledStraightRun() {
+        Platform platform = new Platform(20, 10, List.of(new Position(15, 0)), false);
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.EAST, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(17, 1, Direction.NORTH, platform));
+
+        rover.execute(CommandProgram.of("MMMMMMMMMMMMMMMMMMMMLMRMMMMMMMMMMM"));
+
+        assertEquals(new Position(16, 1), rover.getPosition(), "Expected rover to stop before the obstacle, then behind (17, 1)");
+        assertEquals(Direction.EAST, rover.getDirection(), "Expected direction E");
+    }
+
+    @Test
+    void testExecuteRepeatedProgramInClosedForm() {
+        Platform platform = new Platform(7, 5, new ArrayList<>(), true);
+        Rover rover = new Rover(2, 3, Direction.EAST, platform);
+
+        rover.execute(CommandProgram.compile("MMRMMMMLM"), 1_000_000_000_000L);
+
+        // Every pass moves 3 east and 4 south: 3e12 % 7 = 3 and -4e12 % 5 = 0
+        assertEquals(new Position(5, 3), rover.getPosition(), "Expected position (5, 3)");
+        assertEquals(Direction.EAST, rover.getDirection(), "Expected direction E");
+    }
+
+    @Test
+    void testExecuteRepeatedProgramMatchesReplay() {
+        List<Platform> platforms = List.of(
+                new Platform(10, 10, new ArrayList<>(), true),
+                new Platform(10, 10, List.of(new Position(4, 4), new Position(2, 7)), true),
+                new Platform(12, 9, List.of(new Position(6, 1), new Position(0, 5)), false));
+        List<String> programs = List.of("MMRMMMLM", "MMMRMRMMLLM", "LMMMMMMMMMMMMR", "RRMLLMM", "M");
+
+        for (Platform platform : platforms) {
+            for (String program : programs) {
+                Rover repeated = new Rover(3, 3, Direction.NORTH, platform);
+                Rover replayed = new Rover(3, 3, Direction.NORTH, platform);
+
+                repeated.execute(CommandProgram.compile(program), 37);
+                replayed.execute(program.repeat(37));
+
+                assertEquals(replayed.getPosition(), repeated.getPosition(), "Expected same position for " + program);
+                assertEquals(replayed.getDirection(), repeated.getDirection(), "Expected same direction for " + program);
+            }
+        }
+    }
+
+    @Test
+    void testExecuteRepeatedProgramAroundDeployedRovers() {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(0, 7, Direction.NORTH, platform));
+
+        rover.execute(CommandProgram.compile("MMM"), 5);
+
+        assertEquals(new Position(0, 6), rover.getPosition(), "Expected rover to stop behind (0, 7)");
+        assertFalse(platform.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+        assertTrue(platform.isPositionOccupied(0, 6), "Expected (0, 6) to be claimed");
+    }
+
+    @Test
+    void testExecuteNegativeRepetitions() {
+        Rover rover = new Rover(0, 0, Direction.NORTH, setupTestPlatform());
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                rover.execute(CommandProgram.compile("M"), -1));
+        assertEquals("Repetitions must not be negative", exception.getMessage());
+    }
+
     @Test
     void testObstacleEncounter() {
         Platform platform = setupTestPlatformWithObstacles();
         Rover rover = new Rover(0, 0, Direction.NORTH, platform);
         platform.setObstacles(List.of(new Position(0, 1)));
 
-        rover.move();
+        assertEquals(MoveResult.OBSTACLE, rover.move(), "Expected the move to be blocked by the obstacle");
         assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0) due to obstacle");
     }
 
@@ -138,6 +341,78 @@ class RoverTest {
         assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0) due to obstacle");
     }
 
+    @Test
+    void testMoveOntoOccupiedCell() {
+        Platform platform = setupTestPlatform();
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(0, 1, Direction.NORTH, platform));
+
+        assertEquals(MoveResult.ROVER, rover.move(), "Expected the move to be blocked by the other rover");
+        assertEquals(new Position(0, 0), rover.getPosition(), "Expected position (0, 0) due to another rover");
+    }
+
+    @Test
+    void testMoveAcrossOneCellWideWrappingPlatform() {
+        Platform platform = new Platform(1, 5, new ArrayList<>(), true);
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 2, Direction.EAST, platform);
+        missionControl.addRover(rover);
+
+        assertEquals(MoveResult.MOVED, rover.move(), "Expected the lone rover not to be blocked by itself");
+        assertEquals(new Position(0, 2), rover.getPosition(), "Expected the rover to wrap back onto its cell");
+        assertTrue(platform.isPositionOccupied(0, 2), "Expected the cell to stay claimed");
+    }
+
+    @Test
+    void testExecuteUntilObstructedStopsAtObstacle() {
+        Rover rover = new Rover(0, 0, Direction.NORTH, new Platform(10, 10, List.of(new Position(2, 2)), false));
+        byte[] program = "LMRMMRMMMLMM".getBytes(StandardCharsets.US_ASCII);
+
+        // The first move hits the western edge and is skipped; the obstacle stops the rest
+        assertEquals(MoveResult.OBSTACLE, rover.executeUntilObstructed(program, 0, program.length), "Expected to stop at the obstacle");
+        assertEquals(new Position(1, 2), rover.getPosition(), "Expected position (1, 2) in front of the obstacle");
+        assertEquals(Direction.EAST, rover.getDirection(), "Expected direction E");
+    }
+
+    @Test
+    void testExecuteUntilObstructedStopsAtRover() {
+        Platform platform = setupTestPlatform();
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+        missionControl.addRover(new Rover(0, 3, Direction.NORTH, platform));
+        byte[] program = "MMMMRM".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(MoveResult.ROVER, rover.executeUntilObstructed(program, 0, program.length), "Expected to stop at the other rover");
+        assertEquals(new Position(0, 2), rover.getPosition(), "Expected position (0, 2)");
+        assertEquals(Direction.NORTH, rover.getDirection(), "Expected the remaining turn to be skipped");
+        assertTrue(platform.isPositionOccupied(0, 2), "Expected (0, 2) to be claimed");
+    }
+
+    @Test
+    void testExecuteUntilObstructedRunsWholeProgram() {
+        Rover rover = new Rover(1, 2, Direction.NORTH, setupTestPlatform());
+        byte[] program = "LMLMLMLMM".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(MoveResult.MOVED, rover.executeUntilObstructed(program, 0, program.length), "Expected the whole program to run");
+        assertEquals(new Position(1, 3), rover.getPosition(), "Expected position (1, 3)");
+    }
+
+    @Test
+    void testMoveReleasesPreviousCell() {
+        Platform platform = setupTestPlatform();
+        MissionControl missionControl = new MissionControl(platform);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        missionControl.addRover(rover);
+
+        rover.move();
+
+        assertFalse(platform.isPositionOccupied(0, 0), "Expected (0, 0) to be released");
+        assertTrue(platform.isPositionOccupied(0, 1), "Expected (0, 1) to be claimed");
+    }
+
     @Test
     void testInvalidDirection() {
         Platform platform = setupTestPlatform();
@@ -0,0 +1,162 @@
+package com.asosa.marsrover.core.domain;
+
+import com.asosa.marsrover.common.Command;
+import com.asosa.marsrover.common.Direction;
+import com.asosa.marsrover.common.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationMetricsTest {
+
+    private final SimulationMetrics metrics = SimulationMetrics.global();
+
+    @AfterEach
+    void tearDown() {
+        metrics.setTickRecorder(null);
+        metrics.setBatchRecorder(null);
+    }
+
+    @Test
+    void testMoveBlockedByObstacle() {
+        Platform platform = new Platform(10, 10, List.of(new Position(0, 1)), false);
+        Rover rover = new Rover(0, 0, Direction.NORTH, platform);
+        long commands = metrics.getCommandsExecuted();
+        long blocked = metrics.getMovesBlocked(MoveResult.OBSTACLE);
+
+        rover.move();
+
+        assertEquals(commands + 1, metrics.getCommandsExecuted(), "Expected the blocked move to be counted as executed");
+        assertEquals(blocked + 1, metrics.getMovesBlocked(MoveResult.OBSTACLE), "Expected one move blocked by an obstacle");
+    }
+
+    @Test
+    void testMovesBlockedByBoundaryInProgram() {
+        Platform platform = new Platform(5, 5, new ArrayList<>(), false);
+        Rover rover = new Rover(0, 3, Direction.NORTH, platform);
+        long commands = metrics.getCommandsExecuted();
+        long blocked = metrics.getMovesBlocked(MoveResult.BOUNDARY);
+
+        rover.execute("MMMRM");
+
+        assertEquals(commands + 5, metrics.getCommandsExecuted(), "Expected every command of the program to be counted");
+        assertEquals(blocked + 2, metrics.getMovesBlocked(MoveResult.BOUNDARY), "Expected two moves blocked by the edge");
+    }
+
+    @Test
+    void testFleetTickCountsBlockedMoves() {
+        Platform platform = new Platform(5, 5, List.of(new Position(2, 1)), false);
+        FleetState fleet = new FleetState(platform, 3);
+        fleet.add(0, 4, Direction.NORTH);
+        fleet.add(2, 0, Direction.NORTH);
+        fleet.add(3, 0, Direction.WEST);
+        long byBoundary = metrics.getMovesBlocked(MoveResult.BOUNDARY);
+        long byObstacle = metrics.getMovesBlocked(MoveResult.OBSTACLE);
+        long byRover = metrics.getMovesBlocked(MoveResult.ROVER);
+
+        fleet.tick(new byte[] {'M', 'M', 'M'});
+
+        assertEquals(byBoundary + 1, metrics.getMovesBlocked(MoveResult.BOUNDARY), "Expected one move blocked by the edge");
+        assertEquals(byObstacle + 1, metrics.getMovesBlocked(MoveResult.OBSTACLE), "Expected one move blocked by the obstacle");
+        assertEquals(byRover + 1, metrics.getMovesBlocked(MoveResult.ROVER), "Expected one move blocked by a rover");
+    }
+
+    @Test
+    void testSimultaneousTickCountsLostClaimsAsBlocked() {
+        FleetState fleet = new FleetState(new Platform(5, 5, new ArrayList<>(), false), 2);
+        fleet.add(1, 2, Direction.EAST);
+        fleet.add(3, 2, Direction.WEST);
+        long byRover = metrics.getMovesBlocked(MoveResult.ROVER);
+
+        fleet.tickSimultaneous(new byte[] {'M', 'M'});
+
+        assertEquals(new Position(2, 2), fleet.getPosition(0), "Expected the lower slot to win the cell");
+        assertEquals(byRover + 1, metrics.getMovesBlocked(MoveResult.ROVER), "Expected the losing move to be counted as blocked");
+    }
+
+    @Test
+    void testShardedRunCountsBlockedMoves() {
+        FleetState fleet = new FleetState(new Platform(40, 40, List.of(new Position(30, 5)), false), 2);
+        fleet.add(25, 5, Direction.EAST);
+        fleet.add(5, 38, Direction.NORTH);
+        long byBoundary = metrics.getMovesBlocked(MoveResult.BOUNDARY);
+        long byObstacle = metrics.getMovesBlocked(MoveResult.OBSTACLE);
+
+        fleet.runSharded(new byte[][] {
+                "MMMMMMM".getBytes(StandardCharsets.US_ASCII),
+                "MMMM".getBytes(StandardCharsets.US_ASCII)
+        }, 4);
+
+        assertEquals(byObstacle + 3, metrics.getMovesBlocked(MoveResult.OBSTACLE), "Expected three moves blocked by the obstacle");
+        assertEquals(byBoundary + 3, metrics.getMovesBlocked(MoveResult.BOUNDARY), "Expected three moves blocked by the edge");
+    }
+
+    @Test
+    void testPlacementRetries() {
+        Platform platform = new Platform(10, 10, new ArrayList<>(), false);
+        List<Rover> rovers = new ArrayList<>();
+        rovers.add(new Rover(2, 3, Direction.NORTH, platform));
+        long retries = metrics.getPlacementRetries();
+
+        new RoverFactory().newRoverControl(2, 3, Direction.EAST, platform, rovers);
+
+        assertEquals(retries + 1, metrics.getPlacementRetries(), "Expected the occupied cell to be retried");
+    }
+
+    @Test
+    void testPlacementRetriesCountEverySkippedCell() {
+        Platform platform = new Platform(10, 10, List.of(new Position(5, 3)), false);
+        platform.claimCell(2, 3, 0);
+        platform.claimCell(3, 3, 1);
+        platform.claimCell(4, 3, 2);
+        long retries = metrics.getPlacementRetries();
+
+        Rover rover = new RoverFactory().newRoverControl(2, 3, Direction.EAST, platform);
+
+        assertEquals(new Position(6, 3), rover.getPosition(), "Expected the rover on the first free cell");
+        assertEquals(retries + 4, metrics.getPlacementRetries(), "Expected the three rovers and the obstacle to be skipped");
+    }
+
+    @Test
+    void testPipelineCounters() throws InterruptedException {
+        MissionControl missionControl = new MissionControl(new Platform(5, 5, new ArrayList<>(), false));
+        missionControl.addRover(new Rover(0, 0, Direction.NORTH, missionControl.getPlatform()));
+        long commands = metrics.getPipelineCommands();
+        long dropped = metrics.getPipelineCommandsDropped();
+        List<Long> sizes = new ArrayList<>();
+        metrics.setBatchRecorder(sizes::add);
+
+        CommandPipeline pipeline = new CommandPipeline(missionControl, 64, 64);
+        pipeline.submit(0, Command.MOVE);
+        pipeline.submit(0, Command.RIGHT);
+        pipeline.submit(7, Command.MOVE);
+        pipeline.close();
+        metrics.setBatchRecorder(null);
+
+        assertEquals(commands + 2, metrics.getPipelineCommands(), "Expected the commands to the rover to be counted");
+        assertEquals(dropped + 1, metrics.getPipelineCommandsDropped(), "Expected the command to the unknown rover to be dropped");
+        assertEquals(3, sizes.stream().mapToLong(Long::longValue).sum(), "Expected the size of every batch to be recorded");
+        assertEquals(0, metrics.getPipelineQueueDepth(), "Expected the closed pipeline to leave the queue depth");
+    }
+
+    @Test
+    void testTickLatencyRecordedOnlyWithRecorder() {
+        FleetState fleet = new FleetState(new Platform(5, 5, new ArrayList<>(), false), 2);
+        fleet.add(0, 0, Direction.NORTH);
+        fleet.add(1, 0, Direction.EAST);
+        AtomicInteger ticks = new AtomicInteger();
+
+        fleet.tick(new byte[] {'M', 'L'});
+        metrics.setTickRecorder(nanos -> ticks.incrementAndGet());
+        fleet.tick(new byte[] {'M', FleetState.IDLE});
+        fleet.tick(new byte[] {'R', 'M'});
+
+        assertEquals(2, ticks.get(), "Expected only the ticks after installing the recorder to be recorded");
+    }
+}